@@ -0,0 +1,275 @@
+package com.disaster.config;
+
+import com.disaster.dto.WebSocketSessionStatsDto;
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * WebSocket session with its own bounded outbound queue.
+ *
+ * sendMessage never blocks the broker: frames are queued and written by a drain
+ * task on a shared executor. When a client cannot keep up:
+ * - typing indicators are dropped once the queue reaches its capacity
+ * - status frames for the same subscription and request replace the one still waiting in the queue
+ * - the session is closed with SESSION_NOT_RELIABLE at the disconnect threshold
+ *   or when a single write takes longer than the send time limit
+ *
+ * The send time limit is also handed to the container as its blocking send timeout, so a
+ * write to a stalled client fails after the limit instead of holding a drain thread.
+ */
+@Slf4j
+public class BoundedOutboundSession extends WebSocketSessionDecorator {
+
+    private static final String STATUS_DESTINATION_PREFIX = "/topic/emergency/status/";
+    private static final String TYPING_SUFFIX = "/typing";
+    private static final String TOMCAT_BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final OutboundSessionRegistry registry;
+    private final Executor drainExecutor;
+    private final int capacity;
+    private final int disconnectThreshold;
+    private final long sendTimeLimitMs;
+
+    private final Deque<Frame> queue = new ArrayDeque<>();
+    private final Map<String, Frame> pendingStatus = new HashMap<>();
+    private boolean draining;
+    private volatile boolean closing;
+    private volatile long sendStartedAt;
+
+    private long sent;
+    private long droppedTyping;
+    private long conflated;
+    private int maxDepth;
+
+    public BoundedOutboundSession(WebSocketSession delegate, OutboundSessionRegistry registry, Executor drainExecutor,
+                                  int capacity, int disconnectThreshold, long sendTimeLimitMs) {
+        super(delegate);
+        this.registry = registry;
+        this.drainExecutor = drainExecutor;
+        this.capacity = capacity;
+        this.disconnectThreshold = disconnectThreshold;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+
+        if (WebSocketSessionDecorator.unwrap(delegate) instanceof NativeWebSocketSession nativeSession
+                && nativeSession.getNativeSession() instanceof Session standardSession) {
+            standardSession.getUserProperties().put(TOMCAT_BLOCKING_SEND_TIMEOUT, sendTimeLimitMs);
+        }
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closing || checkSendTimeLimit()) {
+            return;
+        }
+
+        Frame frame = Frame.of(message);
+        boolean overflow = false;
+        boolean startDrain = false;
+
+        synchronized (this) {
+            if (frame.conflationKey != null) {
+                Frame waiting = pendingStatus.get(frame.conflationKey);
+                if (waiting != null) {
+                    waiting.message = message;
+                    conflated++;
+                    registry.recordConflated();
+                    return;
+                }
+            }
+
+            if (queue.size() >= capacity) {
+                if (frame.typing) {
+                    droppedTyping++;
+                    registry.recordDroppedTyping();
+                    return;
+                }
+                if (dropOldestTyping()) {
+                    droppedTyping++;
+                    registry.recordDroppedTyping();
+                }
+            }
+
+            if (queue.size() >= disconnectThreshold) {
+                overflow = true;
+            } else {
+                queue.add(frame);
+                if (frame.conflationKey != null) {
+                    pendingStatus.put(frame.conflationKey, frame);
+                }
+                maxDepth = Math.max(maxDepth, queue.size());
+                if (!draining) {
+                    draining = true;
+                    startDrain = true;
+                }
+            }
+        }
+
+        if (overflow) {
+            closeUnreliable("outbound queue reached " + disconnectThreshold + " frames");
+        } else if (startDrain) {
+            drainExecutor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Snapshot of this session's queue statistics
+     */
+    public synchronized WebSocketSessionStatsDto stats() {
+        return WebSocketSessionStatsDto.builder()
+                .sessionId(getId())
+                .username(getPrincipal() != null ? getPrincipal().getName() : null)
+                .queued(queue.size())
+                .maxDepth(maxDepth)
+                .sent(sent)
+                .droppedTyping(droppedTyping)
+                .conflated(conflated)
+                .sendInProgressMs(sendStartedAt > 0 ? System.currentTimeMillis() - sendStartedAt : 0)
+                .build();
+    }
+
+    synchronized int queued() {
+        return queue.size();
+    }
+
+    /**
+     * Close the session if the write in progress has exceeded the send time limit;
+     * called on every send and periodically by the registry, so a stuck write is
+     * detected even when no further frames arrive
+     *
+     * @return true if the session was closed
+     */
+    boolean checkSendTimeLimit() {
+        long started = sendStartedAt;
+        if (started > 0 && System.currentTimeMillis() - started > sendTimeLimitMs) {
+            closeUnreliable("send time limit of " + sendTimeLimitMs + " ms exceeded");
+            return true;
+        }
+        return false;
+    }
+
+    private void drain() {
+        while (!closing) {
+            Frame frame;
+            synchronized (this) {
+                frame = queue.poll();
+                if (frame == null) {
+                    draining = false;
+                    return;
+                }
+                if (frame.conflationKey != null) {
+                    pendingStatus.remove(frame.conflationKey, frame);
+                }
+            }
+
+            try {
+                sendStartedAt = System.currentTimeMillis();
+                getDelegate().sendMessage(frame.message);
+                synchronized (this) {
+                    sent++;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to send to WebSocket session {}: {}", getId(), e.getMessage());
+                closeUnreliable("send failed");
+            } finally {
+                sendStartedAt = 0;
+            }
+        }
+
+        synchronized (this) {
+            draining = false;
+        }
+    }
+
+    private boolean dropOldestTyping() {
+        Iterator<Frame> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().typing) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void closeUnreliable(String reason) {
+        if (closing) {
+            return;
+        }
+        closing = true;
+        synchronized (this) {
+            queue.clear();
+            pendingStatus.clear();
+        }
+
+        log.warn("Disconnecting slow WebSocket session {}: {}", getId(), reason);
+        registry.recordDisconnect();
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("Error closing WebSocket session {}: {}", getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Queued outbound frame with its overflow classification
+     */
+    private static final class Frame {
+        private WebSocketMessage<?> message;
+        private final boolean typing;
+        private final String conflationKey;
+
+        private Frame(WebSocketMessage<?> message, boolean typing, String conflationKey) {
+            this.message = message;
+            this.typing = typing;
+            this.conflationKey = conflationKey;
+        }
+
+        static Frame of(WebSocketMessage<?> message) {
+            String payload = message instanceof TextMessage text ? text.getPayload() : null;
+            String destination = payload != null ? headerOf(payload, "destination") : null;
+            if (destination == null) {
+                return new Frame(message, false, null);
+            }
+
+            // A client may hold several subscriptions (or a pattern subscription) covering
+            // the same destination; each subscription must still receive its latest status
+            String conflationKey = null;
+            if (destination.startsWith(STATUS_DESTINATION_PREFIX)) {
+                conflationKey = headerOf(payload, "subscription") + '|' + destination;
+            }
+            return new Frame(message, destination.endsWith(TYPING_SUFFIX), conflationKey);
+        }
+
+        /**
+         * Header of a STOMP MESSAGE frame, read from the header block only
+         */
+        static String headerOf(String frame, String name) {
+            if (!frame.startsWith("MESSAGE\n")) {
+                return null;
+            }
+            String prefix = "\n" + name + ":";
+            int headersEnd = frame.indexOf("\n\n");
+            int start = frame.indexOf(prefix);
+            if (start < 0 || (headersEnd >= 0 && start > headersEnd)) {
+                return null;
+            }
+            start += prefix.length();
+            int end = frame.indexOf('\n', start);
+            return end < 0 ? frame.substring(start) : frame.substring(start, end);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.disaster.config;
+
+import com.disaster.service.ClusterMessageBus;
+import com.disaster.service.InMemoryClusterMessageBus;
+import com.disaster.service.RedisClusterMessageBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+
+/**
+ * Clustered WebSocket broker configuration.
+ *
+ * websocket.broker.mode:
+ * - simple: single node, in-memory simple broker only (default)
+ * - redis: /topic broadcasts are fanned out to all nodes through Redis pub/sub
+ * - embedded: same fan-out through an in-JVM hub, for tests and local multi-node runs
+ */
+@Configuration
+public class ClusterBrokerConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "redis")
+    public RedisMessageListenerContainer clusterListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "redis")
+    public ClusterMessageBus redisClusterMessageBus(StringRedisTemplate redisTemplate,
+                                                    RedisMessageListenerContainer clusterListenerContainer,
+                                                    ObjectMapper objectMapper,
+                                                    @Value("${websocket.broker.redis-channel:disaster:ws:fanout}") String channel) {
+        return new RedisClusterMessageBus(redisTemplate, clusterListenerContainer, objectMapper, channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "embedded")
+    public ClusterMessageBus inMemoryClusterMessageBus() {
+        return new InMemoryClusterMessageBus(InMemoryClusterMessageBus.SHARED_HUB);
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${websocket.broker.mode:simple}' != 'simple'")
+    public ClusterBrokerInterceptor clusterBrokerInterceptor(ClusterMessageBus clusterMessageBus,
+                                                             ObjectProvider<SimpMessagingTemplate> messagingTemplate,
+                                                             @Value("${websocket.broker.node-id:}") String nodeId) {
+        String id = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString();
+        return new ClusterBrokerInterceptor(clusterMessageBus, messagingTemplate, id);
+    }
+}
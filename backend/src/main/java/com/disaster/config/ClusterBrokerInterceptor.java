@@ -0,0 +1,106 @@
+package com.disaster.config;
+
+import com.disaster.service.ClusterEnvelope;
+import com.disaster.service.ClusterMessageBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broker channel interceptor that mirrors /topic broadcasts to the other nodes
+ * of the cluster and delivers frames received from them to local subscribers.
+ *
+ * Unresolved /user/{name}/... sends are mirrored as well; every node's user
+ * destination handler then resolves them against its own sessions only.
+ *
+ * Frames re-injected from another node carry the {@link #ORIGIN_HEADER} header
+ * and are never published again, so there are no fan-out loops.
+ */
+@Slf4j
+public class ClusterBrokerInterceptor implements ChannelInterceptor {
+
+    public static final String ORIGIN_HEADER = "clusterOrigin";
+    private static final String USER_PREFIX = "/user/";
+
+    private final ClusterMessageBus messageBus;
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+    private final String nodeId;
+
+    public ClusterBrokerInterceptor(ClusterMessageBus messageBus,
+                                    ObjectProvider<SimpMessagingTemplate> messagingTemplate,
+                                    String nodeId) {
+        this.messageBus = messageBus;
+        this.messagingTemplate = messagingTemplate;
+        this.nodeId = nodeId;
+        messageBus.subscribe(this::deliver);
+        log.info("WebSocket cluster fan-out enabled for node {}", nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        String destination = accessor.getDestination();
+
+        if (accessor.getMessageType() == SimpMessageType.MESSAGE
+                && destination != null
+                && (destination.startsWith("/topic/") || destination.startsWith(USER_PREFIX))
+                && accessor.getHeader(ORIGIN_HEADER) == null
+                && message.getPayload() instanceof byte[] payload) {
+
+            MimeType contentType = accessor.getContentType();
+            Map<String, String> headers = new HashMap<>();
+            Map<String, List<String>> nativeHeaders = accessor.toNativeHeaderMap();
+            nativeHeaders.forEach((name, values) -> {
+                if (!values.isEmpty()) {
+                    headers.put(name, values.get(0));
+                }
+            });
+
+            messageBus.publish(ClusterEnvelope.builder()
+                    .origin(nodeId)
+                    .destination(destination)
+                    .contentType(contentType != null ? contentType.toString() : null)
+                    .payload(payload)
+                    .headers(headers)
+                    .build());
+        }
+        return message;
+    }
+
+    /**
+     * Deliver a frame published by another node to this node's broker
+     */
+    void deliver(ClusterEnvelope envelope) {
+        if (nodeId.equals(envelope.getOrigin())) {
+            return;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        if (envelope.getContentType() != null) {
+            accessor.setContentType(MimeType.valueOf(envelope.getContentType()));
+        }
+        if (envelope.getHeaders() != null) {
+            envelope.getHeaders().forEach(accessor::setNativeHeader);
+        }
+        accessor.setHeader(ORIGIN_HEADER, envelope.getOrigin());
+        accessor.setLeaveMutable(true);
+
+        messagingTemplate.getObject().send(envelope.getDestination(),
+                MessageBuilder.createMessage(envelope.getPayload(), accessor.getMessageHeaders()));
+    }
+}
@@ -10,15 +10,22 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  * 
  * - New passwords are always stored as BCrypt
  * - Login attempts are checked against both BCrypt and plain text
- * - When a plain text password is used successfully, it can be upgraded to BCrypt
+ * - When a plain text password (or a hash with an outdated cost) is used successfully,
+ *   it is re-hashed by PasswordUpgradeService
  */
 @Slf4j
 public class DelegatingPasswordEncoder implements PasswordEncoder {
     
     private final BCryptPasswordEncoder bcryptEncoder;
+    private final int cost;
     
     public DelegatingPasswordEncoder() {
-        this.bcryptEncoder = new BCryptPasswordEncoder(12);
+        this(12);
+    }
+    
+    public DelegatingPasswordEncoder(int cost) {
+        this.cost = cost;
+        this.bcryptEncoder = new BCryptPasswordEncoder(cost);
     }
     
     @Override
@@ -39,7 +46,7 @@ public class DelegatingPasswordEncoder implements PasswordEncoder {
         log.debug("Matching password - Encoded password starts with: {}", encodedPassword.substring(0, Math.min(10, encodedPassword.length())));
         
         // If the stored password is a BCrypt hash, use BCrypt matching
-        if (encodedPassword.startsWith("$2a$") || encodedPassword.startsWith("$2b$") || encodedPassword.startsWith("$2y$")) {
+        if (isBCrypt(encodedPassword)) {
             boolean matches = bcryptEncoder.matches(rawPassword, encodedPassword);
             log.debug("BCrypt password match result: {}", matches);
             return matches;
@@ -54,9 +61,40 @@ public class DelegatingPasswordEncoder implements PasswordEncoder {
     
     @Override
     public boolean upgradeEncoding(String encodedPassword) {
-        // Upgrade plain text passwords to BCrypt
-        return !encodedPassword.startsWith("$2a$") && 
-               !encodedPassword.startsWith("$2b$") && 
-               !encodedPassword.startsWith("$2y$");
+        // Upgrade plain text passwords and hashes made with a different work factor
+        return upgradeEncoding(encodedPassword, cost);
+    }
+    
+    /**
+     * Whether the stored password is plain text or a BCrypt hash with a cost other than targetCost
+     */
+    public static boolean upgradeEncoding(String encodedPassword, int targetCost) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        if (!isBCrypt(encodedPassword)) {
+            return true;
+        }
+        return bcryptCost(encodedPassword) != targetCost;
+    }
+    
+    /**
+     * Work factor of a BCrypt hash ($2a$12$... -> 12), or -1 if it can't be read
+     */
+    public static int bcryptCost(String encodedPassword) {
+        if (encodedPassword.length() < 7 || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    private static boolean isBCrypt(String encodedPassword) {
+        return encodedPassword.startsWith("$2a$") || 
+               encodedPassword.startsWith("$2b$") || 
+               encodedPassword.startsWith("$2y$");
     }
 }
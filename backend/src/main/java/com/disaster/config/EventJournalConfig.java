@@ -0,0 +1,40 @@
+package com.disaster.config;
+
+import com.disaster.service.EventJournal;
+import com.disaster.service.InMemoryEventJournal;
+import com.disaster.service.RedisEventJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Notification journal selection by notifications.journal.store:
+ * - memory: events and sequence kept on this node (default, single node only)
+ * - redis: one sequence and journal shared by all nodes
+ */
+@Configuration
+public class EventJournalConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "notifications.journal.store", havingValue = "redis")
+    public EventJournal redisEventJournal(StringRedisTemplate redisTemplate,
+                                          @Value("${notifications.journal.capacity:10000}") int capacity) {
+        return new RedisEventJournal(redisTemplate, capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notifications.journal.store", havingValue = "memory", matchIfMissing = true)
+    public EventJournal inMemoryEventJournal(@Value("${websocket.broker.mode:simple}") String brokerMode,
+                                             @Value("${notifications.journal.capacity:10000}") int capacity,
+                                             @Value("${notifications.journal.spill-dir:}") String spillDirectory,
+                                             @Value("${notifications.journal.spill-max-bytes:67108864}") long spillMaxBytes) {
+        // A node-local journal would hand out positions other nodes cannot resume from
+        if ("redis".equalsIgnoreCase(brokerMode)) {
+            throw new IllegalStateException("notifications.journal.store=memory cannot be used with "
+                    + "websocket.broker.mode=redis; set notifications.journal.store=redis");
+        }
+        return new InMemoryEventJournal(capacity, spillDirectory, spillMaxBytes);
+    }
+}
@@ -0,0 +1,24 @@
+package com.disaster.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate statistics as Micrometer meters, including second-level and query cache
+ * hits/misses per region (hibernate.second.level.cache.requests, hibernate.cache.query.requests).
+ * Regions and their size/expiry limits are defined in application.conf (Caffeine JCache).
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class),
+                "entityManagerFactory", Tags.empty());
+    }
+}
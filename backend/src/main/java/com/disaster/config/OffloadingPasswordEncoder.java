@@ -0,0 +1,74 @@
+package com.disaster.config;
+
+import com.disaster.security.ClientAddress;
+import com.disaster.security.PasswordHashingExecutor;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+/**
+ * Password encoder that moves hashing for authentication endpoints onto the
+ * {@link PasswordHashingExecutor}, so a login storm is shed with 503s once the pool
+ * and its queue are full, instead of every request thread hashing at once. Hashing
+ * outside those endpoints (e.g. victim accounts created by emergency intake) runs
+ * inline and is never shed.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+    private final List<String> offloadedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor,
+                                     List<String> offloadedPaths) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.offloadedPaths = offloadedPaths;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        HttpServletRequest request = offloadedRequest();
+        return request == null
+                ? delegate.encode(rawPassword)
+                : executor.execute(ClientAddress.of(request), () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        HttpServletRequest request = offloadedRequest();
+        return request == null
+                ? delegate.matches(rawPassword, encodedPassword)
+                : executor.execute(ClientAddress.of(request), () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * The current HTTP request, if it targets an offloaded path
+     */
+    private HttpServletRequest offloadedRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+
+        HttpServletRequest request = servletAttributes.getRequest();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : offloadedPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return request;
+            }
+        }
+        return null;
+    }
+}
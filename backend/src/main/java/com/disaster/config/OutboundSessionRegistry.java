@@ -0,0 +1,166 @@
+package com.disaster.config;
+
+import com.disaster.dto.WebSocketSessionStatsDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps every WebSocket session in a {@link BoundedOutboundSession} and keeps
+ * track of them for metrics and the admin session endpoint.
+ *
+ * Drain threads are started on demand up to drain-threads and exit when idle; past
+ * that, drain tasks wait in the executor queue, which holds at most one task per
+ * session. A watchdog closes sessions whose write has exceeded the send time limit,
+ * so a blocked session holds a drain thread for at most that long.
+ */
+@Component
+public class OutboundSessionRegistry implements WebSocketHandlerDecoratorFactory {
+
+    private final Map<String, BoundedOutboundSession> sessions = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor drainExecutor;
+    private final ScheduledExecutorService watchdog;
+    private final int queueCapacity;
+    private final int disconnectThreshold;
+    private final long sendTimeLimitMs;
+
+    private final Counter droppedTyping;
+    private final Counter conflated;
+    private final Counter disconnects;
+
+    public OutboundSessionRegistry(MeterRegistry meterRegistry,
+                                   @Value("${websocket.outbound.queue-capacity:100}") int queueCapacity,
+                                   @Value("${websocket.outbound.disconnect-threshold:500}") int disconnectThreshold,
+                                   @Value("${websocket.outbound.send-time-limit-ms:10000}") long sendTimeLimitMs,
+                                   @Value("${websocket.outbound.drain-threads:64}") int drainThreads) {
+        this.queueCapacity = queueCapacity;
+        this.disconnectThreshold = Math.max(disconnectThreshold, queueCapacity);
+        this.sendTimeLimitMs = sendTimeLimitMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.drainExecutor = new ThreadPoolExecutor(drainThreads, drainThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "ws-outbound-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        drainExecutor.allowCoreThreadTimeOut(true);
+
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ws-outbound-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkIntervalMs = Math.max(100, Math.min(1000, sendTimeLimitMs / 4));
+        watchdog.scheduleWithFixedDelay(this::checkSendTimeLimits, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+
+        this.droppedTyping = Counter.builder("websocket.outbound.dropped")
+                .tag("reason", "typing")
+                .description("Typing frames dropped for slow WebSocket sessions")
+                .register(meterRegistry);
+        this.conflated = Counter.builder("websocket.outbound.conflated")
+                .description("Status frames replaced by a newer frame before being sent")
+                .register(meterRegistry);
+        this.disconnects = Counter.builder("websocket.outbound.disconnects")
+                .description("WebSocket sessions closed as too slow")
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.sessions", sessions, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.drain.waiting", drainExecutor, executor -> executor.getQueue().size())
+                .description("Sessions waiting for a free drain thread")
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.queued", this, OutboundSessionRegistry::totalQueued)
+                .description("Frames waiting in all outbound session queues")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                BoundedOutboundSession bounded = new BoundedOutboundSession(session, OutboundSessionRegistry.this,
+                        drainExecutor, queueCapacity, disconnectThreshold, sendTimeLimitMs);
+                sessions.put(session.getId(), bounded);
+                super.afterConnectionEstablished(bounded);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                super.handleMessage(bounded(session), message);
+            }
+
+            @Override
+            public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+                super.handleTransportError(bounded(session), exception);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                BoundedOutboundSession bounded = sessions.remove(session.getId());
+                super.afterConnectionClosed(bounded != null ? bounded : session, closeStatus);
+            }
+
+            private WebSocketSession bounded(WebSocketSession session) {
+                BoundedOutboundSession bounded = sessions.get(session.getId());
+                return bounded != null ? bounded : session;
+            }
+        };
+    }
+
+    /**
+     * Statistics of all open sessions, most backed-up first
+     */
+    public List<WebSocketSessionStatsDto> getSessionStats() {
+        return sessions.values().stream()
+                .map(BoundedOutboundSession::stats)
+                .sorted(Comparator.comparingInt(WebSocketSessionStatsDto::getQueued).reversed())
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        drainExecutor.shutdownNow();
+    }
+
+    void recordDroppedTyping() {
+        droppedTyping.increment();
+    }
+
+    void recordConflated() {
+        conflated.increment();
+    }
+
+    void recordDisconnect() {
+        disconnects.increment();
+    }
+
+    private void checkSendTimeLimits() {
+        sessions.values().forEach(BoundedOutboundSession::checkSendTimeLimit);
+    }
+
+    private double totalQueued() {
+        return sessions.values().stream().mapToInt(BoundedOutboundSession::queued).sum();
+    }
+}
@@ -0,0 +1,51 @@
+package com.disaster.config;
+
+import com.disaster.security.LocalTokenBucketRateLimiter;
+import com.disaster.security.RateLimitFilter;
+import com.disaster.security.RateLimiter;
+import com.disaster.security.RedisTokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Rate limiter selection by rate-limit.mode:
+ * - local: per-node token buckets (default)
+ * - redis: buckets shared by all nodes, falling back to local buckets if Redis is down
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.mode", havingValue = "redis")
+    public RateLimiter redisRateLimiter(StringRedisTemplate redisTemplate,
+                                        @Value("${rate-limit.max-buckets:100000}") long maxBuckets) {
+        return new RedisTokenBucketRateLimiter(redisTemplate, new LocalTokenBucketRateLimiter(maxBuckets));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.mode", havingValue = "local", matchIfMissing = true)
+    public RateLimiter localRateLimiter(@Value("${rate-limit.max-buckets:100000}") long maxBuckets) {
+        return new LocalTokenBucketRateLimiter(maxBuckets);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter,
+                                           ObjectMapper objectMapper) {
+        return new RateLimitFilter(properties, rateLimiter, objectMapper);
+    }
+
+    /**
+     * The filter runs inside the security chain (before JWT authentication), not as a plain servlet filter
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,88 @@
+package com.disaster.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit settings (rate-limit.*): per-endpoint token bucket rules and trusted partner keys
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * local (per node) or redis (shared across nodes)
+     */
+    private String mode = "local";
+
+    private String deviceHeader = "X-Device-Id";
+    private String partnerKeyHeader = "X-Partner-Key";
+
+    /**
+     * Requests carrying one of these keys are never limited
+     */
+    private List<String> partnerKeys = new ArrayList<>();
+
+    /**
+     * Evaluated in order; the first matching rule applies
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+
+        /**
+         * HTTP method to match, or empty for any
+         */
+        private String method;
+
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * Bucket size (burst)
+         */
+        private int capacity = 10;
+
+        /**
+         * Tokens added per minute
+         */
+        private double refillPerMinute = 10;
+
+        private KeyType key = KeyType.IP;
+
+        /**
+         * For DEVICE rules: bucket size per client IP, shared by every device id sent
+         * from it, so rotating the device header does not bypass the limit; 0 disables
+         */
+        private int ipCapacity;
+
+        /**
+         * For DEVICE rules: tokens added per minute to the per-IP bucket
+         */
+        private double ipRefillPerMinute;
+
+        /**
+         * The per-IP limit of a DEVICE rule as a rule of its own
+         */
+        public Rule ipLimit() {
+            Rule rule = new Rule();
+            rule.setName(name + "-ip");
+            rule.setCapacity(ipCapacity);
+            rule.setRefillPerMinute(ipRefillPerMinute);
+            return rule;
+        }
+    }
+
+    public enum KeyType {
+        IP,
+        DEVICE
+    }
+}
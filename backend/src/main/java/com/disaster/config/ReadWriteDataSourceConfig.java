@@ -0,0 +1,74 @@
+package com.disaster.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split (database.replica.enabled=true).
+ *
+ * spring.datasource stays the primary; @Transactional(readOnly = true) work runs on a
+ * separate replica pool, guarded by ReplicaLagGuard. Without the property the single
+ * auto-configured pool is used as before.
+ *
+ * Routing is decided when a transaction first takes a connection and Hibernate holds
+ * it until the session closes, so this relies on spring.jpa.open-in-view=false:
+ * with a request-wide session, a write after a read-only transaction would reuse
+ * the replica connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "database.replica.enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${database.replica.url}") String url,
+                                              @Value("${database.replica.username}") String username,
+                                              @Value("${database.replica.password:}") String password,
+                                              @Value("${database.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(@Qualifier("replicaDataSource") DataSource replica,
+                                           @Value("${database.replica.max-lag-seconds:5}") long maxLagSeconds,
+                                           @Value("${database.replica.read-your-writes-ms:5000}") long readYourWritesMs,
+                                           @Value("${database.replica.max-tracked-writers:100000}") long maxTrackedWriters,
+                                           MeterRegistry meterRegistry) {
+        return new ReplicaLagGuard(replica, maxLagSeconds, readYourWritesMs, maxTrackedWriters, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagGuard guard) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, guard));
+    }
+}
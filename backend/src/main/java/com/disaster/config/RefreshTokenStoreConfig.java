@@ -0,0 +1,50 @@
+package com.disaster.config;
+
+import com.disaster.security.InMemoryRefreshTokenStore;
+import com.disaster.security.RedisRefreshTokenStore;
+import com.disaster.security.RefreshTokenStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Refresh token store selection by security.refresh-tokens.store:
+ * - memory: families kept on this node (default, single node)
+ * - redis: families shared by all nodes
+ */
+@Configuration
+public class RefreshTokenStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "security.refresh-tokens.store", havingValue = "redis")
+    public RefreshTokenStore redisRefreshTokenStore(StringRedisTemplate redisTemplate) {
+        return new RedisRefreshTokenStore(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.refresh-tokens.store", havingValue = "memory", matchIfMissing = true)
+    public InMemoryRefreshTokenStore inMemoryRefreshTokenStore() {
+        return new InMemoryRefreshTokenStore();
+    }
+
+    /**
+     * Periodically drop expired and revoked in-memory families
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "security.refresh-tokens.store", havingValue = "memory", matchIfMissing = true)
+    static class InMemoryPurge {
+
+        private final InMemoryRefreshTokenStore store;
+
+        InMemoryPurge(InMemoryRefreshTokenStore store) {
+            this.store = store;
+        }
+
+        @Scheduled(fixedDelayString = "${security.refresh-tokens.purge-interval-ms:600000}")
+        public void purge() {
+            store.purge();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.disaster.config;
+
+import com.disaster.security.ClientAddress;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Decides whether read-only work may use the replica.
+ *
+ * - the replica is skipped while its replication lag is above max-lag-seconds,
+ *   replication is stopped, or it cannot be reached
+ * - a client who committed a write within the read-your-writes window reads from the
+ *   primary, so they always see their own changes. Clients are authenticated users,
+ *   otherwise the caller's IP address; work outside a request (scheduled jobs) is
+ *   tracked per thread.
+ */
+@Slf4j
+public class ReplicaLagGuard {
+
+    private static final int ER_SPECIFIC_ACCESS_DENIED = 1227;
+
+    private final DataSource replica;
+    private final long maxLagSeconds;
+    private final Cache<String, Boolean> recentWriters;
+
+    private volatile boolean replicaUsable = true;
+    private volatile long lagSeconds;
+    private volatile boolean lagUnmeasurable;
+
+    public ReplicaLagGuard(DataSource replica, long maxLagSeconds, long readYourWritesMs,
+                           long maxTrackedWriters, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(readYourWritesMs))
+                .maximumSize(maxTrackedWriters)
+                .build();
+
+        Gauge.builder("database.replica.lag.seconds", () -> lagSeconds)
+                .description("Replication lag of the read replica (-1 when unusable)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the current read-only transaction may run on the replica
+     */
+    public boolean useReplica() {
+        return replicaUsable && recentWriters.getIfPresent(currentClient()) == null;
+    }
+
+    /**
+     * Pin the current client to the primary for the read-your-writes window
+     */
+    public void recordWrite() {
+        recentWriters.put(currentClient(), Boolean.TRUE);
+    }
+
+    /**
+     * The replica could not hand out a connection; use the primary until the next lag check
+     */
+    public void replicaFailed(SQLException e) {
+        if (replicaUsable) {
+            log.warn("Read replica unavailable, routing reads to primary: {}", e.getMessage());
+        }
+        replicaUsable = false;
+        lagSeconds = -1;
+    }
+
+    /**
+     * Measure replication lag. Servers that report no replication status (e.g. managed
+     * read endpoints) or whose user lacks REPLICATION CLIENT are trusted; a stopped
+     * replication thread counts as unusable.
+     */
+    @Scheduled(fixedDelayString = "${database.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        try (Connection connection = replica.getConnection()) {
+            Long lag = readLag(connection);
+            boolean usable = lag != null && lag <= maxLagSeconds;
+            if (usable != replicaUsable) {
+                log.info("Read replica {} (lag: {}s)", usable ? "back in use" : "lagging, routing reads to primary", lag);
+            }
+            lagSeconds = lag != null ? lag : -1;
+            replicaUsable = usable;
+        } catch (SQLException e) {
+            replicaFailed(e);
+        }
+    }
+
+    boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    private Long readLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet status = replicaStatus(statement)) {
+            if (!status.next()) {
+                return 0L;
+            }
+            long lag = status.getLong(lagColumn(status));
+            return status.wasNull() ? null : lag;
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ER_SPECIFIC_ACCESS_DENIED) {
+                throw e;
+            }
+            if (!lagUnmeasurable) {
+                log.warn("Replica user cannot read replication status, lag guard disabled: {}", e.getMessage());
+                lagUnmeasurable = true;
+            }
+            return 0L;
+        }
+    }
+
+    private static ResultSet replicaStatus(Statement statement) throws SQLException {
+        try {
+            return statement.executeQuery("SHOW REPLICA STATUS");
+        } catch (SQLException e) {
+            // MySQL before 8.0.22
+            return statement.executeQuery("SHOW SLAVE STATUS");
+        }
+    }
+
+    private static int lagColumn(ResultSet status) throws SQLException {
+        try {
+            return status.findColumn("Seconds_Behind_Source");
+        } catch (SQLException e) {
+            return status.findColumn("Seconds_Behind_Master");
+        }
+    }
+
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return "ip:" + ClientAddress.of(attributes.getRequest());
+        }
+        return "thread:" + Thread.currentThread().getName();
+    }
+}
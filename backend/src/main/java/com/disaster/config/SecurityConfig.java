@@ -2,6 +2,10 @@ package com.disaster.config;
 
 import com.disaster.security.CustomUserDetailsService;
 import com.disaster.security.JwtAuthenticationFilter;
+import com.disaster.security.PasswordHashingExecutor;
+import com.disaster.security.PasswordUpgradeService;
+import com.disaster.security.RateLimitFilter;
+import com.disaster.security.RehashingAuthenticationProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -37,6 +41,7 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Value("${cors.allowed-origins}")
     private String allowedOrigins;
@@ -97,8 +102,9 @@ public class SecurityConfig {
                         // All other requests require authentication
                         .anyRequest().authenticated()
                 )
-                .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .authenticationProvider(authenticationProvider)
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -131,18 +137,25 @@ public class SecurityConfig {
      * @return PasswordEncoder - Delegating encoder with BCrypt + plain text support
      */
     @Bean
-    public org.springframework.security.crypto.password.PasswordEncoder passwordEncoder() {
-        return new DelegatingPasswordEncoder();
+    public org.springframework.security.crypto.password.PasswordEncoder passwordEncoder(
+            PasswordHashingExecutor hashingExecutor,
+            @Value("${security.password.bcrypt-cost:12}") int bcryptCost,
+            @Value("${security.password-hashing.offloaded-paths:/api/auth/**,/api/request/victimLogin/**}") List<String> offloadedPaths) {
+        // Login/signup hashing runs on the bounded hashing pool and is shed under load
+        return new OffloadingPasswordEncoder(new DelegatingPasswordEncoder(bcryptCost), hashingExecutor, offloadedPaths);
     }
 
     /**
      * Authentication provider
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+    public AuthenticationProvider authenticationProvider(
+            org.springframework.security.crypto.password.PasswordEncoder passwordEncoder,
+            PasswordUpgradeService passwordUpgradeService) {
+        // Outdated or plain text hashes are re-hashed in the background after a successful login
+        DaoAuthenticationProvider authProvider = new RehashingAuthenticationProvider(passwordUpgradeService);
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
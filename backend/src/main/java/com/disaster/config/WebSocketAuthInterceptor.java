@@ -1,6 +1,9 @@
 package com.disaster.config;
 
 import com.disaster.security.JwtTokenProvider;
+import com.disaster.security.PrincipalCache;
+import com.disaster.security.TokenDenyList;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
@@ -13,7 +16,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
 /**
@@ -25,7 +27,8 @@ import org.springframework.stereotype.Component;
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenDenyList denyList;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -39,10 +42,21 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                 token = token.substring(7);
                 
                 try {
-                    // Validate and extract username from token
-                    if (jwtTokenProvider.validateToken(token)) {
-                        String username = jwtTokenProvider.getUsernameFromToken(token);
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    // Validate and extract username from token in a single parse
+                    Claims claims = jwtTokenProvider.parseVerifiedClaims(token);
+                    if (claims != null && JwtTokenProvider.isAccessToken(claims)) {
+                        String username = claims.getSubject();
+                        Integer version = claims.get(JwtTokenProvider.VERSION_CLAIM, Integer.class);
+                        if (version != null && denyList.isRevoked(username, version)) {
+                            log.warn("WebSocket connection rejected for revoked token of user: {}", username);
+                            return message;
+                        }
+
+                        UserDetails userDetails = principalCache.get(username);
+                        if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+                            log.warn("WebSocket connection rejected for disabled or locked user: {}", username);
+                            return message;
+                        }
                         
                         // Create authentication object
                         Authentication authentication = new UsernamePasswordAuthenticationToken(
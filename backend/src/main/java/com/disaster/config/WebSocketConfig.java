@@ -1,12 +1,15 @@
 package com.disaster.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket configuration for real-time chat messaging
@@ -17,12 +20,42 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+    private final ObjectProvider<ClusterBrokerInterceptor> clusterBrokerInterceptor;
+    private final OutboundSessionRegistry outboundSessionRegistry;
+
+    @Value("${websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.transport.send-time-limit-ms:15000}")
+    private int sendTimeLimit;
+
+    @Value("${websocket.outbound.channel-threads:8}")
+    private int outboundChannelThreads;
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(webSocketAuthInterceptor);
     }
 
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Sessions queue their own frames, so a fixed pool never waits on a slow client
+        registration.taskExecutor()
+                .corePoolSize(outboundChannelThreads)
+                .maxPoolSize(outboundChannelThreads);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimit)
+                .addDecoratorFactory(outboundSessionRegistry);
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // Enable simple broker for topic (broadcasts) and queue (point-to-point)
@@ -33,6 +66,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         
         // Prefix for user-specific destinations
         registry.setUserDestinationPrefix("/user");
+
+        // Clustered mode: mirror /topic and /user sends to the other nodes
+        clusterBrokerInterceptor.ifAvailable(interceptor ->
+                registry.configureBrokerChannel().interceptors(interceptor));
     }
 
     @Override
@@ -72,7 +72,7 @@ public class AuthController {
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<User> getCurrentUser() {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserProfile();
         return ResponseEntity.ok(user);
     }
 
@@ -80,8 +80,7 @@ public class AuthController {
     @Operation(summary = "User logout", description = "Logout current user (invalidate tokens)")
     @ApiResponse(responseCode = "200", description = "Logout successful")
     public ResponseEntity<String> logout() {
-        // With JWT, logout is typically handled client-side by removing tokens
-        // For enhanced security, implement token blacklisting with Redis
+        authService.logout();
         return ResponseEntity.ok("Logout successful");
     }
 
@@ -1,7 +1,9 @@
 package com.disaster.controller;
 
 import com.disaster.entity.Message;
+import com.disaster.service.ChatMessagePayloads;
 import com.disaster.service.MessageService;
+import com.disaster.service.PayloadBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
@@ -24,6 +26,8 @@ public class ChatController {
 
     private final MessageService messageService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ChatMessagePayloads chatMessagePayloads;
+    private final PayloadBroadcaster payloadBroadcaster;
 
     /**
      * Handle incoming chat messages
@@ -48,11 +52,8 @@ public class ChatController {
                     Message.SenderType.valueOf(senderType)
             );
 
-            // Broadcast to all subscribers of this request's chat topic
-            messagingTemplate.convertAndSend(
-                    "/topic/chat/" + requestId, 
-                    savedMessage
-            );
+            // Broadcast to all subscribers of this request's chat topic (serialized once)
+            payloadBroadcaster.send("/topic/chat/" + requestId, chatMessagePayloads.payload(savedMessage));
 
             log.info("Broadcasted message to /topic/chat/{}", requestId);
 
@@ -1,25 +1,46 @@
 package com.disaster.controller;
 
 import com.disaster.dto.EmergencyRequestDto;
+import com.disaster.dto.EmergencyRequestSummaryDto;
 import com.disaster.entity.EmergencyRequest;
 import com.disaster.service.EmergencyRequestService;
+import com.disaster.service.RequestExportService;
+import com.disaster.service.RequestSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for emergency request management
@@ -31,6 +52,11 @@ import java.util.Map;
 public class EmergencyRequestController {
 
     private final EmergencyRequestService requestService;
+    private final RequestSearchService searchService;
+    private final RequestExportService exportService;
+
+    @Value("${requests.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
 
     @PostMapping("/emergency")
     @Operation(summary = "Create emergency request", description = "Submit new emergency request from victim")
@@ -45,33 +71,173 @@ public class EmergencyRequestController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all requests", description = "Retrieve paginated list of emergency requests")
+    @Operation(summary = "Get all requests", description = "Retrieve paginated list of emergency requests; includeHistory adds archived requests")
     @PreAuthorize("hasAnyRole('ADMIN', 'DEPARTMENT_HEAD', 'DISPATCHER')")
-    public ResponseEntity<Page<EmergencyRequest>> getAllRequests(
+    public ResponseEntity<Page<EmergencyRequestSummaryDto>> getAllRequests(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String direction
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(defaultValue = "false") boolean includeHistory
     ) {
         Sort sort = direction.equalsIgnoreCase("ASC") ? 
                 Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<EmergencyRequest> requests = requestService.getAllRequests(pageable);
+        Page<EmergencyRequestSummaryDto> requests = requestService.getAllRequestSummaries(pageable, includeHistory);
         return ResponseEntity.ok(requests);
     }
 
     @GetMapping("/active")
     @Operation(summary = "Get active requests", description = "Retrieve all unresolved emergency requests")
     @PreAuthorize("hasAnyRole('ADMIN', 'DEPARTMENT_HEAD', 'DISPATCHER', 'RESCUE_TEAM')")
-    public ResponseEntity<Page<EmergencyRequest>> getActiveRequests(
+    public ResponseEntity<Page<EmergencyRequestSummaryDto>> getActiveRequests(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size
     ) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<EmergencyRequest> requests = requestService.getActiveRequests(pageable);
+        Page<EmergencyRequestSummaryDto> requests = requestService.getActiveRequestSummaries(pageable);
         return ResponseEntity.ok(requests);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export requests",
+            description = "Stream all requests (optionally created in [from, to)) including archived history as NDJSON or CSV; gzip when accepted")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DEPARTMENT_HEAD')")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unknown format")
+    })
+    public ResponseEntity<StreamingResponseBody> exportRequests(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "true") boolean includeHistory,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
+    ) {
+        RequestExportService.Format exportFormat = RequestExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        boolean gzip = acceptsGzip(acceptEncoding);
+        applyExportTimeout(webRequest);
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            exportService.export(exportFormat, from, to, includeHistory, target);
+            if (target instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+        };
+
+        boolean csv = exportFormat == RequestExportService.Format.CSV;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("emergency-requests." + (csv ? "csv" : "ndjson"))
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Whether Accept-Encoding allows gzip; an explicit gzip entry overrides *, and q=0 refuses
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+
+        double quality = gzipQuality != null ? gzipQuality : anyQuality != null ? anyQuality : 0;
+        return quality > 0;
+    }
+
+    /**
+     * Let this export stream for up to requests.export.timeout-ms; other async requests keep the default timeout
+     */
+    private void applyExportTimeout(WebRequest webRequest) {
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor("requestExportTimeout",
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                        if (request instanceof AsyncWebRequest asyncRequest) {
+                            asyncRequest.setTimeout(exportTimeoutMs);
+                        }
+                    }
+                });
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search active requests",
+            description = "Substring and typo-tolerant search over location and description of active requests, best match first")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DEPARTMENT_HEAD', 'DISPATCHER', 'RESCUE_TEAM')")
+    public ResponseEntity<List<EmergencyRequestSummaryDto>> searchRequests(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(searchService.search(q, limit));
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Get nearby requests",
+            description = "Requests within a radius (km) of a point, nearest first, with distance in meters")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DEPARTMENT_HEAD', 'DISPATCHER', 'RESCUE_TEAM')")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Requests found"),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates or radius")
+    })
+    public ResponseEntity<List<EmergencyRequestSummaryDto>> getNearbyRequests(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(defaultValue = "false") boolean includeClosed,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok(requestService.findNearby(lat, lon, radiusKm, includeClosed, limit));
+    }
+
+    @GetMapping("/within")
+    @Operation(summary = "Get requests in area", description = "Requests inside a bounding box (map view), newest first")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DEPARTMENT_HEAD', 'DISPATCHER', 'RESCUE_TEAM')")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Requests found"),
+            @ApiResponse(responseCode = "400", description = "Invalid bounding box")
+    })
+    public ResponseEntity<List<EmergencyRequestSummaryDto>> getRequestsWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(defaultValue = "false") boolean includeClosed,
+            @RequestParam(defaultValue = "200") int limit
+    ) {
+        return ResponseEntity.ok(requestService.findWithinBox(minLat, minLon, maxLat, maxLon, includeClosed, limit));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get request by ID", description = "Retrieve specific emergency request details")
     @ApiResponses(value = {
@@ -84,15 +250,16 @@ public class EmergencyRequestController {
     }
 
     @GetMapping("/status/{status}")
-    @Operation(summary = "Get requests by status", description = "Filter requests by status (PENDING, ASSIGNED, EN_ROUTE, ON_SCENE, RESOLVED)")
+    @Operation(summary = "Get requests by status", description = "Filter requests by status (PENDING, ASSIGNED, EN_ROUTE, ON_SCENE, RESOLVED); includeHistory adds archived requests")
     @PreAuthorize("hasAnyRole('ADMIN', 'DEPARTMENT_HEAD', 'DISPATCHER')")
-    public ResponseEntity<Page<EmergencyRequest>> getByStatus(
+    public ResponseEntity<Page<EmergencyRequestSummaryDto>> getByStatus(
             @PathVariable String status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeHistory
     ) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<EmergencyRequest> requests = requestService.getByStatus(status, pageable);
+        Page<EmergencyRequestSummaryDto> requests = requestService.getRequestSummariesByStatus(status, pageable, includeHistory);
         return ResponseEntity.ok(requests);
     }
 
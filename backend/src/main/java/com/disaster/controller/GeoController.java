@@ -0,0 +1,55 @@
+package com.disaster.controller;
+
+import com.disaster.dto.GeoCellsDto;
+import com.disaster.service.GeoCell;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for geofenced notification subscriptions
+ */
+@RestController
+@RequestMapping("/api/geo")
+@Tag(name = "Geo", description = "Geofenced notification topic endpoints")
+public class GeoController {
+
+    @Value("${notifications.geo.precision:5}")
+    private int precision;
+
+    @Value("${notifications.geo.max-cells:256}")
+    private int maxCells;
+
+    @GetMapping("/cells")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get cells for area",
+            description = "Geohash cells covering a bounding box; subscribe to /topic/geo/{cell}/new and /topic/geo/{cell}/updates")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cells computed"),
+            @ApiResponse(responseCode = "400", description = "Invalid bounding box or area too large")
+    })
+    public ResponseEntity<GeoCellsDto> getCells(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon
+    ) {
+        List<String> cells = GeoCell.covering(minLat, minLon, maxLat, maxLon, precision, maxCells);
+        return ResponseEntity.ok(GeoCellsDto.builder()
+                .precision(precision)
+                .cells(cells)
+                .newTopics(cells.stream().map(cell -> "/topic/geo/" + cell + "/new").toList())
+                .updateTopics(cells.stream().map(cell -> "/topic/geo/" + cell + "/updates").toList())
+                .build());
+    }
+}
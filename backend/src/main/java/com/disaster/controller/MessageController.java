@@ -1,6 +1,10 @@
 package com.disaster.controller;
 
+import com.disaster.dto.ChatMessageEvent;
+import com.disaster.dto.MessageSearchResultDto;
 import com.disaster.entity.Message;
+import com.disaster.service.ChatMessagePayloads;
+import com.disaster.service.MessageSearchService;
 import com.disaster.service.MessageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,6 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -27,6 +32,8 @@ import java.util.List;
 public class MessageController {
 
     private final MessageService messageService;
+    private final MessageSearchService searchService;
+    private final ChatMessagePayloads chatMessagePayloads;
 
     @PostMapping
     @Operation(summary = "Send message", description = "Send new chat message for emergency request")
@@ -49,22 +56,25 @@ public class MessageController {
     @GetMapping
     @Operation(summary = "Get messages", description = "Retrieve paginated messages for emergency request")
     @PreAuthorize("hasAnyRole('ADMIN', 'DEPARTMENT_HEAD', 'DISPATCHER', 'RESCUE_TEAM', 'VICTIM')")
-    public ResponseEntity<Page<Message>> getMessages(
+    public ResponseEntity<Page<ChatMessageEvent>> getMessages(
             @RequestParam Long requestId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size
     ) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Message> messages = messageService.getMessagesByRequestId(requestId, pageable);
+        Page<ChatMessageEvent> messages = messageService.getMessagesByRequestId(requestId, pageable)
+                .map(ChatMessageEvent::fromEntity);
         return ResponseEntity.ok(messages);
     }
 
     @GetMapping("/all")
     @Operation(summary = "Get all messages", description = "Retrieve all messages for emergency request (non-paginated)")
     @PreAuthorize("hasAnyRole('ADMIN', 'DEPARTMENT_HEAD', 'DISPATCHER', 'RESCUE_TEAM', 'VICTIM')")
-    public ResponseEntity<List<Message>> getAllMessages(@RequestParam Long requestId) {
+    public ResponseEntity<byte[]> getAllMessages(@RequestParam Long requestId) {
         List<Message> messages = messageService.getAllMessagesByRequestId(requestId);
-        return ResponseEntity.ok(messages);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(chatMessagePayloads.arrayPayload(messages));
     }
 
     @PatchMapping("/{id}/read")
@@ -95,12 +105,27 @@ public class MessageController {
     @GetMapping("/by-sender")
     @Operation(summary = "Get messages by sender type", description = "Filter messages by sender type")
     @PreAuthorize("hasAnyRole('ADMIN', 'DEPARTMENT_HEAD')")
-    public ResponseEntity<List<Message>> getBySenderType(
+    public ResponseEntity<byte[]> getBySenderType(
             @RequestParam Long requestId,
             @RequestParam String senderType
     ) {
         Message.SenderType type = Message.SenderType.valueOf(senderType);
         List<Message> messages = messageService.getMessagesBySenderType(requestId, type);
-        return ResponseEntity.ok(messages);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(chatMessagePayloads.arrayPayload(messages));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search messages", description = "Ranked full-text search over chat and direct messages visible to the current user")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<MessageSearchResultDto>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Long requestId,
+            @RequestParam(defaultValue = "ALL") String scope,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        List<MessageSearchResultDto> results = searchService.search(q, requestId, scope, limit);
+        return ResponseEntity.ok(results);
     }
 }
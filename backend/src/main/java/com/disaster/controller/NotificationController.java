@@ -0,0 +1,76 @@
+package com.disaster.controller;
+
+import com.disaster.dto.NotificationEventsDto;
+import com.disaster.service.EventJournal;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST Controller for resuming the real-time notification stream
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+@Tag(name = "Notifications", description = "Notification stream resume endpoints")
+public class NotificationController {
+
+    private static final int MAX_EVENTS = 1000;
+
+    private final EventJournal journal;
+
+    @GetMapping("/events")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Replay missed events",
+            description = "Events after the given x-seq within the given x-epoch, optionally for one destination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Missed events returned"),
+            @ApiResponse(responseCode = "410", description = "Position no longer available; reload state and continue from lastSeq")
+    })
+    public ResponseEntity<NotificationEventsDto> getEventsAfter(
+            @RequestParam long after,
+            @RequestParam String epoch,
+            @RequestParam(required = false) String destination,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        long lastSeq = journal.getLastSequence();
+        Optional<List<EventJournal.Entry>> entries = journal.getEpoch().equals(epoch)
+                ? journal.readAfter(after, destination, Math.min(Math.max(limit, 1), MAX_EVENTS))
+                : Optional.empty();
+
+        if (entries.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.GONE).body(NotificationEventsDto.builder()
+                    .epoch(journal.getEpoch())
+                    .lastSeq(lastSeq)
+                    .resyncRequired(true)
+                    .events(List.of())
+                    .build());
+        }
+
+        return ResponseEntity.ok(NotificationEventsDto.builder()
+                .epoch(journal.getEpoch())
+                .lastSeq(lastSeq)
+                .events(entries.get().stream()
+                        .map(entry -> NotificationEventsDto.Event.builder()
+                                .seq(entry.getSeq())
+                                .timestamp(entry.getTimestamp())
+                                .destinations(entry.getDestinations())
+                                .payload(new String(entry.getPayload(), StandardCharsets.UTF_8))
+                                .build())
+                        .toList())
+                .build());
+    }
+}
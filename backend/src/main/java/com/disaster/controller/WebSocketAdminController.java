@@ -0,0 +1,33 @@
+package com.disaster.controller;
+
+import com.disaster.config.OutboundSessionRegistry;
+import com.disaster.dto.WebSocketSessionStatsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for WebSocket session diagnostics
+ */
+@RestController
+@RequestMapping("/api/admin/websocket")
+@RequiredArgsConstructor
+@Tag(name = "WebSocket Admin", description = "WebSocket session diagnostics endpoints")
+public class WebSocketAdminController {
+
+    private final OutboundSessionRegistry outboundSessionRegistry;
+
+    @GetMapping("/sessions")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get session queues", description = "Outbound queue statistics of open WebSocket sessions, most backed-up first")
+    public ResponseEntity<List<WebSocketSessionStatsDto>> getSessions() {
+        return ResponseEntity.ok(outboundSessionRegistry.getSessionStats());
+    }
+}
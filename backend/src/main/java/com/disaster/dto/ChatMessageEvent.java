@@ -0,0 +1,42 @@
+package com.disaster.dto;
+
+import com.disaster.entity.Message;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.Instant;
+
+/**
+ * Immutable wire representation of a chat message, used for STOMP broadcasts
+ * and the REST history endpoints instead of the JPA entity
+ */
+@Value
+@Builder
+@Jacksonized
+@JsonPropertyOrder({"id", "requestId", "content", "senderName", "senderType", "isRead", "createdAt"})
+public class ChatMessageEvent {
+    Long id;
+    Long requestId;
+    String content;
+    String senderName;
+    Message.SenderType senderType;
+    Boolean isRead;
+    Instant createdAt;
+
+    /**
+     * Convert Message entity to event without touching the lazy request association
+     */
+    public static ChatMessageEvent fromEntity(Message message) {
+        return ChatMessageEvent.builder()
+                .id(message.getId())
+                .requestId(message.getRequest() != null ? message.getRequest().getId() : null)
+                .content(message.getContent())
+                .senderName(message.getSenderName())
+                .senderType(message.getSenderType())
+                .isRead(message.getIsRead())
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+}
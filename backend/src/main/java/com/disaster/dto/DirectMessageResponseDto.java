@@ -1,6 +1,8 @@
 package com.disaster.dto;
 
+import com.disaster.entity.ArchivedDirectMessage;
 import com.disaster.entity.DirectMessage;
+import com.disaster.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -46,26 +48,10 @@ public class DirectMessageResponseDto {
             return null;
         }
         
-        UserSummaryDto senderDto = UserSummaryDto.builder()
-                .id(message.getSender().getId())
-                .username(message.getSender().getUsername())
-                .fullName(message.getSender().getFullName())
-                .role(message.getSender().getRole().toString())
-                .email(message.getSender().getEmail())
-                .build();
-        
-        UserSummaryDto recipientDto = UserSummaryDto.builder()
-                .id(message.getRecipient().getId())
-                .username(message.getRecipient().getUsername())
-                .fullName(message.getRecipient().getFullName())
-                .role(message.getRecipient().getRole().toString())
-                .email(message.getRecipient().getEmail())
-                .build();
-        
         return DirectMessageResponseDto.builder()
                 .id(message.getId())
-                .sender(senderDto)
-                .recipient(recipientDto)
+                .sender(toUserSummary(message.getSender()))
+                .recipient(toUserSummary(message.getRecipient()))
                 .content(message.getContent())
                 .isRead(message.getIsRead())
                 .readAt(message.getReadAt())
@@ -73,4 +59,34 @@ public class DirectMessageResponseDto {
                 .relatedRequestId(message.getRelatedRequest() != null ? message.getRelatedRequest().getId() : null)
                 .build();
     }
+
+    /**
+     * Convert an archived direct message to DTO
+     */
+    public static DirectMessageResponseDto fromArchived(ArchivedDirectMessage message) {
+        if (message == null) {
+            return null;
+        }
+
+        return DirectMessageResponseDto.builder()
+                .id(message.getId())
+                .sender(toUserSummary(message.getSender()))
+                .recipient(toUserSummary(message.getRecipient()))
+                .content(message.getContent())
+                .isRead(message.getIsRead())
+                .readAt(message.getReadAt())
+                .createdAt(message.getCreatedAt())
+                .relatedRequestId(message.getRelatedRequestId())
+                .build();
+    }
+
+    private static UserSummaryDto toUserSummary(User user) {
+        return UserSummaryDto.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .fullName(user.getFullName())
+                .role(user.getRole().toString())
+                .email(user.getEmail())
+                .build();
+    }
 }
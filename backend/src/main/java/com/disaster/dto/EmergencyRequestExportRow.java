@@ -0,0 +1,41 @@
+package com.disaster.dto;
+
+import com.disaster.entity.EmergencyRequest;
+import com.disaster.entity.RescueTeam;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Flat row of the request export.
+ *
+ * Filled by a JPQL constructor expression over live and history tables, so streaming
+ * an export never puts entities in the persistence context nor triggers extra selects.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmergencyRequestExportRow {
+    private Long id;
+    private String victimName;
+    private String victimPhone;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+    private RescueTeam.EmergencyType emergencyType;
+    private EmergencyRequest.RequestPriority priority;
+    private EmergencyRequest.RequestStatus status;
+    private String description;
+    private Long assignedTeamId;
+    private String assignedTeamName;
+    private String createdBy;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant assignedAt;
+    private Instant respondedAt;
+    private Instant completedAt;
+    private String resolutionNotes;
+    private Boolean archived;
+}
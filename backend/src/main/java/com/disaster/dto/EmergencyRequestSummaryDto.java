@@ -0,0 +1,75 @@
+package com.disaster.dto;
+
+import com.disaster.entity.EmergencyRequest;
+import com.disaster.entity.RescueTeam;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Row of the request list endpoints.
+ *
+ * Filled directly by a JPQL constructor expression, so a list page is one query
+ * (plus its count) instead of loading each request with its team and capabilities.
+ */
+@Data
+@NoArgsConstructor
+public class EmergencyRequestSummaryDto {
+    private Long id;
+    private String victimName;
+    private String victimPhone;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+    private RescueTeam.EmergencyType emergencyType;
+    private EmergencyRequest.RequestPriority priority;
+    private EmergencyRequest.RequestStatus status;
+    private String description;
+    private TeamSummary assignedTeam;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant assignedAt;
+    private Instant completedAt;
+
+    /**
+     * Distance from the query point, only set by nearby lookups
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceMeters;
+
+    public EmergencyRequestSummaryDto(Long id, String victimName, String victimPhone, String location,
+                                      Double latitude, Double longitude, RescueTeam.EmergencyType emergencyType,
+                                      EmergencyRequest.RequestPriority priority, EmergencyRequest.RequestStatus status,
+                                      String description, Long assignedTeamId, String assignedTeamName,
+                                      Instant createdAt, Instant updatedAt, Instant assignedAt, Instant completedAt) {
+        this.id = id;
+        this.victimName = victimName;
+        this.victimPhone = victimPhone;
+        this.location = location;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.emergencyType = emergencyType;
+        this.priority = priority;
+        this.status = status;
+        this.description = description;
+        this.assignedTeam = assignedTeamId != null ? new TeamSummary(assignedTeamId, assignedTeamName) : null;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.assignedAt = assignedAt;
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * Assigned team as shown in lists (same shape as the entity's assignedTeam.id/name)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TeamSummary {
+        private Long id;
+        private String name;
+    }
+}
@@ -0,0 +1,22 @@
+package com.disaster.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO listing the geohash cells (and their notification topics) covering an area
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GeoCellsDto {
+    private int precision;
+    private List<String> cells;
+    private List<String> newTopics;
+    private List<String> updateTopics;
+}
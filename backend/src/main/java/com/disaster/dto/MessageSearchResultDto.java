@@ -0,0 +1,28 @@
+package com.disaster.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for ranked message search results
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MessageSearchResultDto {
+    private String type; // CHAT or DIRECT
+    private Long id;
+    private Long requestId;
+    private Long senderId;
+    private Long recipientId;
+    private String senderName;
+    private String senderType;
+    private String content;
+    private Instant createdAt;
+    private Double score;
+}
@@ -0,0 +1,38 @@
+package com.disaster.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for replaying journaled notification events after a reconnect.
+ * When resyncRequired is set the requested position is gone and the client
+ * must reload its state, then continue from lastSeq.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationEventsDto {
+    private String epoch;
+    private long lastSeq;
+    private boolean resyncRequired;
+    private List<Event> events;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Event {
+        private long seq;
+        private long timestamp;
+        private List<String> destinations;
+
+        @JsonRawValue
+        private String payload;
+    }
+}
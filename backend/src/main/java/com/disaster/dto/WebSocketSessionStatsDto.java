@@ -0,0 +1,24 @@
+package com.disaster.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for per-session WebSocket outbound queue statistics
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebSocketSessionStatsDto {
+    private String sessionId;
+    private String username;
+    private int queued;
+    private int maxDepth;
+    private long sent;
+    private long droppedTyping;
+    private long conflated;
+    private long sendInProgressMs;
+}
@@ -0,0 +1,54 @@
+package com.disaster.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Read-only view of direct messages moved to the compressed archive table
+ * after their related emergency request was closed
+ */
+@Entity
+@Immutable
+@Table(name = "direct_messages_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@lombok.ToString(exclude = {"sender", "recipient"})
+public class ArchivedDirectMessage {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sender_id", nullable = false)
+    private User sender;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recipient_id", nullable = false)
+    private User recipient;
+
+    @Column(nullable = false, length = 2000)
+    private String content;
+
+    @Column(nullable = false)
+    private Boolean isRead;
+
+    @Column
+    private Instant readAt;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "related_request_id")
+    private Long relatedRequestId;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,79 @@
+package com.disaster.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Read-only view of resolved/cancelled emergency requests moved to the
+ * history table after the retention window
+ */
+@Entity
+@Immutable
+@Table(name = "emergency_requests_history")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedEmergencyRequest {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String victimName;
+
+    @Column(length = 100)
+    private String victimPhone;
+
+    @Column(nullable = false, length = 300)
+    private String location;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private RescueTeam.EmergencyType emergencyType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmergencyRequest.RequestPriority priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmergencyRequest.RequestStatus status;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(name = "assigned_team_id")
+    private Long assignedTeamId;
+
+    private Instant assignedAt;
+
+    private Instant respondedAt;
+
+    private Instant completedAt;
+
+    @Column(length = 1000)
+    private String resolutionNotes;
+
+    @Column(length = 100)
+    private String createdBy;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
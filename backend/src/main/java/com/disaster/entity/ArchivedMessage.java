@@ -0,0 +1,49 @@
+package com.disaster.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Read-only view of chat messages moved to the compressed archive table
+ * after their emergency request was closed
+ */
+@Entity
+@Immutable
+@Table(name = "messages_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedMessage {
+
+    @Id
+    private Long id;
+
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    @Column(nullable = false, length = 2000)
+    private String content;
+
+    @Column(nullable = false, length = 100)
+    private String senderName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Message.SenderType senderType;
+
+    @Column(nullable = false)
+    private Boolean isRead;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
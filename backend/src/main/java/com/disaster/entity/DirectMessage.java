@@ -32,7 +32,9 @@ import java.time.Instant;
 public class DirectMessage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "direct_messages_id")
+    @TableGenerator(name = "direct_messages_id", table = "id_generators", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "direct_messages", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
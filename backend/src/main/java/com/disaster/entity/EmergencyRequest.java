@@ -29,7 +29,7 @@ import java.util.List;
     @Index(name = "idx_created_at", columnList = "createdAt"),
     @Index(name = "idx_assigned_team", columnList = "assigned_team_id")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, RequestSearchListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,7 +38,9 @@ import java.util.List;
 public class EmergencyRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "emergency_requests_id")
+    @TableGenerator(name = "emergency_requests_id", table = "id_generators", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "emergency_requests", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Victim name is required")
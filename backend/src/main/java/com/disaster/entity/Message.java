@@ -31,7 +31,9 @@ import java.time.Instant;
 public class Message {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "messages_id")
+    @TableGenerator(name = "messages_id", table = "id_generators", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "messages", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,86 @@
+package com.disaster.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lifecycle notification written in the same transaction as the request change
+ * and relayed to the WebSocket broker after commit
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@lombok.ToString(exclude = {"payload"})
+public class NotificationOutboxEvent {
+
+    private static final String DESTINATION_SEPARATOR = "\n";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private EventType eventType;
+
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    /**
+     * Newline separated STOMP destinations
+     */
+    @Column(nullable = false, length = 1000)
+    private String destinations;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] payload;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    /**
+     * Set when the relay gave up on the event (dead letter); it no longer blocks its request
+     */
+    @Column(name = "failed_at")
+    private Instant failedAt;
+
+    /**
+     * Journal position assigned on the first relay attempt and reused by retries
+     */
+    @Column(name = "journal_epoch", length = 64)
+    private String journalEpoch;
+
+    @Column(name = "journal_seq")
+    private Long journalSeq;
+
+    public List<String> getDestinationList() {
+        return Arrays.asList(destinations.split(DESTINATION_SEPARATOR));
+    }
+
+    public static String joinDestinations(List<String> destinations) {
+        return String.join(DESTINATION_SEPARATOR, destinations);
+    }
+
+    public enum EventType {
+        REQUEST_CREATED,
+        STATUS_UPDATED,
+        TEAM_ASSIGNED
+    }
+}
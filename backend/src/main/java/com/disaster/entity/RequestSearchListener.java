@@ -0,0 +1,33 @@
+package com.disaster.entity;
+
+import com.disaster.service.RequestSearchService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener that keeps the request search index in line with request changes.
+ *
+ * Instantiated by Hibernate through Spring's bean container; the search service is looked
+ * up lazily because the listener is created while the EntityManagerFactory is built.
+ */
+public class RequestSearchListener {
+
+    private final ObjectProvider<RequestSearchService> searchService;
+
+    public RequestSearchListener(ObjectProvider<RequestSearchService> searchService) {
+        this.searchService = searchService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onRequestSaved(EmergencyRequest request) {
+        searchService.ifAvailable(service -> service.onRequestSaved(request));
+    }
+
+    @PostRemove
+    public void onRequestRemoved(EmergencyRequest request) {
+        searchService.ifAvailable(service -> service.onRequestRemoved(request.getId()));
+    }
+}
@@ -10,12 +10,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -27,9 +30,12 @@ import java.util.Set;
 @Table(name = "rescue_teams", indexes = {
     @Index(name = "idx_status", columnList = "status"),
     @Index(name = "idx_department", columnList = "department_id"),
-    @Index(name = "idx_current_request", columnList = "current_request_id")
+    @Index(name = "idx_current_request", columnList = "current_request_id"),
+    @Index(name = "idx_available_capability", columnList = "status, member_count, capability_mask")
 })
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rescue-teams")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -57,6 +63,7 @@ public class RescueTeam {
     private User user;
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rescue-team-capabilities")
     @CollectionTable(name = "team_capabilities", 
                      joinColumns = @JoinColumn(name = "team_id"))
     @Column(name = "capability")
@@ -64,6 +71,15 @@ public class RescueTeam {
     @Builder.Default
     private Set<EmergencyType> capabilities = new HashSet<>();
 
+    /**
+     * Capabilities as a bit set (see EmergencyType.bit), kept in sync with the collection
+     * so teams can be matched without joining team_capabilities
+     */
+    @JsonIgnore
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer capabilityMask = 0;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     @Builder.Default
@@ -99,6 +115,21 @@ public class RescueTeam {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Replace the capabilities and update the mask. Use this instead of modifying the
+     * set in place: collection-only changes do not trigger the entity's update callbacks.
+     */
+    public void setCapabilities(Set<EmergencyType> capabilities) {
+        this.capabilities = capabilities;
+        this.capabilityMask = EmergencyType.toMask(capabilities);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void syncCapabilityMask() {
+        capabilityMask = EmergencyType.toMask(capabilities);
+    }
+
     public enum TeamStatus {
         AVAILABLE,
         ASSIGNED,
@@ -108,13 +139,37 @@ public class RescueTeam {
         OFF_DUTY
     }
 
+    /**
+     * Emergency types with a fixed bit in rescue_teams.capability_mask.
+     * Bit positions are stored data: never reorder or reuse them.
+     */
     public enum EmergencyType {
-        FIRE,
-        MEDICAL,
-        CRIME,
-        NATURAL_DISASTER,
-        ACCIDENT,
-        RESCUE,
-        HAZMAT
+        FIRE(0),
+        MEDICAL(1),
+        CRIME(2),
+        NATURAL_DISASTER(3),
+        ACCIDENT(4),
+        RESCUE(5),
+        HAZMAT(6);
+
+        private final int bit;
+
+        EmergencyType(int position) {
+            this.bit = 1 << position;
+        }
+
+        public int bit() {
+            return bit;
+        }
+
+        public static int toMask(Collection<EmergencyType> types) {
+            int mask = 0;
+            if (types != null) {
+                for (EmergencyType type : types) {
+                    mask |= type.bit;
+                }
+            }
+            return mask;
+        }
     }
 }
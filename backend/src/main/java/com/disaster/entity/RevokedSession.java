@@ -0,0 +1,37 @@
+package com.disaster.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Login session ended by logout; its access tokens are rejected until they expire
+ */
+@Entity
+@Table(name = "revoked_sessions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedSession {
+
+    @Id
+    @Column(name = "session_id", length = 36)
+    private String sessionId;
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    @Column(name = "revoked_at", nullable = false, updatable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -1,5 +1,6 @@
 package com.disaster.entity;
 
+import com.disaster.security.UserChangeListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
@@ -26,17 +27,19 @@ import java.util.Set;
     @Index(name = "idx_email", columnList = "email"),
     @Index(name = "idx_username", columnList = "username")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserChangeListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
-@lombok.ToString(exclude = {"department", "rescueTeam"})
+@lombok.ToString(exclude = {"department", "rescueTeam", "loadedSecurityState"})
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_generators", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Username is required")
@@ -82,6 +85,30 @@ public class User {
     @Column(nullable = false)
     private Boolean accountNonLocked = true;
 
+    /**
+     * Account version embedded in issued JWTs; incremented to revoke them
+     */
+    @JsonIgnore
+    @Builder.Default
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+
+    /**
+     * Role/enabled/locked/password state as loaded, used to detect security-relevant changes
+     */
+    @JsonIgnore
+    @Transient
+    @lombok.EqualsAndHashCode.Exclude
+    private String loadedSecurityState;
+
+    /**
+     * Username as loaded, so caches keyed by the previous name can be evicted after a rename
+     */
+    @JsonIgnore
+    @Transient
+    @lombok.EqualsAndHashCode.Exclude
+    private String loadedUsername;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
@@ -90,6 +117,21 @@ public class User {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Invalidate every token issued so far
+     */
+    public void revokeTokens() {
+        tokenVersion = (tokenVersion != null ? tokenVersion : 0) + 1;
+    }
+
+    /**
+     * Fingerprint of the fields carried in, or checked for, issued tokens
+     */
+    public String securityState() {
+        return role + "|" + enabled + "|" + accountNonLocked + "|" + password + "|"
+                + (department != null ? department.getId() : null);
+    }
+
     public enum UserRole {
         ROLE_ADMIN,
         ROLE_DEPARTMENT_HEAD,
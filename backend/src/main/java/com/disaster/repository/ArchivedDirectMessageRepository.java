@@ -0,0 +1,45 @@
+package com.disaster.repository;
+
+import com.disaster.entity.ArchivedDirectMessage;
+import com.disaster.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for archived direct messages (read path only; rows are written by
+ * {@link ArchivedMessageRepository#archiveDirectMessages})
+ */
+@Repository
+public interface ArchivedDirectMessageRepository extends JpaRepository<ArchivedDirectMessage, Long> {
+
+    @Query("SELECT m FROM ArchivedDirectMessage m JOIN FETCH m.sender JOIN FETCH m.recipient WHERE " +
+           "(m.sender = :user1 AND m.recipient = :user2) OR " +
+           "(m.sender = :user2 AND m.recipient = :user1) " +
+           "ORDER BY m.createdAt ASC")
+    List<ArchivedDirectMessage> findConversation(@Param("user1") User user1, @Param("user2") User user2);
+
+    @Query("SELECT COUNT(m) FROM ArchivedDirectMessage m WHERE m.sender = :user OR m.recipient = :user")
+    long countByUser(@Param("user") User user);
+
+    /**
+     * Window of a user's archived messages, newest first, at an arbitrary row offset
+     * (the archive continues a page that started in the live table)
+     */
+    @Query(value = "SELECT * FROM direct_messages_archive WHERE sender_id = :userId OR recipient_id = :userId " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<ArchivedDirectMessage> findByUserWindow(
+            @Param("userId") Long userId,
+            @Param("offset") long offset,
+            @Param("limit") int limit
+    );
+
+    @Query("SELECT DISTINCT m.sender FROM ArchivedDirectMessage m WHERE m.recipient = :user")
+    List<User> findDistinctSendersByRecipient(@Param("user") User user);
+
+    @Query("SELECT DISTINCT m.recipient FROM ArchivedDirectMessage m WHERE m.sender = :user")
+    List<User> findDistinctRecipientsBySender(@Param("user") User user);
+}
@@ -0,0 +1,85 @@
+package com.disaster.repository;
+
+import com.disaster.dto.EmergencyRequestExportRow;
+import com.disaster.dto.EmergencyRequestSummaryDto;
+import com.disaster.entity.ArchivedEmergencyRequest;
+import com.disaster.entity.EmergencyRequest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository for emergency requests moved to the history table
+ */
+@Repository
+public interface ArchivedEmergencyRequestRepository extends JpaRepository<ArchivedEmergencyRequest, Long> {
+
+    String SUMMARY_SELECT = "SELECT new com.disaster.dto.EmergencyRequestSummaryDto(" +
+            "r.id, r.victimName, r.victimPhone, r.location, r.latitude, r.longitude, r.emergencyType, " +
+            "r.priority, r.status, r.description, t.id, t.name, r.createdAt, r.updatedAt, r.assignedAt, r.completedAt) " +
+            "FROM ArchivedEmergencyRequest r LEFT JOIN RescueTeam t ON t.id = r.assignedTeamId";
+
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT COUNT(r) FROM ArchivedEmergencyRequest r")
+    Page<EmergencyRequestSummaryDto> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE r.status IN (:statuses)",
+            countQuery = "SELECT COUNT(r) FROM ArchivedEmergencyRequest r WHERE r.status IN (:statuses)")
+    Page<EmergencyRequestSummaryDto> findSummariesByStatusIn(
+            @Param("statuses") List<EmergencyRequest.RequestStatus> statuses,
+            Pageable pageable
+    );
+
+    @Query("SELECT COUNT(r) FROM ArchivedEmergencyRequest r WHERE r.status = :status")
+    long countByStatus(@Param("status") EmergencyRequest.RequestStatus status);
+
+    /**
+     * Row counts per status, type and priority combination (status, emergencyType, priority, count)
+     */
+    @Query("SELECT r.status, r.emergencyType, r.priority, COUNT(r) FROM ArchivedEmergencyRequest r " +
+            "GROUP BY r.status, r.emergencyType, r.priority")
+    List<Object[]> countByStatusTypeAndPriority();
+
+    /**
+     * Export rows created in [from, to) (null = unbounded), streamed row by row from the
+     * MySQL driver; the stream must be consumed and closed inside a transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.disaster.dto.EmergencyRequestExportRow(" +
+            "r.id, r.victimName, r.victimPhone, r.location, r.latitude, r.longitude, r.emergencyType, " +
+            "r.priority, r.status, r.description, r.assignedTeamId, t.name, r.createdBy, r.createdAt, r.updatedAt, " +
+            "r.assignedAt, r.respondedAt, r.completedAt, r.resolutionNotes, true) " +
+            "FROM ArchivedEmergencyRequest r LEFT JOIN RescueTeam t ON t.id = r.assignedTeamId " +
+            "WHERE (:from IS NULL OR r.createdAt >= :from) AND (:to IS NULL OR r.createdAt < :to) " +
+            "ORDER BY r.id")
+    Stream<EmergencyRequestExportRow> streamExportRows(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Copy the given requests into emergency_requests_history
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "emergency_requests_history"))
+    @Query(value = "INSERT IGNORE INTO emergency_requests_history " +
+            "(id, victim_name, victim_phone, location, latitude, longitude, emergency_type, priority, status, " +
+            "description, assigned_team_id, assigned_at, responded_at, completed_at, resolution_notes, created_by, " +
+            "created_at, updated_at, archived_at) " +
+            "SELECT id, victim_name, victim_phone, location, latitude, longitude, emergency_type, priority, status, " +
+            "description, assigned_team_id, assigned_at, responded_at, completed_at, resolution_notes, created_by, " +
+            "created_at, updated_at, CURRENT_TIMESTAMP " +
+            "FROM emergency_requests WHERE id IN (:requestIds)", nativeQuery = true)
+    int archiveRequests(@Param("requestIds") List<Long> requestIds);
+}
@@ -0,0 +1,48 @@
+package com.disaster.repository;
+
+import com.disaster.entity.ArchivedMessage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for archived chat and direct messages
+ */
+@Repository
+public interface ArchivedMessageRepository extends JpaRepository<ArchivedMessage, Long> {
+
+    @Query("SELECT m FROM ArchivedMessage m WHERE m.requestId = :requestId ORDER BY m.createdAt DESC")
+    List<ArchivedMessage> findByRequestIdOrderByCreatedAtDesc(@Param("requestId") Long requestId);
+
+    @Query("SELECT COUNT(m) FROM ArchivedMessage m WHERE m.requestId = :requestId")
+    long countByRequestId(@Param("requestId") Long requestId);
+
+    /**
+     * Copy chat messages of the given requests into messages_archive
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "messages_archive"))
+    @Query(value = "INSERT IGNORE INTO messages_archive " +
+            "(id, request_id, content, sender_name, sender_type, is_read, created_at, archived_at) " +
+            "SELECT id, request_id, content, sender_name, sender_type, is_read, created_at, CURRENT_TIMESTAMP " +
+            "FROM messages WHERE request_id IN (:requestIds)", nativeQuery = true)
+    int archiveMessages(@Param("requestIds") List<Long> requestIds);
+
+    /**
+     * Copy direct messages related to the given requests into direct_messages_archive
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "direct_messages_archive"))
+    @Query(value = "INSERT IGNORE INTO direct_messages_archive " +
+            "(id, sender_id, recipient_id, content, is_read, read_at, created_at, related_request_id, archived_at) " +
+            "SELECT id, sender_id, recipient_id, content, is_read, read_at, created_at, related_request_id, CURRENT_TIMESTAMP " +
+            "FROM direct_messages WHERE related_request_id IN (:requestIds)", nativeQuery = true)
+    int archiveDirectMessages(@Param("requestIds") List<Long> requestIds);
+}
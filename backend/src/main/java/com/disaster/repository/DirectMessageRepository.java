@@ -4,11 +4,19 @@ import com.disaster.entity.DirectMessage;
 import com.disaster.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,6 +37,7 @@ public interface DirectMessageRepository extends JpaRepository<DirectMessage, Lo
     /**
      * Find all messages where user is sender or recipient
      */
+    @EntityGraph(attributePaths = {"sender", "recipient", "relatedRequest"})
     @Query("SELECT m FROM DirectMessage m WHERE m.sender = :user OR m.recipient = :user " +
            "ORDER BY m.createdAt DESC")
     Page<DirectMessage> findByUser(@Param("user") User user, Pageable pageable);
@@ -36,6 +45,7 @@ public interface DirectMessageRepository extends JpaRepository<DirectMessage, Lo
     /**
      * Find unread messages for a user
      */
+    @EntityGraph(attributePaths = {"sender", "recipient", "relatedRequest"})
     @Query("SELECT m FROM DirectMessage m WHERE m.recipient = :user AND m.isRead = false " +
            "ORDER BY m.createdAt DESC")
     List<DirectMessage> findUnreadMessages(@Param("user") User user);
@@ -67,4 +77,38 @@ public interface DirectMessageRepository extends JpaRepository<DirectMessage, Lo
      */
     @Query("SELECT DISTINCT m.recipient FROM DirectMessage m WHERE m.sender = :user")
     List<User> findDistinctRecipientsBySender(@Param("user") User user);
+
+    /**
+     * Keyset batch with sender fetched, used to rebuild the search index
+     */
+    @Query("SELECT m FROM DirectMessage m JOIN FETCH m.sender WHERE m.id > :afterId ORDER BY m.id ASC")
+    Slice<DirectMessage> findNextBatchWithSender(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Keyset batch of messages created since the given time, with sender fetched (search index sync)
+     */
+    @Query("SELECT m FROM DirectMessage m JOIN FETCH m.sender WHERE m.createdAt >= :since AND m.id > :afterId " +
+           "ORDER BY m.id ASC")
+    Slice<DirectMessage> findNextBatchWithSenderCreatedSince(@Param("afterId") Long afterId,
+                                                             @Param("since") Instant since, Pageable pageable);
+
+    /**
+     * Which of the given ids still exist (search hits of messages deleted or archived elsewhere are dropped)
+     */
+    @Query("SELECT m.id FROM DirectMessage m WHERE m.id IN (:ids)")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ids of direct messages related to the given requests (to drop them from the search index)
+     */
+    @Query("SELECT m.id FROM DirectMessage m WHERE m.relatedRequest.id IN (:requestIds)")
+    List<Long> findIdsByRelatedRequestIds(@Param("requestIds") List<Long> requestIds);
+
+    /**
+     * Delete direct messages related to the given requests (after they were archived)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "direct_messages"))
+    @Query(value = "DELETE FROM direct_messages WHERE related_request_id IN (:requestIds)", nativeQuery = true)
+    int deleteByRelatedRequestIds(@Param("requestIds") List<Long> requestIds);
 }
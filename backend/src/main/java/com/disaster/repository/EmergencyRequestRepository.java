@@ -1,16 +1,25 @@
 package com.disaster.repository;
 
+import com.disaster.dto.EmergencyRequestExportRow;
+import com.disaster.dto.EmergencyRequestSummaryDto;
 import com.disaster.entity.EmergencyRequest;
 import com.disaster.entity.RescueTeam;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository for EmergencyRequest entity with optimized queries
@@ -48,13 +57,83 @@ public interface EmergencyRequestRepository extends JpaRepository<EmergencyReque
             Pageable pageable
     );
 
+    String SUMMARY_SELECT = "SELECT new com.disaster.dto.EmergencyRequestSummaryDto(" +
+            "r.id, r.victimName, r.victimPhone, r.location, r.latitude, r.longitude, r.emergencyType, " +
+            "r.priority, r.status, r.description, t.id, t.name, r.createdAt, r.updatedAt, r.assignedAt, r.completedAt) " +
+            "FROM EmergencyRequest r LEFT JOIN r.assignedTeam t";
+
+    /**
+     * List rows of all requests in one query, without loading teams
+     */
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT COUNT(r) FROM EmergencyRequest r")
+    Page<EmergencyRequestSummaryDto> findAllSummaries(Pageable pageable);
+
+    /**
+     * List rows of requests in any of the given statuses, in one query
+     */
+    @Query(value = SUMMARY_SELECT + " WHERE r.status IN (:statuses)",
+            countQuery = "SELECT COUNT(r) FROM EmergencyRequest r WHERE r.status IN (:statuses)")
+    Page<EmergencyRequestSummaryDto> findSummariesByStatusIn(
+            @Param("statuses") List<EmergencyRequest.RequestStatus> statuses,
+            Pageable pageable
+    );
+
+    /**
+     * List rows of the given requests (order not preserved)
+     */
+    @Query(SUMMARY_SELECT + " WHERE r.id IN (:ids)")
+    List<EmergencyRequestSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ids and distances (meters) of requests within radius of a point, nearest first.
+     * The box (WKT polygon, long-lat order) around the circle is matched through the
+     * spatial index on location_point; the exact distance is checked on those candidates only.
+     */
+    @Query(value = "SELECT r.id, ST_Distance_Sphere(r.location_point, ST_SRID(POINT(:longitude, :latitude), 4326)) AS distance " +
+            "FROM emergency_requests r " +
+            "WHERE MBRContains(ST_GeomFromText(:box, 4326, 'axis-order=long-lat'), r.location_point) " +
+            "AND r.latitude IS NOT NULL AND r.status IN (:statuses) " +
+            "HAVING distance <= :radius ORDER BY distance LIMIT :limit", nativeQuery = true)
+    List<Object[]> findIdsWithinRadius(@Param("latitude") double latitude,
+                                       @Param("longitude") double longitude,
+                                       @Param("box") String box,
+                                       @Param("radius") double radiusMeters,
+                                       @Param("statuses") List<String> statuses,
+                                       @Param("limit") int limit);
+
+    /**
+     * Ids of requests inside a box (WKT polygon, long-lat order), newest first, via the spatial index
+     */
+    @Query(value = "SELECT r.id FROM emergency_requests r " +
+            "WHERE MBRContains(ST_GeomFromText(:box, 4326, 'axis-order=long-lat'), r.location_point) " +
+            "AND r.latitude IS NOT NULL AND r.status IN (:statuses) " +
+            "ORDER BY r.created_at DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsWithinBox(@Param("box") String box,
+                                @Param("statuses") List<String> statuses,
+                                @Param("limit") int limit);
+
     @Query("SELECT r FROM EmergencyRequest r WHERE r.priority = :priority AND r.status != 'RESOLVED' ORDER BY r.createdAt ASC")
     List<EmergencyRequest> findUnresolvedByPriority(
             @Param("priority") EmergencyRequest.RequestPriority priority
     );
 
-    @Query("SELECT r FROM EmergencyRequest r WHERE r.location LIKE %:location% AND r.status = 'PENDING'")
-    List<EmergencyRequest> findPendingByLocationContaining(@Param("location") String location);
+    @Query("SELECT r FROM EmergencyRequest r WHERE r.id > :afterId AND r.status IN (:statuses) ORDER BY r.id ASC")
+    Slice<EmergencyRequest> findNextBatchByStatusIn(
+            @Param("afterId") Long afterId,
+            @Param("statuses") Collection<EmergencyRequest.RequestStatus> statuses,
+            Pageable pageable
+    );
+
+    /**
+     * Requests changed since the given time, in id batches (search index sync)
+     */
+    @Query("SELECT r FROM EmergencyRequest r WHERE r.updatedAt >= :since AND r.id > :afterId ORDER BY r.id ASC")
+    Slice<EmergencyRequest> findNextBatchUpdatedSince(
+            @Param("afterId") Long afterId,
+            @Param("since") Instant since,
+            Pageable pageable
+    );
 
     @Query("SELECT COUNT(r) FROM EmergencyRequest r WHERE r.status = :status")
     long countByStatus(@Param("status") EmergencyRequest.RequestStatus status);
@@ -67,4 +146,50 @@ public interface EmergencyRequestRepository extends JpaRepository<EmergencyReque
 
     @Query("SELECT r FROM EmergencyRequest r WHERE r.createdBy = :username ORDER BY r.createdAt DESC")
     List<EmergencyRequest> findByCreatedByOrderByCreatedAtDesc(@Param("username") String username);
+
+    /**
+     * Closed requests finished before the cutoff that still have live chat or direct messages
+     */
+    @Query(value = "SELECT r.id FROM emergency_requests r " +
+            "WHERE r.status IN ('RESOLVED', 'CANCELLED') " +
+            "AND (r.completed_at < :cutoff OR (r.completed_at IS NULL AND r.updated_at < :cutoff)) " +
+            "AND (EXISTS (SELECT 1 FROM messages m WHERE m.request_id = r.id) " +
+            "OR EXISTS (SELECT 1 FROM direct_messages d WHERE d.related_request_id = r.id)) " +
+            "ORDER BY r.id LIMIT :limit", nativeQuery = true)
+    List<Long> findArchivableRequestIds(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    /**
+     * Closed requests finished before the cutoff, due to move into the history table
+     */
+    @Query(value = "SELECT r.id FROM emergency_requests r " +
+            "WHERE r.status IN ('RESOLVED', 'CANCELLED') " +
+            "AND (r.completed_at < :cutoff OR (r.completed_at IS NULL AND r.updated_at < :cutoff)) " +
+            "ORDER BY r.id LIMIT :limit", nativeQuery = true)
+    List<Long> findExpiredClosedRequestIds(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    // rescue_teams.current_request_id is cleared by ON DELETE SET NULL, so cached teams are stale too
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "emergency_requests"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "rescue_teams")
+    })
+    @Query(value = "DELETE FROM emergency_requests WHERE id IN (:requestIds)", nativeQuery = true)
+    int deleteByIds(@Param("requestIds") List<Long> requestIds);
+
+    /**
+     * Export rows created in [from, to) (null = unbounded), streamed row by row from the
+     * MySQL driver; the stream must be consumed and closed inside a transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.disaster.dto.EmergencyRequestExportRow(" +
+            "r.id, r.victimName, r.victimPhone, r.location, r.latitude, r.longitude, r.emergencyType, " +
+            "r.priority, r.status, r.description, t.id, t.name, r.createdBy, r.createdAt, r.updatedAt, " +
+            "r.assignedAt, r.respondedAt, r.completedAt, r.resolutionNotes, false) " +
+            "FROM EmergencyRequest r LEFT JOIN r.assignedTeam t " +
+            "WHERE (:from IS NULL OR r.createdAt >= :from) AND (:to IS NULL OR r.createdAt < :to) " +
+            "ORDER BY r.id")
+    Stream<EmergencyRequestExportRow> streamExportRows(@Param("from") Instant from, @Param("to") Instant to);
 }
@@ -3,11 +3,18 @@ package com.disaster.repository;
 import com.disaster.entity.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -30,4 +37,22 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
             @Param("requestId") Long requestId,
             @Param("senderType") Message.SenderType senderType
     );
+
+    @Query("SELECT m FROM Message m WHERE m.id > :afterId ORDER BY m.id ASC")
+    Slice<Message> findNextBatch(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.createdAt >= :since AND m.id > :afterId ORDER BY m.id ASC")
+    Slice<Message> findNextBatchCreatedSince(@Param("afterId") Long afterId, @Param("since") Instant since,
+                                             Pageable pageable);
+
+    @Query("SELECT m.id FROM Message m WHERE m.id IN (:ids)")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m.id FROM Message m WHERE m.request.id IN (:requestIds)")
+    List<Long> findIdsByRequestIds(@Param("requestIds") List<Long> requestIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "messages"))
+    @Query(value = "DELETE FROM messages WHERE request_id IN (:requestIds)", nativeQuery = true)
+    int deleteByRequestIds(@Param("requestIds") List<Long> requestIds);
 }
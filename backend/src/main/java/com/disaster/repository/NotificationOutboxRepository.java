@@ -0,0 +1,37 @@
+package com.disaster.repository;
+
+import com.disaster.entity.NotificationOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for the notification outbox
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEvent, Long> {
+
+    /**
+     * Lock the oldest pending (neither published nor dead-lettered) event of each request;
+     * rows locked by another relay node are skipped. Only the head of a request is eligible,
+     * so a later event of a request can never be relayed while an earlier one is still
+     * pending elsewhere.
+     */
+    @Query(value = "SELECT * FROM notification_outbox o WHERE o.published_at IS NULL AND o.failed_at IS NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM notification_outbox p WHERE p.request_id = o.request_id " +
+            "AND p.published_at IS NULL AND p.failed_at IS NULL AND p.id < o.id) " +
+            "ORDER BY o.id LIMIT :limit FOR UPDATE OF o SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutboxEvent> lockNextUnpublished(@Param("limit") int limit);
+
+    @Query("SELECT COUNT(e) FROM NotificationOutboxEvent e WHERE e.publishedAt IS NULL AND e.failedAt IS NULL")
+    long countUnpublished();
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -2,8 +2,11 @@ package com.disaster.repository;
 
 import com.disaster.entity.Department;
 import com.disaster.entity.RescueTeam;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +19,10 @@ import java.util.List;
 public interface RescueTeamRepository extends JpaRepository<RescueTeam, Long> {
 
     @Query("SELECT t FROM RescueTeam t WHERE t.status = :status")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "teams-by-status-query")
+    })
     List<RescueTeam> findByStatus(@Param("status") RescueTeam.TeamStatus status);
 
     @Query("SELECT t FROM RescueTeam t WHERE t.department.id = :departmentId")
@@ -24,15 +31,28 @@ public interface RescueTeamRepository extends JpaRepository<RescueTeam, Long> {
     @Query("SELECT t FROM RescueTeam t WHERE t.department = :department")
     List<RescueTeam> findByDepartment(@Param("department") Department department);
 
-    @Query("SELECT t FROM RescueTeam t WHERE :capability MEMBER OF t.capabilities AND t.status = 'AVAILABLE'")
-    List<RescueTeam> findAvailableByCapability(
-            @Param("capability") RescueTeam.EmergencyType capability
-    );
-
-    @Query("SELECT t FROM RescueTeam t WHERE t.status = 'AVAILABLE' AND :capability MEMBER OF t.capabilities ORDER BY t.memberCount DESC")
-    List<RescueTeam> findAvailableTeamsByCapabilityOrderBySize(
-            @Param("capability") RescueTeam.EmergencyType capability
-    );
+    /**
+     * Available teams having the capability bit (EmergencyType.bit) in capability_mask
+     */
+    @Query(value = "SELECT * FROM rescue_teams t WHERE t.status = 'AVAILABLE' " +
+            "AND (t.capability_mask & :bit) <> 0", nativeQuery = true)
+    List<RescueTeam> findAvailableByCapabilityBit(@Param("bit") int bit);
+
+    /**
+     * Available teams having the capability bit, largest first; served by idx_available_capability
+     * (status, member_count, capability_mask) without a join or filesort
+     */
+    @Query(value = "SELECT * FROM rescue_teams t WHERE t.status = 'AVAILABLE' " +
+            "AND (t.capability_mask & :bit) <> 0 ORDER BY t.member_count DESC", nativeQuery = true)
+    List<RescueTeam> findAvailableByCapabilityBitOrderBySize(@Param("bit") int bit);
+
+    default List<RescueTeam> findAvailableByCapability(RescueTeam.EmergencyType capability) {
+        return findAvailableByCapabilityBit(capability.bit());
+    }
+
+    default List<RescueTeam> findAvailableTeamsByCapabilityOrderBySize(RescueTeam.EmergencyType capability) {
+        return findAvailableByCapabilityBitOrderBySize(capability.bit());
+    }
 
     @Query("SELECT COUNT(t) FROM RescueTeam t WHERE t.status = :status")
     long countByStatus(@Param("status") RescueTeam.TeamStatus status);
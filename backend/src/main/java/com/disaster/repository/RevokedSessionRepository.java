@@ -0,0 +1,28 @@
+package com.disaster.repository;
+
+import com.disaster.entity.RevokedSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for sessions ended by logout
+ */
+@Repository
+public interface RevokedSessionRepository extends JpaRepository<RevokedSession, String> {
+
+    /**
+     * Sessions revoked since the given time whose tokens have not expired yet
+     */
+    @Query("SELECT s FROM RevokedSession s WHERE s.revokedAt >= :since AND s.expiresAt > :now")
+    List<RevokedSession> findRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedSession s WHERE s.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
@@ -2,10 +2,12 @@ package com.disaster.repository;
 
 import com.disaster.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,4 +36,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u WHERE u.enabled = true AND u.accountNonLocked = true")
     List<User> findAllActiveUsers();
+
+    /**
+     * Username and token version of users whose tokens were revoked, changed since the given time
+     */
+    @Query("SELECT u.username, u.tokenVersion FROM User u WHERE u.tokenVersion > 0 AND u.updatedAt >= :since")
+    List<Object[]> findTokenVersionsUpdatedSince(@Param("since") Instant since);
+
+    /**
+     * Replace a password hash if it still has the expected value.
+     *
+     * Bulk update: UserChangeListener does not run, so the token version is not bumped
+     * and cached principals are not evicted. Only use it to re-hash the same secret
+     * (tokens issued for it stay valid) and evict the principal cache after commit;
+     * credential changes must go through the entity so issued tokens are revoked.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.username = :username AND u.password = :oldPassword")
+    int replacePassword(@Param("username") String username,
+                        @Param("oldPassword") String oldPassword,
+                        @Param("newPassword") String newPassword);
 }
@@ -0,0 +1,22 @@
+package com.disaster.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Client IP address used to key per-client limits.
+ *
+ * Forwarded headers are applied by the container (server.forward-headers-strategy),
+ * which only honours X-Forwarded-For when the connection comes from a trusted proxy
+ * (server.tomcat.remoteip.internal-proxies). The remote address is therefore the
+ * client behind the load balancer, and a client cannot pick its own key by sending
+ * the header directly.
+ */
+public final class ClientAddress {
+
+    private ClientAddress() {
+    }
+
+    public static String of(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
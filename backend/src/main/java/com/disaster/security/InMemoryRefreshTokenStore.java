@@ -0,0 +1,106 @@
+package com.disaster.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Refresh token families held in memory (security.refresh-tokens.store=memory).
+ *
+ * Revoking a user bumps a per-user generation; families created under an older
+ * generation are rejected on their next use, so no scan over families is needed.
+ * Purging drops the generation of users that have no families left.
+ */
+@Slf4j
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+    private final Map<String, Long> userGenerations = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public InMemoryRefreshTokenStore() {
+        this(Clock.systemUTC());
+    }
+
+    InMemoryRefreshTokenStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void create(String familyId, String tokenId, String username, Instant expiresAt) {
+        families.put(familyId, new Family(username, tokenId, generation(username), expiresAt));
+    }
+
+    @Override
+    public Rotation rotate(String username, String familyId, String presentedTokenId, String newTokenId,
+                           Instant expiresAt) {
+        Rotation[] outcome = {Rotation.INVALID};
+        families.computeIfPresent(familyId, (id, family) -> {
+            if (!family.username().equals(username)) {
+                return family;
+            }
+            if (!isLive(family)) {
+                return null;
+            }
+            if (!family.currentTokenId().equals(presentedTokenId)) {
+                outcome[0] = Rotation.REUSED;
+                return null;
+            }
+            outcome[0] = Rotation.ROTATED;
+            return new Family(family.username(), newTokenId, family.generation(), expiresAt);
+        });
+        return outcome[0];
+    }
+
+    @Override
+    public void revokeFamily(String username, String familyId) {
+        families.computeIfPresent(familyId, (id, family) -> family.username().equals(username) ? null : family);
+    }
+
+    @Override
+    public void revokeUser(String username) {
+        userGenerations.merge(username, 1L, Long::sum);
+    }
+
+    /**
+     * Drop expired and revoked families, then the generations of users without families.
+     * Forgetting a generation resets it to 0; that is safe once no family created under an
+     * older generation is left, and a family created concurrently only becomes invalid.
+     */
+    public int purge() {
+        int before = families.size();
+        families.values().removeIf(family -> !isLive(family));
+
+        Set<String> usersWithFamilies = new HashSet<>();
+        families.values().forEach(family -> usersWithFamilies.add(family.username()));
+        userGenerations.forEach((username, generation) -> {
+            if (!usersWithFamilies.contains(username)) {
+                userGenerations.remove(username, generation);
+            }
+        });
+        return before - families.size();
+    }
+
+    /**
+     * Users whose revocation generation is still tracked
+     */
+    int trackedUsers() {
+        return userGenerations.size();
+    }
+
+    private boolean isLive(Family family) {
+        return family.expiresAt().isAfter(clock.instant()) && family.generation() == generation(family.username());
+    }
+
+    private long generation(String username) {
+        return userGenerations.getOrDefault(username, 0L);
+    }
+
+    private record Family(String username, String currentTokenId, long generation, Instant expiresAt) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.disaster.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,6 +29,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenDenyList denyList;
 
     @Override
     protected void doFilterInternal(
@@ -38,22 +40,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseVerifiedClaims(jwt) : null;
+            if (claims != null && JwtTokenProvider.isAccessToken(claims)) {
+                String username = claims.getSubject();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+                UserDetails userDetails = principalFromClaims(claims);
+                if (userDetails == null) {
+                    // Token issued before id/role/version claims existed
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                }
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                
-                log.debug("Set authentication for user: {}", username);
+                if (userDetails.isEnabled() && userDetails.isAccountNonLocked()) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities()
+                            );
+
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                    log.debug("Set authentication for user: {}", username);
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -62,6 +71,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Build the principal from id, role, department and account version claims without
+     * a database lookup. Tokens whose account version or session was revoked get a
+     * disabled principal.
+     *
+     * @return principal, or null if the token carries no id/role/version claims
+     */
+    private TokenPrincipal principalFromClaims(Claims claims) {
+        Long userId = claims.get(JwtTokenProvider.USER_ID_CLAIM, Long.class);
+        String role = claims.get(JwtTokenProvider.ROLE_CLAIM, String.class);
+        Integer version = claims.get(JwtTokenProvider.VERSION_CLAIM, Integer.class);
+        if (userId == null || role == null || version == null) {
+            return null;
+        }
+
+        String sessionId = claims.get(JwtTokenProvider.SESSION_CLAIM, String.class);
+        boolean revoked = denyList.isRevoked(claims.getSubject(), version)
+                || (sessionId != null && denyList.isSessionRevoked(sessionId));
+        if (revoked) {
+            log.debug("Rejected revoked token for user: {}", claims.getSubject());
+        }
+        return new TokenPrincipal(userId, claims.getSubject(), role,
+                claims.get(JwtTokenProvider.DEPARTMENT_CLAIM, Long.class), sessionId, !revoked);
+    }
+
     /**
      * Extract JWT token from Authorization header
      */
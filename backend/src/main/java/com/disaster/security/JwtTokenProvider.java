@@ -1,16 +1,23 @@
 package com.disaster.security;
 
+import com.disaster.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT Token Provider for generating and validating JWT tokens
@@ -19,14 +26,64 @@ import java.util.Date;
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String DEPARTMENT_CLAIM = "dept";
+    public static final String VERSION_CLAIM = "ver";
+    public static final String FAMILY_CLAIM = "fam";
+    public static final String SESSION_CLAIM = "sid";
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
+    private final Long jwtExpiration;
+    private final Long refreshExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration}")
-    private Long jwtExpiration;
-
-    @Value("${jwt.refresh-expiration}")
-    private Long refreshExpiration;
+    /**
+     * Verified claims keyed by SHA-256 of the token; entries never outlive the token
+     */
+    private final Cache<String, Claims> claimsCache;
+
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration}") Long jwtExpiration,
+                            @Value("${jwt.refresh-expiration}") Long refreshExpiration,
+                            @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheSize,
+                            @Value("${jwt.claims-cache.ttl-seconds:300}") long claimsCacheTtlSeconds) {
+        this.jwtExpiration = jwtExpiration;
+        this.refreshExpiration = refreshExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+
+        long maxTtlNanos = TimeUnit.SECONDS.toNanos(claimsCacheTtlSeconds);
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        Date expiration = claims.getExpiration();
+                        if (expiration == null) {
+                            return maxTtlNanos;
+                        }
+                        long remaining = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(maxTtlNanos, remaining));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
 
     /**
      * Get JWT expiration time in milliseconds
@@ -36,66 +93,100 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Generate JWT access token from Authentication
+     * Generate JWT access token carrying the user's id, role, department and account version,
+     * so requests can be authorized without loading the user
      */
-    public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateToken(userDetails.getUsername());
+    public String generateToken(User user) {
+        return generateToken(user, null);
     }
 
     /**
-     * Generate JWT access token from username
+     * Generate JWT access token for a session; sessionId is the refresh token family
+     * of the login, so logging out can revoke this session alone
      */
-    public String generateToken(String username) {
+    public String generateToken(User user, String sessionId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .subject(user.getUsername())
+                .claim(TOKEN_TYPE_CLAIM, ACCESS_TOKEN)
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(SESSION_CLAIM, sessionId)
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(DEPARTMENT_CLAIM, user.getDepartment() != null ? user.getDepartment().getId() : null)
+                .claim(VERSION_CLAIM, user.getTokenVersion() != null ? user.getTokenVersion() : 0)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS512)
                 .compact();
     }
 
     /**
-     * Generate refresh token
+     * Generate a refresh token belonging to a rotation family; the token id (jti)
+     * identifies it within the family in the RefreshTokenStore
      */
-    public String generateRefreshToken(String username) {
+    public String generateRefreshToken(String username, String familyId, String tokenId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshExpiration);
 
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .subject(username)
+                .id(tokenId)
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN)
+                .claim(FAMILY_CLAIM, familyId)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS512)
                 .compact();
     }
 
+    /**
+     * Get refresh token lifetime in milliseconds
+     */
+    public Long getRefreshExpirationMs() {
+        return refreshExpiration;
+    }
+
+    /**
+     * Whether the claims belong to a refresh token (not usable as an access token)
+     */
+    public static boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM)) || claims.get(FAMILY_CLAIM) != null;
+    }
+
+    /**
+     * Whether the claims belong to an access token. Tokens without a type claim were
+     * issued before token types existed; refresh tokens of that era look the same, so
+     * they are not accepted.
+     */
+    public static boolean isAccessToken(Claims claims) {
+        return ACCESS_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM));
+    }
+
     /**
      * Get username from JWT token
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+        return verifiedClaims(token).getSubject();
     }
 
     /**
      * Validate JWT token
      */
     public boolean validateToken(String token) {
+        return parseVerifiedClaims(token) != null;
+    }
+
+    /**
+     * Verify the token and return its claims in a single parse.
+     * Recently verified tokens are served from the claims cache.
+     *
+     * @return claims, or null if the token is invalid or expired
+     */
+    public Claims parseVerifiedClaims(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return verifiedClaims(token);
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -107,27 +198,47 @@ public class JwtTokenProvider {
         } catch (Exception ex) {
             log.error("JWT token validation error", ex);
         }
-        return false;
+        return null;
     }
 
     /**
-     * Get signing key from secret
+     * Verify the token (or take it from the cache) and return its claims
+     *
+     * @throws JwtException if the token is invalid or expired
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Claims verifiedClaims(String token) {
+        if (!StringUtils.hasText(token)) {
+            throw new IllegalArgumentException("JWT token is empty");
+        }
+
+        String key = sha256(token);
+        Claims cached = claimsCache.getIfPresent(key);
+        if (cached != null) {
+            Date expiration = cached.getExpiration();
+            if (expiration == null || expiration.after(new Date())) {
+                return cached;
+            }
+            claimsCache.invalidate(key);
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        claimsCache.put(key, claims);
+        return claims;
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
      * Get token expiration time
      */
     public Date getExpirationFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getExpiration();
+        return verifiedClaims(token).getExpiration();
     }
 }
@@ -0,0 +1,62 @@
+package com.disaster.security;
+
+import com.disaster.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process token bucket limiter (rate-limit.mode=local).
+ *
+ * Each bucket is an immutable (tokens, timestamp) pair updated with compare-and-set,
+ * so concurrent requests never block each other. Idle buckets are evicted.
+ */
+public class LocalTokenBucketRateLimiter implements RateLimiter {
+
+    private final Cache<String, AtomicReference<Bucket>> buckets;
+    private final LongSupplier nanoClock;
+
+    public LocalTokenBucketRateLimiter(long maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    LocalTokenBucketRateLimiter(long maxBuckets, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitProperties.Rule rule) {
+        double refillPerNano = rule.getRefillPerMinute() / TimeUnit.MINUTES.toNanos(1);
+        long now = nanoClock.getAsLong();
+        AtomicReference<Bucket> ref = buckets.get(key, k -> new AtomicReference<>(new Bucket(rule.getCapacity(), now)));
+
+        while (true) {
+            Bucket current = ref.get();
+            double tokens = Math.min(rule.getCapacity(),
+                    current.tokens + Math.max(0, now - current.timestamp) * refillPerNano);
+
+            if (tokens < 1) {
+                long retrySeconds = refillPerNano > 0
+                        ? (long) Math.ceil((1 - tokens) / refillPerNano / TimeUnit.SECONDS.toNanos(1))
+                        : TimeUnit.HOURS.toSeconds(1);
+                return new Decision(false, 0, Math.max(1, retrySeconds));
+            }
+
+            Bucket next = new Bucket(tokens - 1, Math.max(now, current.timestamp));
+            if (ref.compareAndSet(current, next)) {
+                return new Decision(true, (long) next.tokens, 0);
+            }
+        }
+    }
+
+    private record Bucket(double tokens, long timestamp) {
+    }
+}
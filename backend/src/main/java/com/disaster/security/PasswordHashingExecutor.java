@@ -0,0 +1,155 @@
+package com.disaster.security;
+
+import com.disaster.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded pool for password hashing (BCrypt).
+ *
+ * Hashing never runs on more than a fixed number of threads, at most queue-capacity
+ * hashes wait, and a single client can have at most max-per-client hashes in flight.
+ * Anything beyond that fails fast with {@link ServiceOverloadedException} (503 with
+ * Retry-After).
+ *
+ * The calling request thread still blocks until its hash is done, for at most
+ * wait-timeout-ms: the pool bounds the CPU spent on hashing and how many request
+ * threads can be waiting on it, it does not release the request thread.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Integer> inFlightByClient = new ConcurrentHashMap<>();
+    private final int maxPerClient;
+    private final long waitTimeoutMs;
+    private final long retryAfterSeconds;
+
+    private final Timer hashingTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedClientLimit;
+    private final Counter rejectedTimeout;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${security.password-hashing.threads:0}") int threads,
+                                   @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${security.password-hashing.max-per-client:4}") int maxPerClient,
+                                   @Value("${security.password-hashing.wait-timeout-ms:5000}") long waitTimeoutMs,
+                                   @Value("${security.password-hashing.retry-after-seconds:5}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxPerClient = maxPerClient;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashingTimer = Timer.builder("auth.password.hashing")
+                .description("Time spent hashing or verifying passwords")
+                .register(meterRegistry);
+        this.rejectedQueueFull = rejectedCounter(meterRegistry, "queue_full");
+        this.rejectedClientLimit = rejectedCounter(meterRegistry, "client_limit");
+        this.rejectedTimeout = rejectedCounter(meterRegistry, "timeout");
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a hashing task on the pool and wait for its result
+     *
+     * @param clientKey identifies the caller for fairness (client IP, see {@link ClientAddress})
+     * @throws ServiceOverloadedException if the pool, its queue or the client's share is exhausted
+     */
+    public <T> T execute(String clientKey, Supplier<T> task) {
+        Integer inFlight = inFlightByClient.merge(clientKey, 1, Integer::sum);
+        if (inFlight > maxPerClient) {
+            release(clientKey);
+            rejectedClientLimit.increment();
+            throw overloaded("Too many concurrent authentication attempts");
+        }
+
+        try {
+            Future<T> future;
+            try {
+                future = executor.submit(() -> hashingTimer.record(task));
+            } catch (RejectedExecutionException e) {
+                rejectedQueueFull.increment();
+                throw overloaded("Authentication service is busy");
+            }
+
+            try {
+                return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                rejectedTimeout.increment();
+                throw overloaded("Authentication service is busy");
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw overloaded("Authentication interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException("Password hashing failed", e.getCause());
+            }
+        } finally {
+            release(clientKey);
+        }
+    }
+
+    /**
+     * Hashes currently waiting for a worker
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void release(String clientKey) {
+        inFlightByClient.computeIfPresent(clientKey, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private ServiceOverloadedException overloaded(String message) {
+        return new ServiceOverloadedException(message, retryAfterSeconds);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.password.rejected")
+                .tag("reason", reason)
+                .description("Password hashing requests shed under load")
+                .register(meterRegistry);
+    }
+}
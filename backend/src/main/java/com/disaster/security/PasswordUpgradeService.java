@@ -0,0 +1,198 @@
+package com.disaster.security;
+
+import com.disaster.config.DelegatingPasswordEncoder;
+import com.disaster.entity.User;
+import com.disaster.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-hashes passwords after a successful login when the stored hash is plain text
+ * or was made with a different BCrypt cost than the current target.
+ *
+ * Victim accounts (created in bulk during an incident, protected by short-lived
+ * credentials) use a cheaper work factor than staff accounts. Re-hashing runs on a
+ * background thread; if its queue is full the upgrade simply happens on a later login.
+ */
+@Service
+@Slf4j
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+
+    private static final String BENCHMARK_PASSWORD = "benchmark-Password-123";
+
+    private final UserRepository userRepository;
+    private final ObjectProvider<PrincipalCache> principalCache;
+    private final TransactionTemplate transaction;
+    private final int staffCost;
+    private final int victimCost;
+    private final long targetHashMs;
+    private final Map<Integer, BCryptPasswordEncoder> encoders = new ConcurrentHashMap<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+
+    public PasswordUpgradeService(UserRepository userRepository,
+                                  ObjectProvider<PrincipalCache> principalCache,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${security.password.bcrypt-cost:12}") int staffCost,
+                                  @Value("${security.password.victim-bcrypt-cost:10}") int victimCost,
+                                  @Value("${security.password.target-hash-ms:250}") long targetHashMs,
+                                  @Value("${security.password.rehash-queue-capacity:1000}") int queueCapacity) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.staffCost = staffCost;
+        this.victimCost = victimCost;
+        this.targetHashMs = targetHashMs;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "password-rehash");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    /**
+     * Target BCrypt cost for an account
+     */
+    public int targetCost(UserDetails user) {
+        boolean victim = user.getAuthorities().stream()
+                .anyMatch(authority -> User.UserRole.ROLE_VICTIM.name().equals(authority.getAuthority()));
+        return victim ? victimCost : staffCost;
+    }
+
+    /**
+     * Whether the account's stored password should be re-hashed
+     */
+    public boolean needsUpgrade(UserDetails user) {
+        return DelegatingPasswordEncoder.upgradeEncoding(user.getPassword(), targetCost(user));
+    }
+
+    /**
+     * Hash a new password at the target cost of the role (victim accounts are created at
+     * the victim cost, so their first login does not trigger a re-hash)
+     */
+    public String encode(CharSequence rawPassword, User.UserRole role) {
+        return encoder(role == User.UserRole.ROLE_VICTIM ? victimCost : staffCost).encode(rawPassword);
+    }
+
+    /**
+     * Queue a re-hash of the verified raw password if the stored hash is outdated.
+     *
+     * Everything the task needs is copied first: ProviderManager erases the credentials
+     * of the UserDetails right after authentication, before the task runs.
+     */
+    public void upgradeIfNeeded(UserDetails user, String rawPassword) {
+        if (rawPassword == null || !needsUpgrade(user) || !pending.add(user.getUsername())) {
+            return;
+        }
+
+        String username = user.getUsername();
+        String currentHash = user.getPassword();
+        int cost = targetCost(user);
+        try {
+            executor.execute(() -> {
+                try {
+                    replacePassword(username, currentHash, encoder(cost).encode(rawPassword));
+                } catch (RuntimeException e) {
+                    log.warn("Password re-hash failed for {}: {}", username, e.getMessage());
+                } finally {
+                    pending.remove(username);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(username);
+            log.debug("Password re-hash queue full, deferring upgrade for {}", username);
+        }
+    }
+
+    /**
+     * Queue a re-hash for a user entity whose raw password was just verified
+     */
+    public void upgradeIfNeeded(User user, String rawPassword) {
+        upgradeIfNeeded(org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
+                .password(user.getPassword())
+                .authorities(user.getRole().name())
+                .build(), rawPassword);
+    }
+
+    /**
+     * Store the new hash, unless the password was changed since the user was loaded
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        replacePassword(user.getUsername(), user.getPassword(), newPassword);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
+    private void replacePassword(String username, String currentHash, String newPassword) {
+        if (currentHash == null) {
+            return;
+        }
+        Integer updated = transaction.execute(status ->
+                userRepository.replacePassword(username, currentHash, newPassword));
+        if (updated != null && updated > 0) {
+            // Bulk update bypasses UserChangeListener; same secret, so tokens stay valid
+            principalCache.ifAvailable(cache -> cache.invalidate(username));
+            log.info("Re-hashed password for {} (cost {})", username,
+                    DelegatingPasswordEncoder.bcryptCost(newPassword));
+        }
+    }
+
+    /**
+     * Measure the configured work factors on this host so the CPU cost per login is a
+     * deliberate choice rather than a guess
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void benchmarkCosts() {
+        executor.execute(() -> {
+            for (int cost : Set.of(staffCost, victimCost)) {
+                long millis = benchmark(cost);
+                if (millis > targetHashMs) {
+                    log.warn("BCrypt cost {} takes {} ms per hash, above the {} ms target", cost, millis, targetHashMs);
+                } else {
+                    log.info("BCrypt cost {} takes {} ms per hash", cost, millis);
+                }
+            }
+        });
+    }
+
+    /**
+     * Milliseconds for one hash at the given cost
+     */
+    public long benchmark(int cost) {
+        BCryptPasswordEncoder encoder = encoder(cost);
+        long started = System.nanoTime();
+        encoder.encode(BENCHMARK_PASSWORD);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private BCryptPasswordEncoder encoder(int cost) {
+        return encoders.computeIfAbsent(cost, BCryptPasswordEncoder::new);
+    }
+}
@@ -0,0 +1,68 @@
+package com.disaster.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded TTL cache of resolved principals.
+ *
+ * Keeps reconnect storms (every client re-sending CONNECT after a restart) from
+ * turning into one user query per connection. Entries hold no password and are
+ * invalidated by {@link UserChangeListener} whenever a user row changes.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(UserDetailsService userDetailsService,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Get the principal for a username, loading it on a miss
+     */
+    public UserDetails get(String username) {
+        return principals.get(username, this::load);
+    }
+
+    /**
+     * Drop a cached principal (user updated or deleted)
+     */
+    public void invalidate(String username) {
+        if (username != null) {
+            principals.invalidate(username);
+            log.debug("Invalidated cached principal for {}", username);
+        }
+    }
+
+    /**
+     * Drop every cached principal
+     */
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+
+    private UserDetails load(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return User.withUserDetails(userDetails)
+                .password("")
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.disaster.security;
+
+import com.disaster.config.RateLimitProperties;
+import com.disaster.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+
+/**
+ * Applies per-endpoint token bucket limits ahead of JWT authentication.
+ *
+ * Requests are keyed by client IP or, for rules with key DEVICE, by the device
+ * header (falling back to IP). Such rules may set a larger per-IP bucket: requests
+ * with a device header are counted against both, so minting new device ids does
+ * not reset the limit, and requests without one are counted against the per-IP
+ * bucket only, so clients behind a shared IP are not held to a single device's limit. Requests presenting a trusted partner key bypass the limiter. Rejected
+ * requests get 429 with Retry-After.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_DEVICE_ID_LENGTH = 64;
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RateLimitProperties.Rule rule = properties.isEnabled() ? matchRule(request) : null;
+        if (rule == null || isPartner(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String ip = ClientAddress.of(request);
+        String deviceId = rule.getKey() == RateLimitProperties.KeyType.DEVICE ? deviceId(request) : null;
+        boolean sharedIpBucket = rule.getKey() == RateLimitProperties.KeyType.DEVICE && rule.getIpCapacity() > 0;
+        String ipKey = rule.getName() + (sharedIpBucket ? "-ip:" : ":ip:") + ip;
+        String key = deviceId != null ? rule.getName() + ":device:" + deviceId : ipKey;
+
+        RateLimiter.Decision decision;
+        if (sharedIpBucket && deviceId != null) {
+            decision = tryAcquireBoth(ipKey, rule.ipLimit(), key, rule);
+        } else if (sharedIpBucket) {
+            decision = rateLimiter.tryAcquire(ipKey, rule.ipLimit());
+        } else {
+            decision = rateLimiter.tryAcquire(key, rule);
+        }
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+
+        if (decision.isAllowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.warn("Rate limit {} exceeded for {}", rule.getName(), key);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                Instant.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Rate limit exceeded, retry in " + decision.getRetryAfterSeconds() + " seconds",
+                request.getRequestURI()
+        ));
+    }
+
+    private RateLimitProperties.Rule matchRule(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (StringUtils.hasText(rule.getMethod()) && !rule.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            for (String pattern : rule.getPaths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return rule;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isPartner(HttpServletRequest request) {
+        String presented = request.getHeader(properties.getPartnerKeyHeader());
+        if (!StringUtils.hasText(presented)) {
+            return false;
+        }
+        byte[] presentedBytes = presented.getBytes(StandardCharsets.UTF_8);
+        for (String partnerKey : properties.getPartnerKeys()) {
+            if (StringUtils.hasText(partnerKey)
+                    && MessageDigest.isEqual(presentedBytes, partnerKey.getBytes(StandardCharsets.UTF_8))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Take a token from the per-IP bucket, then from the device bucket; the request
+     * passes only if both allow it
+     */
+    private RateLimiter.Decision tryAcquireBoth(String ipKey, RateLimitProperties.Rule ipRule,
+                                                String deviceKey, RateLimitProperties.Rule deviceRule) {
+        RateLimiter.Decision ipDecision = rateLimiter.tryAcquire(ipKey, ipRule);
+        if (!ipDecision.isAllowed()) {
+            return ipDecision;
+        }
+        RateLimiter.Decision deviceDecision = rateLimiter.tryAcquire(deviceKey, deviceRule);
+        if (!deviceDecision.isAllowed()) {
+            return deviceDecision;
+        }
+        return new RateLimiter.Decision(true, Math.min(ipDecision.getRemaining(), deviceDecision.getRemaining()), 0);
+    }
+
+    private String deviceId(HttpServletRequest request) {
+        String deviceId = request.getHeader(properties.getDeviceHeader());
+        if (StringUtils.hasText(deviceId) && deviceId.length() <= MAX_DEVICE_ID_LENGTH) {
+            return deviceId.trim();
+        }
+        return null;
+    }
+}
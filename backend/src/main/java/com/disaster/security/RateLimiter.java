@@ -0,0 +1,24 @@
+package com.disaster.security;
+
+import com.disaster.config.RateLimitProperties;
+
+/**
+ * Token bucket rate limiter
+ */
+public interface RateLimiter {
+
+    /**
+     * Take one token from the bucket identified by key
+     */
+    Decision tryAcquire(String key, RateLimitProperties.Rule rule);
+
+    /**
+     * Outcome of a rate limit check
+     */
+    @lombok.Value
+    class Decision {
+        boolean allowed;
+        long remaining;
+        long retryAfterSeconds;
+    }
+}
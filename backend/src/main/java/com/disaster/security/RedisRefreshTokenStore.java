@@ -0,0 +1,91 @@
+package com.disaster.security;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Refresh token families stored in Redis (security.refresh-tokens.store=redis), shared by all nodes.
+ *
+ * Each family is a hash with the current token id and the user's generation at
+ * creation; revoking a user increments the generation key. Rotation runs as one
+ * Lua script so two nodes can never both accept the same token. A user's family
+ * and generation keys share the {username} hash tag, so the script only touches
+ * keys of one cluster slot and receives all of them in KEYS.
+ */
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String KEY_PREFIX = "disaster:refresh:{";
+
+    private static final RedisScript<String> ROTATE = new DefaultRedisScript<>("""
+            local family = redis.call('HMGET', KEYS[1], 'current', 'gen')
+            if not family[1] then
+              return 'INVALID'
+            end
+            local gen = redis.call('GET', KEYS[2]) or '0'
+            if gen ~= family[2] then
+              redis.call('DEL', KEYS[1])
+              return 'INVALID'
+            end
+            if family[1] ~= ARGV[1] then
+              redis.call('DEL', KEYS[1])
+              return 'REUSED'
+            end
+            redis.call('HSET', KEYS[1], 'current', ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 'ROTATED'
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void create(String familyId, String tokenId, String username, Instant expiresAt) {
+        String generation = redisTemplate.opsForValue().get(generationKey(username));
+        String key = familyKey(username, familyId);
+        redisTemplate.opsForHash().putAll(key, Map.of(
+                "current", tokenId,
+                "gen", generation != null ? generation : "0"));
+        redisTemplate.expire(key, ttl(expiresAt));
+    }
+
+    @Override
+    public Rotation rotate(String username, String familyId, String presentedTokenId, String newTokenId,
+                           Instant expiresAt) {
+        String result = redisTemplate.execute(ROTATE,
+                List.of(familyKey(username, familyId), generationKey(username)),
+                presentedTokenId, newTokenId, String.valueOf(ttl(expiresAt).toMillis()));
+        return result != null ? Rotation.valueOf(result) : Rotation.INVALID;
+    }
+
+    @Override
+    public void revokeFamily(String username, String familyId) {
+        redisTemplate.delete(familyKey(username, familyId));
+    }
+
+    @Override
+    public void revokeUser(String username) {
+        redisTemplate.opsForValue().increment(generationKey(username));
+    }
+
+    private static String familyKey(String username, String familyId) {
+        return KEY_PREFIX + username + "}:family:" + familyId;
+    }
+
+    private static String generationKey(String username) {
+        return KEY_PREFIX + username + "}:gen";
+    }
+
+    private static Duration ttl(Instant expiresAt) {
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        return ttl.isNegative() || ttl.isZero() ? Duration.ofSeconds(1) : ttl;
+    }
+}
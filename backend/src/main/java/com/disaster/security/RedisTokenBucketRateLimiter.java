@@ -0,0 +1,75 @@
+package com.disaster.security;
+
+import com.disaster.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Token bucket limiter shared by all nodes (rate-limit.mode=redis).
+ *
+ * The refill-and-take step runs as one Lua script, so it is atomic across nodes.
+ * If Redis is unavailable the check falls back to the local limiter rather than
+ * rejecting emergency traffic.
+ */
+@Slf4j
+public class RedisTokenBucketRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "disaster:ratelimit:";
+
+    private static final RedisScript<List> TOKEN_BUCKET = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local refill_per_ms = tonumber(ARGV[2])
+            local now = tonumber(ARGV[3])
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+            local allowed = 0
+            local retry_ms = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            elseif refill_per_ms > 0 then
+              retry_ms = math.ceil((1 - tokens) / refill_per_ms)
+            else
+              retry_ms = 3600000
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(math.max(now, ts)))
+            local ttl = refill_per_ms > 0 and math.ceil(capacity / refill_per_ms) or 3600000
+            redis.call('PEXPIRE', KEYS[1], ttl + 1000)
+            return {allowed, math.floor(tokens), retry_ms}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimiter fallback;
+
+    public RedisTokenBucketRateLimiter(StringRedisTemplate redisTemplate, RateLimiter fallback) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitProperties.Rule rule) {
+        try {
+            List<?> result = redisTemplate.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + key),
+                    String.valueOf(rule.getCapacity()),
+                    String.valueOf(rule.getRefillPerMinute() / 60_000d),
+                    String.valueOf(System.currentTimeMillis()));
+            if (result == null || result.size() < 3) {
+                return fallback.tryAcquire(key, rule);
+            }
+
+            boolean allowed = ((Number) result.get(0)).longValue() == 1;
+            long remaining = ((Number) result.get(1)).longValue();
+            long retryMs = ((Number) result.get(2)).longValue();
+            return new Decision(allowed, remaining, allowed ? 0 : Math.max(1, (retryMs + 999) / 1000));
+        } catch (RuntimeException e) {
+            log.warn("Redis rate limiter unavailable, using local buckets: {}", e.getMessage());
+            return fallback.tryAcquire(key, rule);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.disaster.security;
+
+import java.time.Instant;
+
+/**
+ * Server-side state for refresh token families.
+ *
+ * Every login starts a family; each refresh rotates it to a new token id and the
+ * previous id becomes invalid. Presenting an old id again means the token was
+ * copied, so the whole family is revoked. All operations are constant-time lookups
+ * by username and family id.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Start a new family whose current token is tokenId
+     */
+    void create(String familyId, String tokenId, String username, Instant expiresAt);
+
+    /**
+     * Replace the family's current token if presentedTokenId is still current;
+     * a family that does not belong to username is INVALID
+     */
+    Rotation rotate(String username, String familyId, String presentedTokenId, String newTokenId, Instant expiresAt);
+
+    /**
+     * Revoke one family (one device/session) of the user
+     */
+    void revokeFamily(String username, String familyId);
+
+    /**
+     * Revoke every family of the user
+     */
+    void revokeUser(String username);
+
+    enum Rotation {
+        /**
+         * Token was current and has been replaced
+         */
+        ROTATED,
+        /**
+         * Token was already rotated away; the family is now revoked
+         */
+        REUSED,
+        /**
+         * Unknown, expired or revoked family
+         */
+        INVALID
+    }
+}
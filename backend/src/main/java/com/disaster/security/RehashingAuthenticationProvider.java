@@ -0,0 +1,26 @@
+package com.disaster.security;
+
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * DaoAuthenticationProvider that hands password upgrades to {@link PasswordUpgradeService}
+ * instead of re-encoding inline, so a successful login never pays for a second hash
+ */
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final PasswordUpgradeService passwordUpgradeService;
+
+    public RehashingAuthenticationProvider(PasswordUpgradeService passwordUpgradeService) {
+        this.passwordUpgradeService = passwordUpgradeService;
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        Object credentials = authentication.getCredentials();
+        passwordUpgradeService.upgradeIfNeeded(user, credentials != null ? credentials.toString() : null);
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+}
@@ -0,0 +1,127 @@
+package com.disaster.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory deny list for JWTs, keyed on the account version carried in the token.
+ *
+ * A token for user U issued at version v is revoked when U's minimum valid version
+ * is greater than v. Almost every user has never had a revocation, so a Bloom filter
+ * over revoked usernames answers the common case without touching the exact map.
+ *
+ * Single sessions (one login, logged out) are revoked by session id until the
+ * session's access tokens expire.
+ */
+@Component
+public class TokenDenyList {
+
+    private static final int HASH_FUNCTIONS = 4;
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final Map<String, Integer> minimumVersions = new ConcurrentHashMap<>();
+    private final Map<String, Instant> revokedSessions = new ConcurrentHashMap<>();
+
+    public TokenDenyList(@Value("${security.token-deny-list.expected-users:100000}") int expectedUsers) {
+        // ~10 bits per entry keeps false positives around 1% with 4 hash functions
+        this.bitCount = Math.max(64, expectedUsers * 10);
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    /**
+     * Revoke every token of the user issued for a version below minimumVersion
+     */
+    public void revokeBelow(String username, int minimumVersion) {
+        minimumVersions.merge(username, minimumVersion, Math::max);
+        long[] hashes = hashes(username);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = bitIndex(hashes, i);
+            bits.getAndUpdate(bit >>> 6, word -> word | (1L << (bit & 63)));
+        }
+    }
+
+    /**
+     * Revoke every token of the user (account deleted)
+     */
+    public void revokeAll(String username) {
+        revokeBelow(username, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Whether a token issued for the given account version is no longer valid
+     */
+    public boolean isRevoked(String username, int version) {
+        if (!mightContain(username)) {
+            return false;
+        }
+        Integer minimum = minimumVersions.get(username);
+        return minimum != null && version < minimum;
+    }
+
+    /**
+     * Revoke the tokens of one session until they expire
+     */
+    public void revokeSession(String sessionId, Instant expiresAt) {
+        revokedSessions.merge(sessionId, expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    /**
+     * Whether the session was logged out
+     */
+    public boolean isSessionRevoked(String sessionId) {
+        if (revokedSessions.isEmpty()) {
+            return false;
+        }
+        Instant expiresAt = revokedSessions.get(sessionId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    /**
+     * Forget revoked sessions whose tokens have expired
+     */
+    public void pruneSessions(Instant now) {
+        revokedSessions.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    /**
+     * Number of users with revoked tokens
+     */
+    public int size() {
+        return minimumVersions.size();
+    }
+
+    private boolean mightContain(String username) {
+        long[] hashes = hashes(username);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = bitIndex(hashes, i);
+            if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int bitIndex(long[] hashes, int i) {
+        return (int) Math.floorMod(hashes[0] + i * hashes[1], (long) bitCount);
+    }
+
+    /**
+     * Two independent 64-bit FNV-1a style hashes, combined by double hashing
+     */
+    private static long[] hashes(String username) {
+        long h1 = 0xcbf29ce484222325L;
+        long h2 = 0x84222325cbf29ce4L;
+        for (byte b : username.getBytes(StandardCharsets.UTF_8)) {
+            h1 = (h1 ^ (b & 0xff)) * 0x100000001b3L;
+            h2 = (h2 ^ (b & 0xff)) * 0x9e3779b97f4a7c15L;
+        }
+        return new long[]{h1, h2 | 1};
+    }
+}
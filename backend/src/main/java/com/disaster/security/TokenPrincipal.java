@@ -0,0 +1,80 @@
+package com.disaster.security;
+
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Principal built from the claims of an access token.
+ *
+ * Carries the user id, role, department and session of the token, so request
+ * handling can identify the caller without loading the user.
+ */
+@Getter
+public class TokenPrincipal implements UserDetails {
+
+    private final Long userId;
+    private final String username;
+    private final String role;
+    private final Long departmentId;
+    private final String sessionId;
+    private final boolean enabled;
+
+    public TokenPrincipal(Long userId, String username, String role, Long departmentId,
+                          String sessionId, boolean enabled) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.departmentId = departmentId;
+        this.sessionId = sessionId;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Principal of the current request, if it was authenticated from token claims
+     */
+    public static Optional<TokenPrincipal> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof TokenPrincipal principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
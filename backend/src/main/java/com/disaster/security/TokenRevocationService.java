@@ -0,0 +1,71 @@
+package com.disaster.security;
+
+import com.disaster.entity.RevokedSession;
+import com.disaster.repository.RevokedSessionRepository;
+import com.disaster.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keeps the {@link TokenDenyList} in line with users.token_version and revoked_sessions.
+ *
+ * Local changes are applied immediately by {@link UserChangeListener} and on logout;
+ * this service loads existing revocations at startup and periodically picks up
+ * versions bumped and sessions logged out on other nodes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final UserRepository userRepository;
+    private final RevokedSessionRepository revokedSessionRepository;
+    private final TokenDenyList denyList;
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.token-deny-list.sync-interval-ms:30000}",
+            initialDelayString = "${security.token-deny-list.sync-interval-ms:30000}")
+    @Transactional(readOnly = true)
+    public void syncRevocations() {
+        // Overlap the previous window a little so rows committed late are not missed
+        Instant since = lastSync.minusSeconds(60);
+        Instant started = Instant.now();
+
+        List<Object[]> versions = userRepository.findTokenVersionsUpdatedSince(since);
+        for (Object[] row : versions) {
+            denyList.revokeBelow((String) row[0], ((Number) row[1]).intValue());
+        }
+        List<RevokedSession> sessions = revokedSessionRepository.findRevokedSince(since, started);
+        for (RevokedSession session : sessions) {
+            denyList.revokeSession(session.getSessionId(), session.getExpiresAt());
+        }
+        denyList.pruneSessions(started);
+        lastSync = started;
+
+        if (!versions.isEmpty() || !sessions.isEmpty()) {
+            log.debug("Synced token versions for {} users and {} revoked sessions", versions.size(), sessions.size());
+        }
+    }
+
+    /**
+     * Delete revoked sessions whose tokens have expired
+     */
+    @Scheduled(fixedDelayString = "${security.token-deny-list.session-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpiredSessions() {
+        int deleted = revokedSessionRepository.deleteExpiredBefore(Instant.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired revoked sessions", deleted);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.disaster.security;
+
+import com.disaster.entity.User;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+
+/**
+ * JPA entity listener that keeps security caches in line with user changes.
+ *
+ * - evicts cached principals when a user changes (role, enabled/locked flags, password, username,
+ *   deletion); eviction runs after commit so a concurrent load cannot re-cache the old row
+ * - bumps the token version when role, flags, password or department change, so
+ *   tokens carrying the old claims stop being accepted
+ * - revokes all refresh token families when a user is disabled, locked or deleted
+ *
+ * Instantiated by Hibernate through Spring's bean container; the caches are looked up
+ * lazily because the listener is created while the EntityManagerFactory is built.
+ */
+public class UserChangeListener {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+    private final ObjectProvider<TokenDenyList> denyList;
+    private final ObjectProvider<RefreshTokenStore> refreshTokens;
+
+    public UserChangeListener(ObjectProvider<PrincipalCache> principalCache,
+                              ObjectProvider<TokenDenyList> denyList,
+                              ObjectProvider<RefreshTokenStore> refreshTokens) {
+        this.principalCache = principalCache;
+        this.denyList = denyList;
+        this.refreshTokens = refreshTokens;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void onUserLoaded(User user) {
+        user.setLoadedSecurityState(user.securityState());
+        user.setLoadedUsername(user.getUsername());
+    }
+
+    @PreUpdate
+    public void beforeUserUpdated(User user) {
+        if (user.getLoadedSecurityState() != null
+                && !Objects.equals(user.getLoadedSecurityState(), user.securityState())) {
+            user.revokeTokens();
+        }
+    }
+
+    @PostUpdate
+    public void onUserChanged(User user) {
+        String username = user.getUsername();
+        String previousUsername = user.getLoadedUsername();
+        boolean renamed = previousUsername != null && !previousUsername.equals(username);
+
+        evictAfterCommit(renamed ? new String[]{username, previousUsername} : new String[]{username});
+        if (user.getTokenVersion() != null && user.getTokenVersion() > 0) {
+            denyList.ifAvailable(list -> list.revokeBelow(username, user.getTokenVersion()));
+        }
+        if (!Boolean.TRUE.equals(user.getEnabled()) || !Boolean.TRUE.equals(user.getAccountNonLocked())) {
+            refreshTokens.ifAvailable(store -> store.revokeUser(username));
+        }
+        if (renamed) {
+            refreshTokens.ifAvailable(store -> store.revokeUser(previousUsername));
+        }
+        user.setLoadedSecurityState(user.securityState());
+        user.setLoadedUsername(username);
+    }
+
+    @PostRemove
+    public void onUserRemoved(User user) {
+        evictAfterCommit(user.getUsername());
+        denyList.ifAvailable(list -> list.revokeAll(user.getUsername()));
+        refreshTokens.ifAvailable(store -> store.revokeUser(user.getUsername()));
+    }
+
+    /**
+     * Drop cached principals once the change is visible to other transactions;
+     * evicting earlier lets a concurrent CONNECT reload and cache the old row
+     */
+    private void evictAfterCommit(String... usernames) {
+        Runnable evict = () -> principalCache.ifAvailable(cache -> {
+            for (String username : usernames) {
+                cache.invalidate(username);
+            }
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+}
@@ -5,15 +5,24 @@ import com.disaster.dto.LoginRequest;
 import com.disaster.dto.SignupRequest;
 import com.disaster.dto.VictimRegistrationDto;
 import com.disaster.entity.Department;
+import com.disaster.entity.RevokedSession;
 import com.disaster.entity.User;
 import com.disaster.exception.ResourceNotFoundException;
 import com.disaster.exception.UserAlreadyExistsException;
 import com.disaster.repository.DepartmentRepository;
+import com.disaster.repository.RevokedSessionRepository;
 import com.disaster.repository.UserRepository;
 import com.disaster.security.JwtTokenProvider;
+import com.disaster.security.PasswordUpgradeService;
+import com.disaster.security.RefreshTokenStore;
+import com.disaster.security.TokenDenyList;
+import com.disaster.security.TokenPrincipal;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -22,7 +31,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Service for user authentication and registration
@@ -37,6 +49,10 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final PasswordUpgradeService passwordUpgradeService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final RevokedSessionRepository revokedSessionRepository;
+    private final TokenDenyList denyList;
 
     /**
      * TEMPORARY: Control flag for password encryption
@@ -92,8 +108,9 @@ public class AuthService {
         log.info("User registered successfully: {}", savedUser.getUsername());
 
         // Generate tokens
-        String accessToken = tokenProvider.generateToken(savedUser.getUsername());
-        String refreshToken = tokenProvider.generateRefreshToken(savedUser.getUsername());
+        String sessionId = UUID.randomUUID().toString();
+        String accessToken = tokenProvider.generateToken(savedUser, sessionId);
+        String refreshToken = issueRefreshToken(savedUser.getUsername(), sessionId);
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
@@ -122,15 +139,16 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Generate tokens
-        String accessToken = tokenProvider.generateToken(authentication);
-        String refreshToken = tokenProvider.generateRefreshToken(request.getUsername());
-
         // Get user details
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "User not found: " + request.getUsername()));
 
+        // Generate tokens
+        String sessionId = UUID.randomUUID().toString();
+        String accessToken = tokenProvider.generateToken(user, sessionId);
+        String refreshToken = issueRefreshToken(request.getUsername(), sessionId);
+
         log.info("User logged in successfully: {}", user.getUsername());
 
         return AuthResponse.builder()
@@ -146,10 +164,17 @@ public class AuthService {
     }
 
     /**
-     * Get currently authenticated user
+     * Get currently authenticated user.
+     * For requests authenticated from token claims this is a reference by id: nothing is
+     * read from the database unless a field other than the id is accessed.
      */
     @Transactional(readOnly = true)
     public User getCurrentUser() {
+        Optional<TokenPrincipal> principal = TokenPrincipal.current();
+        if (principal.isPresent()) {
+            return userRepository.getReferenceById(principal.get().getUserId());
+        }
+
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
 
@@ -158,7 +183,17 @@ public class AuthService {
     }
 
     /**
-     * Refresh JWT access token
+     * Get currently authenticated user with all fields loaded, for responses that are
+     * serialized after the transaction has ended
+     */
+    @Transactional(readOnly = true)
+    public User getCurrentUserProfile() {
+        return Hibernate.unproxy(getCurrentUser(), User.class);
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and a rotated refresh token.
+     * Presenting a refresh token that was already rotated away revokes its whole family.
      */
     public AuthResponse refreshToken(String refreshToken) {
         // Validate refresh token
@@ -166,16 +201,38 @@ public class AuthService {
             throw new IllegalArgumentException("Invalid refresh token");
         }
 
-        String username = tokenProvider.getUsernameFromToken(refreshToken);
+        Claims claims = tokenProvider.parseVerifiedClaims(refreshToken);
+        if (claims == null || !JwtTokenProvider.isRefreshToken(claims) || claims.getId() == null) {
+            // Access tokens and refresh tokens issued before rotation are not accepted
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
+        String username = claims.getSubject();
+        String familyId = claims.get(JwtTokenProvider.FAMILY_CLAIM, String.class);
+        String newTokenId = UUID.randomUUID().toString();
+
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(
+                username, familyId, claims.getId(), newTokenId, refreshExpiresAt());
+        if (rotation == RefreshTokenStore.Rotation.REUSED) {
+            log.warn("Refresh token reuse detected for user {}, session revoked", username);
+        }
+        if (rotation != RefreshTokenStore.Rotation.ROTATED) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+        if (!Boolean.TRUE.equals(user.getEnabled()) || !Boolean.TRUE.equals(user.getAccountNonLocked())) {
+            refreshTokenStore.revokeFamily(username, familyId);
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
 
         // Generate new access token
-        String newAccessToken = tokenProvider.generateToken(username);
+        String newAccessToken = tokenProvider.generateToken(user, familyId);
 
         return AuthResponse.builder()
                 .accessToken(newAccessToken)
-                .refreshToken(refreshToken) // Keep same refresh token
+                .refreshToken(tokenProvider.generateRefreshToken(username, familyId, newTokenId))
                 .tokenType("Bearer")
                 .username(user.getUsername())
                 .email(user.getEmail())
@@ -185,6 +242,55 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Log out the current session: its refresh token family and access tokens are
+     * revoked, the user's other devices stay signed in
+     */
+    @Transactional
+    public void logout() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return;
+        }
+
+        String sessionId = TokenPrincipal.current().map(TokenPrincipal::getSessionId).orElse(null);
+        if (sessionId == null) {
+            // Token issued before session ids existed: only an account version bump can revoke it
+            User user = getCurrentUser();
+            user.revokeTokens();
+            userRepository.save(user);
+            refreshTokenStore.revokeUser(user.getUsername());
+            log.info("Revoked tokens of user: {}", user.getUsername());
+            return;
+        }
+
+        Instant expiresAt = Instant.now().plusMillis(tokenProvider.getJwtExpirationMs());
+        refreshTokenStore.revokeFamily(authentication.getName(), sessionId);
+        revokedSessionRepository.save(RevokedSession.builder()
+                .sessionId(sessionId)
+                .username(authentication.getName())
+                .revokedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build());
+        denyList.revokeSession(sessionId, expiresAt);
+        log.info("Logged out session of user: {}", authentication.getName());
+    }
+
+    /**
+     * Start a new refresh token family (one per login/session); the family id is
+     * also the session id carried by the session's access tokens
+     */
+    private String issueRefreshToken(String username, String familyId) {
+        String tokenId = UUID.randomUUID().toString();
+        refreshTokenStore.create(familyId, tokenId, username, refreshExpiresAt());
+        return tokenProvider.generateRefreshToken(username, familyId, tokenId);
+    }
+
+    private Instant refreshExpiresAt() {
+        return Instant.now().plusMillis(tokenProvider.getRefreshExpirationMs());
+    }
+
     /**
      * Get all employees/users
      */
@@ -225,7 +331,7 @@ public class AuthService {
         // TEMPORARY: Conditional password encoding based on security.password-encryption-enabled
         // BUG: BCrypt encoding is currently broken, using plain text for development
         String encodedPassword = passwordEncryptionEnabled 
-            ? passwordEncoder.encode(request.getPassword()) // BCrypt (when fixed)
+            ? passwordUpgradeService.encode(request.getPassword(), User.UserRole.ROLE_VICTIM) // BCrypt at the victim cost
             : request.getPassword(); // Plain text (temporary)
         
         User victim = User.builder()
@@ -243,8 +349,9 @@ public class AuthService {
         log.info("Victim registered successfully: {}", savedVictim.getUsername());
 
         // Generate tokens
-        String accessToken = tokenProvider.generateToken(savedVictim.getUsername());
-        String refreshToken = tokenProvider.generateRefreshToken(savedVictim.getUsername());
+        String sessionId = UUID.randomUUID().toString();
+        String accessToken = tokenProvider.generateToken(savedVictim, sessionId);
+        String refreshToken = issueRefreshToken(savedVictim.getUsername(), sessionId);
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
@@ -280,10 +387,12 @@ public class AuthService {
         if (!passwordMatches) {
             throw new IllegalArgumentException("Invalid credentials");
         }
+        passwordUpgradeService.upgradeIfNeeded(user, location);
         
         // Generate tokens
-        String accessToken = tokenProvider.generateToken(user.getUsername());
-        String refreshToken = tokenProvider.generateRefreshToken(user.getUsername());
+        String sessionId = UUID.randomUUID().toString();
+        String accessToken = tokenProvider.generateToken(user, sessionId);
+        String refreshToken = issueRefreshToken(user.getUsername(), sessionId);
         
         log.info("Victim login successful: {}", username);
         
@@ -0,0 +1,105 @@
+package com.disaster.service;
+
+import com.disaster.dto.ChatMessageEvent;
+import com.disaster.entity.Message;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serializes chat messages once into shared JSON byte payloads.
+ *
+ * The same byte[] is reused for every STOMP subscriber and for the REST history
+ * endpoints. Entries are evicted once a change to the message (e.g. marked as read)
+ * commits, so a concurrent read cannot cache the old state again. The cache is per
+ * node and changes made through other nodes are not evicted here, so entries also
+ * expire after expire-after-write-ms.
+ */
+@Component
+public class ChatMessagePayloads {
+
+    private final ObjectWriter writer;
+    private final Cache<Long, byte[]> payloads;
+
+    public ChatMessagePayloads(ObjectMapper objectMapper,
+                               @Value("${messages.payload-cache.max-size:10000}") long maxSize,
+                               @Value("${messages.payload-cache.expire-after-write-ms:60000}") long expireAfterWriteMs) {
+        this.writer = objectMapper.writerFor(ChatMessageEvent.class);
+        this.payloads = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .build();
+    }
+
+    /**
+     * JSON payload of a single message
+     */
+    public byte[] payload(Message message) {
+        if (message.getId() == null) {
+            return serialize(ChatMessageEvent.fromEntity(message));
+        }
+        return payloads.get(message.getId(), id -> serialize(ChatMessageEvent.fromEntity(message)));
+    }
+
+    /**
+     * JSON array of messages, assembled from the cached per-message payloads
+     */
+    public byte[] arrayPayload(List<Message> messages) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(messages.size() * 256 + 2);
+        out.write('[');
+        for (int i = 0; i < messages.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(payload(messages.get(i)));
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    /**
+     * Drop the cached payload of a changed message once the surrounding transaction commits
+     */
+    public void evict(Long messageId) {
+        afterCommit(() -> payloads.invalidate(messageId));
+    }
+
+    /**
+     * Drop the cached payloads of several changed messages once the surrounding transaction commits
+     */
+    public void evictAll(Iterable<Long> messageIds) {
+        afterCommit(() -> payloads.invalidateAll(messageIds));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private byte[] serialize(ChatMessageEvent event) {
+        try {
+            return writer.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
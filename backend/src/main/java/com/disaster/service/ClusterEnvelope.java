@@ -0,0 +1,21 @@
+package com.disaster.service;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.Map;
+
+/**
+ * Broker frame exchanged between nodes over the cluster message bus
+ */
+@Value
+@Builder
+@Jacksonized
+public class ClusterEnvelope {
+    String origin;
+    String destination;
+    String contentType;
+    byte[] payload;
+    Map<String, String> headers;
+}
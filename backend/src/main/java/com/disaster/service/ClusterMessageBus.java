@@ -0,0 +1,23 @@
+package com.disaster.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Fan-out channel between backend nodes for STOMP broadcasts.
+ *
+ * Each node publishes the frames its local broker delivers under /topic and
+ * re-injects frames received from other nodes into its own broker, so clients
+ * see the same events regardless of which node they are connected to.
+ */
+public interface ClusterMessageBus {
+
+    /**
+     * Publish a frame to every node (including, possibly, the sender)
+     */
+    void publish(ClusterEnvelope envelope);
+
+    /**
+     * Register a listener for frames published by any node
+     */
+    void subscribe(Consumer<ClusterEnvelope> listener);
+}
@@ -7,12 +7,13 @@ import com.disaster.dto.VictimDashboardDto;
 import com.disaster.entity.Department;
 import com.disaster.entity.EmergencyRequest;
 import com.disaster.entity.RescueTeam;
-import com.disaster.entity.User;
 import com.disaster.exception.ResourceNotFoundException;
+import com.disaster.repository.ArchivedEmergencyRequestRepository;
 import com.disaster.repository.DepartmentRepository;
 import com.disaster.repository.EmergencyRequestRepository;
 import com.disaster.repository.RescueTeamRepository;
 import com.disaster.repository.UserRepository;
+import com.disaster.security.TokenPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,6 +24,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -34,6 +36,7 @@ import java.util.stream.Collectors;
 public class DashboardService {
 
     private final EmergencyRequestRepository requestRepository;
+    private final ArchivedEmergencyRequestRepository archivedRequestRepository;
     private final UserRepository userRepository;
     private final RescueTeamRepository teamRepository;
     private final DepartmentRepository departmentRepository;
@@ -124,18 +127,27 @@ public class DashboardService {
                 .average()
                 .orElse(0.0);
 
+        // Archived history holds only closed requests past the retention window: it counts
+        // towards the totals, not towards recent activity or response times
+        for (Object[] row : archivedRequestRepository.countByStatusTypeAndPriority()) {
+            long count = ((Number) row[3]).longValue();
+            totalRequests += count;
+            if (row[0] == EmergencyRequest.RequestStatus.RESOLVED) {
+                resolvedRequests += count;
+            }
+            requestsByStatus.merge(row[0].toString(), count, Long::sum);
+            requestsByType.merge(row[1].toString(), count, Long::sum);
+            requestsByPriority.merge(row[2].toString(), count, Long::sum);
+        }
+
         // Calculate resolution rate
         Double resolutionRate = totalRequests > 0 
                 ? (resolvedRequests * 100.0 / totalRequests) 
                 : 0.0;
 
         // Priority counts
-        long criticalRequests = allRequests.stream()
-                .filter(r -> r.getPriority() == EmergencyRequest.RequestPriority.CRITICAL)
-                .count();
-        long highPriorityRequests = allRequests.stream()
-                .filter(r -> r.getPriority() == EmergencyRequest.RequestPriority.HIGH)
-                .count();
+        long criticalRequests = requestsByPriority.getOrDefault(EmergencyRequest.RequestPriority.CRITICAL.toString(), 0L);
+        long highPriorityRequests = requestsByPriority.getOrDefault(EmergencyRequest.RequestPriority.HIGH.toString(), 0L);
 
         return DashboardStatsDto.builder()
                 .totalRequests(totalRequests)
@@ -241,11 +253,8 @@ public class DashboardService {
     public DepartmentDashboardDto getDepartmentDashboard(String username) {
         log.info("Generating department dashboard for: {}", username);
 
-        // Get user and their department
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
-        Department department = user.getDepartment();
+        // Get the user's department
+        Department department = departmentOf(username);
         if (department == null) {
             throw new ResourceNotFoundException("User is not assigned to any department");
         }
@@ -321,4 +330,21 @@ public class DashboardService {
                 .resolutionNotes(request.getResolutionNotes())
                 .build();
     }
+
+    /**
+     * Department of the user; taken from the department claim when the request was
+     * authenticated from an access token (departments are in the second-level cache)
+     */
+    private Department departmentOf(String username) {
+        Optional<TokenPrincipal> principal = TokenPrincipal.current()
+                .filter(p -> p.getUsername().equals(username));
+        if (principal.isPresent()) {
+            Long departmentId = principal.get().getDepartmentId();
+            return departmentId != null ? departmentRepository.findById(departmentId).orElse(null) : null;
+        }
+
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"))
+                .getDepartment();
+    }
 }
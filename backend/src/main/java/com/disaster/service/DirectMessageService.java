@@ -2,16 +2,20 @@ package com.disaster.service;
 
 import com.disaster.dto.DirectMessageDto;
 import com.disaster.dto.DirectMessageResponseDto;
+import com.disaster.entity.ArchivedDirectMessage;
 import com.disaster.entity.DirectMessage;
 import com.disaster.entity.EmergencyRequest;
 import com.disaster.entity.User;
 import com.disaster.exception.ResourceNotFoundException;
+import com.disaster.repository.ArchivedDirectMessageRepository;
 import com.disaster.repository.DirectMessageRepository;
 import com.disaster.repository.EmergencyRequestRepository;
 import com.disaster.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,6 +23,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -32,8 +38,10 @@ import java.util.Set;
 public class DirectMessageService {
 
     private final DirectMessageRepository messageRepository;
+    private final ArchivedDirectMessageRepository archivedMessageRepository;
     private final UserRepository userRepository;
     private final EmergencyRequestRepository requestRepository;
+    private final MessageSearchService searchService;
 
     /**
      * Send a direct message
@@ -64,13 +72,14 @@ public class DirectMessageService {
 
         DirectMessage message = messageBuilder.build();
         DirectMessage savedMessage = messageRepository.save(message);
+        searchService.indexDirectMessage(savedMessage);
         
         log.info("Message sent from {} to {}", sender.getUsername(), recipient.getUsername());
         return DirectMessageResponseDto.fromEntity(savedMessage);
     }
 
     /**
-     * Get conversation between current user and another user
+     * Get conversation between current user and another user, including archived messages
      */
     @Transactional(readOnly = true)
     public List<DirectMessageResponseDto> getConversation(Long otherUserId) {
@@ -83,14 +92,20 @@ public class DirectMessageService {
         User otherUser = userRepository.findById(otherUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + otherUserId));
 
-        List<DirectMessage> messages = messageRepository.findConversation(currentUser, otherUser);
-        return messages.stream()
-                .map(DirectMessageResponseDto::fromEntity)
-                .toList();
+        List<DirectMessageResponseDto> messages = new ArrayList<>();
+        archivedMessageRepository.findConversation(currentUser, otherUser)
+                .forEach(m -> messages.add(DirectMessageResponseDto.fromArchived(m)));
+        messageRepository.findConversation(currentUser, otherUser)
+                .forEach(m -> messages.add(DirectMessageResponseDto.fromEntity(m)));
+        messages.sort(Comparator.comparing(DirectMessageResponseDto::getCreatedAt));
+        return messages;
     }
 
     /**
-     * Get all messages for current user
+     * Get all messages for current user.
+     * Live messages come first (newest first), followed by archived ones: those belong to
+     * requests closed long ago, and continuing into the archive by row offset keeps every
+     * page a single bounded query per table.
      */
     @Transactional(readOnly = true)
     public Page<DirectMessage> getMyMessages(Pageable pageable) {
@@ -100,7 +115,23 @@ public class DirectMessageService {
         User currentUser = userRepository.findByUsername(currentUsername)
                 .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
-        return messageRepository.findByUser(currentUser, pageable);
+        Page<DirectMessage> live = messageRepository.findByUser(currentUser, pageable);
+        long archivedTotal = archivedMessageRepository.countByUser(currentUser);
+        if (archivedTotal == 0) {
+            return live;
+        }
+
+        long total = live.getTotalElements() + archivedTotal;
+        if (live.getContent().size() == pageable.getPageSize()) {
+            return new PageImpl<>(live.getContent(), pageable, total);
+        }
+
+        long archiveOffset = Math.max(0, pageable.getOffset() - live.getTotalElements());
+        int limit = pageable.getPageSize() - live.getContent().size();
+        List<DirectMessage> content = new ArrayList<>(live.getContent());
+        archivedMessageRepository.findByUserWindow(currentUser.getId(), archiveOffset, limit)
+                .forEach(m -> content.add(fromArchived(m)));
+        return new PageImpl<>(content, pageable, total);
     }
 
     /**
@@ -241,10 +272,12 @@ public class DirectMessageService {
         // Get users who received messages from current user
         List<User> recipients = messageRepository.findDistinctRecipientsBySender(currentUser);
         
-        // Combine both lists and remove duplicates
+        // Combine both lists (and partners of archived conversations) and remove duplicates
         Set<User> allPartners = new HashSet<>();
         allPartners.addAll(senders);
         allPartners.addAll(recipients);
+        allPartners.addAll(archivedMessageRepository.findDistinctSendersByRecipient(currentUser));
+        allPartners.addAll(archivedMessageRepository.findDistinctRecipientsBySender(currentUser));
         
         return allPartners.stream()
                 .map(this::convertToUserSummary)
@@ -264,6 +297,22 @@ public class DirectMessageService {
                 .build();
     }
 
+    /**
+     * Archived messages are exposed through the live entity type so existing clients keep working;
+     * the related request is left unset because it may already have moved to history
+     */
+    private static DirectMessage fromArchived(ArchivedDirectMessage message) {
+        return DirectMessage.builder()
+                .id(message.getId())
+                .sender(Hibernate.unproxy(message.getSender(), User.class))
+                .recipient(Hibernate.unproxy(message.getRecipient(), User.class))
+                .content(message.getContent())
+                .isRead(message.getIsRead())
+                .readAt(message.getReadAt())
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+
     /**
      * Delete a message (soft delete by marking as deleted)
      */
@@ -281,6 +330,7 @@ public class DirectMessageService {
         }
 
         messageRepository.delete(message);
+        searchService.removeDirectMessage(messageId);
         log.info("Message deleted: {}", messageId);
     }
 }
@@ -1,25 +1,39 @@
 package com.disaster.service;
 
 import com.disaster.dto.EmergencyRequestDto;
+import com.disaster.dto.EmergencyRequestSummaryDto;
+import com.disaster.entity.ArchivedEmergencyRequest;
 import com.disaster.entity.EmergencyRequest;
 import com.disaster.entity.RescueTeam;
 import com.disaster.entity.User;
 import com.disaster.exception.ResourceNotFoundException;
+import com.disaster.repository.ArchivedEmergencyRequestRepository;
 import com.disaster.repository.EmergencyRequestRepository;
 import com.disaster.repository.RescueTeamRepository;
 import com.disaster.repository.UserRepository;
+import com.disaster.security.PasswordUpgradeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Service for managing emergency requests with intelligent team assignment
@@ -29,17 +43,30 @@ import java.util.List;
 @Slf4j
 public class EmergencyRequestService {
 
+    static final List<EmergencyRequest.RequestStatus> ACTIVE_STATUSES = List.of(
+            EmergencyRequest.RequestStatus.PENDING,
+            EmergencyRequest.RequestStatus.ASSIGNED,
+            EmergencyRequest.RequestStatus.EN_ROUTE,
+            EmergencyRequest.RequestStatus.ON_SCENE
+    );
+
+    private static final double METERS_PER_DEGREE_LATITUDE = 111_320;
+    private static final double MAX_RADIUS_KM = 50;
+    private static final int MAX_AREA_RESULTS = 500;
+    // Rows read from each table for a merged live + history page (offset + size)
+    static final int MAX_HISTORY_WINDOW = 10_000;
+
     private final EmergencyRequestRepository requestRepository;
+    private final ArchivedEmergencyRequestRepository archivedRequestRepository;
     private final RescueTeamRepository teamRepository;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordUpgradeService passwordUpgradeService;
     private final NotificationService notificationService;
 
     /**
      * Create new emergency request with automatic team assignment
      */
     @Transactional
-    @CacheEvict(value = "availableTeams", allEntries = true)
     public EmergencyRequest createRequest(EmergencyRequestDto dto) {
         log.info("Creating emergency request for victim: {}", dto.getVictimName());
 
@@ -88,8 +115,8 @@ public class EmergencyRequestService {
             return userRepository.findByUsername(username).get();
         }
 
-        // Encode password (location) with BCrypt
-        String encodedPassword = passwordEncoder.encode(dto.getLocation());
+        // Encode password (location) with BCrypt at the victim cost
+        String encodedPassword = passwordUpgradeService.encode(dto.getLocation(), User.UserRole.ROLE_VICTIM);
 
         User victimUser = User.builder()
                 .username(username)
@@ -136,7 +163,7 @@ public class EmergencyRequestService {
      * Manually assign rescue team to request
      */
     @Transactional
-    @CacheEvict(value = {"availableTeams", "requestDetails"}, allEntries = true)
+    @CacheEvict(value = "requestDetails", allEntries = true)
     public EmergencyRequest assignTeamToRequest(Long requestId, Long teamId) {
         log.info("Assigning team {} to request {}", teamId, requestId);
 
@@ -233,12 +260,13 @@ public class EmergencyRequestService {
     }
 
     /**
-     * Get request by ID
+     * Get request by ID, falling back to the history table for archived requests
      */
     @Transactional(readOnly = true)
     @Cacheable(value = "requestDetails", key = "#id")
     public EmergencyRequest getById(Long id) {
         return requestRepository.findById(id)
+                .or(() -> archivedRequestRepository.findById(id).map(this::fromHistory))
                 .orElseThrow(() -> new ResourceNotFoundException("Request not found: " + id));
     }
 
@@ -264,13 +292,126 @@ public class EmergencyRequestService {
      */
     @Transactional(readOnly = true)
     public Page<EmergencyRequest> getActiveRequests(Pageable pageable) {
-        List<EmergencyRequest.RequestStatus> activeStatuses = List.of(
-            EmergencyRequest.RequestStatus.PENDING,
-            EmergencyRequest.RequestStatus.ASSIGNED,
-            EmergencyRequest.RequestStatus.EN_ROUTE,
-            EmergencyRequest.RequestStatus.ON_SCENE
-        );
-        return requestRepository.findByStatusIn(activeStatuses, pageable);
+        return requestRepository.findByStatusIn(ACTIVE_STATUSES, pageable);
+    }
+
+    /**
+     * List rows of all requests (paginated), optionally including archived history
+     */
+    @Transactional(readOnly = true)
+    public Page<EmergencyRequestSummaryDto> getAllRequestSummaries(Pageable pageable, boolean includeHistory) {
+        if (!includeHistory) {
+            return requestRepository.findAllSummaries(pageable);
+        }
+        return withHistory(pageable, requestRepository::findAllSummaries, archivedRequestRepository::findAllSummaries);
+    }
+
+    /**
+     * List rows of requests by status; closed statuses optionally include archived history
+     */
+    @Transactional(readOnly = true)
+    public Page<EmergencyRequestSummaryDto> getRequestSummariesByStatus(String status, Pageable pageable,
+                                                                        boolean includeHistory) {
+        EmergencyRequest.RequestStatus requestStatus = EmergencyRequest.RequestStatus.valueOf(status);
+        List<EmergencyRequest.RequestStatus> statuses = List.of(requestStatus);
+        if (!includeHistory || ACTIVE_STATUSES.contains(requestStatus)) {
+            return requestRepository.findSummariesByStatusIn(statuses, pageable);
+        }
+        return withHistory(pageable,
+                window -> requestRepository.findSummariesByStatusIn(statuses, window),
+                window -> archivedRequestRepository.findSummariesByStatusIn(statuses, window));
+    }
+
+    /**
+     * List rows of active (unresolved) requests
+     */
+    @Transactional(readOnly = true)
+    public Page<EmergencyRequestSummaryDto> getActiveRequestSummaries(Pageable pageable) {
+        return requestRepository.findSummariesByStatusIn(ACTIVE_STATUSES, pageable);
+    }
+
+    /**
+     * Requests within radiusKm of a point, nearest first, with their distance
+     */
+    @Transactional(readOnly = true)
+    public List<EmergencyRequestSummaryDto> findNearby(double latitude, double longitude, double radiusKm,
+                                                       boolean includeClosed, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+        }
+
+        // Box around the circle, padded so geodesic box edges never cut into it
+        double radiusMeters = radiusKm * 1000;
+        double latDelta = radiusMeters * 1.01 / METERS_PER_DEGREE_LATITUDE;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lonDelta = cosLat < 0.01 ? 180 : latDelta / cosLat;
+        String box = boxWkt(latitude - latDelta, longitude - lonDelta, latitude + latDelta, longitude + lonDelta);
+
+        Map<Long, Double> distances = new HashMap<>();
+        for (Object[] row : requestRepository.findIdsWithinRadius(latitude, longitude, box, radiusMeters,
+                statusNames(includeClosed), clampLimit(limit))) {
+            distances.put(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue());
+        }
+        if (distances.isEmpty()) {
+            return List.of();
+        }
+
+        List<EmergencyRequestSummaryDto> requests = requestRepository.findSummariesByIdIn(distances.keySet());
+        requests.forEach(request -> request.setDistanceMeters(distances.get(request.getId())));
+        requests.sort(Comparator.comparing(EmergencyRequestSummaryDto::getDistanceMeters));
+        return requests;
+    }
+
+    /**
+     * Requests inside a bounding box (map view), newest first
+     */
+    @Transactional(readOnly = true)
+    public List<EmergencyRequestSummaryDto> findWithinBox(double minLat, double minLon, double maxLat, double maxLon,
+                                                          boolean includeClosed, int limit) {
+        if (minLat > maxLat || minLon > maxLon
+                || minLat < -90 || maxLat > 90 || minLon < -180 || maxLon > 180) {
+            throw new IllegalArgumentException("Invalid bounding box");
+        }
+
+        List<Long> ids = requestRepository.findIdsWithinBox(boxWkt(minLat, minLon, maxLat, maxLon),
+                statusNames(includeClosed), clampLimit(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> order = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            order.put(ids.get(i), i);
+        }
+        List<EmergencyRequestSummaryDto> requests = requestRepository.findSummariesByIdIn(ids);
+        requests.sort(Comparator.comparing(request -> order.get(request.getId())));
+        return requests;
+    }
+
+    /**
+     * WGS 84 polygon in long-lat axis order, clamped to valid coordinates
+     */
+    static String boxWkt(double minLat, double minLon, double maxLat, double maxLon) {
+        double south = Math.max(-90, minLat);
+        double north = Math.min(90, maxLat);
+        double west = Math.max(-180, minLon);
+        double east = Math.min(180, maxLon);
+        return String.format(Locale.ROOT, "POLYGON((%1$.7f %2$.7f, %3$.7f %2$.7f, %3$.7f %4$.7f, %1$.7f %4$.7f, %1$.7f %2$.7f))",
+                west, south, east, north);
+    }
+
+    private static List<String> statusNames(boolean includeClosed) {
+        return (includeClosed ? Arrays.asList(EmergencyRequest.RequestStatus.values()) : ACTIVE_STATUSES)
+                .stream()
+                .map(Enum::name)
+                .toList();
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_AREA_RESULTS));
     }
 
     /**
@@ -286,7 +427,8 @@ public class EmergencyRequestService {
      */
     @Transactional
     public EmergencyRequest addResolutionNotes(Long requestId, String notes) {
-        EmergencyRequest request = getById(requestId);
+        EmergencyRequest request = requestRepository.findById(requestId)
+                .orElseThrow(() -> new ResourceNotFoundException("Request not found: " + requestId));
         request.setResolutionNotes(notes);
         return requestRepository.save(request);
     }
@@ -297,6 +439,89 @@ public class EmergencyRequestService {
     @Transactional(readOnly = true)
     public long countByStatus(String status) {
         EmergencyRequest.RequestStatus requestStatus = EmergencyRequest.RequestStatus.valueOf(status);
-        return requestRepository.countByStatus(requestStatus);
+        long count = requestRepository.countByStatus(requestStatus);
+        return ACTIVE_STATUSES.contains(requestStatus)
+                ? count
+                : count + archivedRequestRepository.countByStatus(requestStatus);
+    }
+
+    /**
+     * Page over the live and history tables as if they were one: the first offset + size rows
+     * of each (same sort) are merged and both tables are counted, so only callers that asked
+     * for history pay for it. Pages ending past MAX_HISTORY_WINDOW rows are rejected, since
+     * every page reads all rows before it; deeper history is available through the export.
+     */
+    private Page<EmergencyRequestSummaryDto> withHistory(Pageable pageable,
+                                                         Function<Pageable, Page<EmergencyRequestSummaryDto>> live,
+                                                         Function<Pageable, Page<EmergencyRequestSummaryDto>> history) {
+        if (pageable.getOffset() + pageable.getPageSize() > MAX_HISTORY_WINDOW) {
+            throw new IllegalArgumentException("Pages including history are limited to the first "
+                    + MAX_HISTORY_WINDOW + " requests; filter by status or use the export");
+        }
+        Pageable window = PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()),
+                pageable.getSort());
+        Page<EmergencyRequestSummaryDto> livePage = live.apply(window);
+        Page<EmergencyRequestSummaryDto> historyPage = history.apply(window);
+
+        List<EmergencyRequestSummaryDto> merged = new ArrayList<>(livePage.getContent());
+        merged.addAll(historyPage.getContent());
+        merged.sort(summaryOrder(pageable.getSort()));
+
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(merged.subList(from, to), pageable,
+                livePage.getTotalElements() + historyPage.getTotalElements());
+    }
+
+    /**
+     * In-memory equivalent of the database ordering (enums sort by name, nulls first ascending)
+     */
+    static Comparator<EmergencyRequestSummaryDto> summaryOrder(Sort sort) {
+        Comparator<EmergencyRequestSummaryDto> order = (a, b) -> 0;
+        for (Sort.Order sortOrder : sort) {
+            String property = sortOrder.getProperty();
+            Comparator<EmergencyRequestSummaryDto> byProperty =
+                    (a, b) -> compareSortKeys(sortKey(a, property), sortKey(b, property));
+            order = order.thenComparing(sortOrder.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return order;
+    }
+
+    private static Object sortKey(EmergencyRequestSummaryDto request, String property) {
+        Object value = new BeanWrapperImpl(request).getPropertyValue(property);
+        return value instanceof Enum<?> constant ? constant.name() : value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareSortKeys(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    private EmergencyRequest fromHistory(ArchivedEmergencyRequest archived) {
+        return EmergencyRequest.builder()
+                .id(archived.getId())
+                .victimName(archived.getVictimName())
+                .victimPhone(archived.getVictimPhone())
+                .location(archived.getLocation())
+                .latitude(archived.getLatitude())
+                .longitude(archived.getLongitude())
+                .emergencyType(archived.getEmergencyType())
+                .priority(archived.getPriority())
+                .status(archived.getStatus())
+                .description(archived.getDescription())
+                .assignedTeam(archived.getAssignedTeamId() != null
+                        ? teamRepository.findById(archived.getAssignedTeamId()).orElse(null)
+                        : null)
+                .assignedAt(archived.getAssignedAt())
+                .respondedAt(archived.getRespondedAt())
+                .completedAt(archived.getCompletedAt())
+                .resolutionNotes(archived.getResolutionNotes())
+                .createdBy(archived.getCreatedBy())
+                .createdAt(archived.getCreatedAt())
+                .updatedAt(archived.getUpdatedAt())
+                .build();
     }
 }
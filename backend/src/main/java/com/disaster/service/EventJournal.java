@@ -0,0 +1,50 @@
+package com.disaster.service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sequenced journal of recent notification events, used to resume the real-time stream.
+ *
+ * Every event gets a monotonic sequence number within an epoch; a new epoch means
+ * earlier positions are gone. Sequence numbers are shared by all destinations, and
+ * frames may be batched, conflated (status topics) or filtered by subscription, so a
+ * client normally sees gaps. A gap is not a lost event: clients keep the highest
+ * number they have seen and ask for everything after it.
+ */
+public interface EventJournal {
+
+    String getEpoch();
+
+    /**
+     * Sequence number of the latest event (0 if none yet)
+     */
+    long getLastSequence();
+
+    /**
+     * Record an event sent to the given destinations and return its sequence number
+     */
+    long append(List<String> destinations, byte[] payload);
+
+    /**
+     * Events after the given sequence, optionally limited to one destination.
+     *
+     * @return empty if the requested position is no longer retained (client must resync)
+     */
+    Optional<List<Entry>> readAfter(long afterSeq, String destination, int limit);
+
+    /**
+     * Journaled event
+     */
+    @lombok.Value
+    class Entry {
+        long seq;
+        long timestamp;
+        List<String> destinations;
+        byte[] payload;
+
+        boolean matches(String destination) {
+            return destination == null || destinations.contains(destination);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.disaster.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash cells used as spatial notification topics (/topic/geo/{cell}/...).
+ *
+ * A cell is identified by its base32 geohash; at precision 5 a cell is roughly
+ * 4.9 km x 4.9 km, at precision 6 roughly 1.2 km x 0.6 km.
+ */
+public final class GeoCell {
+
+    private static final String BASE32_ALPHABET = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final char[] BASE32 = BASE32_ALPHABET.toCharArray();
+
+    private GeoCell() {
+    }
+
+    /**
+     * Geohash of a point
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Cells covering a bounding box
+     *
+     * @throws IllegalArgumentException if the box is invalid or needs more than maxCells cells
+     */
+    public static List<String> covering(double minLat, double minLon, double maxLat, double maxLon,
+                                        int precision, int maxCells) {
+        if (minLat > maxLat || minLon > maxLon
+                || minLat < -90 || maxLat > 90 || minLon < -180 || maxLon > 180) {
+            throw new IllegalArgumentException("Invalid bounding box");
+        }
+
+        double latStep = cellHeight(precision);
+        double lonStep = cellWidth(precision);
+        long rows = (long) Math.floor(maxLat / latStep) - (long) Math.floor(minLat / latStep) + 1;
+        long columns = (long) Math.floor(maxLon / lonStep) - (long) Math.floor(minLon / lonStep) + 1;
+        if (rows * columns > maxCells) {
+            throw new IllegalArgumentException("Bounding box needs " + rows * columns
+                    + " cells at precision " + precision + " (max " + maxCells + ")");
+        }
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (long row = 0; row < rows; row++) {
+            double lat = Math.min(minLat + row * latStep, maxLat);
+            for (long column = 0; column < columns; column++) {
+                double lon = Math.min(minLon + column * lonStep, maxLon);
+                cells.add(encode(lat, lon, precision));
+            }
+            cells.add(encode(lat, maxLon, precision));
+        }
+        for (long column = 0; column < columns; column++) {
+            cells.add(encode(maxLat, Math.min(minLon + column * lonStep, maxLon), precision));
+        }
+        cells.add(encode(maxLat, maxLon, precision));
+        return new ArrayList<>(cells);
+    }
+
+    /**
+     * Whether a string is a geohash cell of the given precision
+     */
+    public static boolean isValid(String cell, int precision) {
+        if (cell == null || cell.length() != precision) {
+            return false;
+        }
+        for (char c : cell.toCharArray()) {
+            if (BASE32_ALPHABET.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double cellHeight(int precision) {
+        int latBits = (precision * 5) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    private static double cellWidth(int precision) {
+        int lonBits = (precision * 5 + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+}
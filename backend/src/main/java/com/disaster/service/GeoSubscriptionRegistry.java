@@ -0,0 +1,120 @@
+package com.disaster.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks which geohash cells have local subscribers so that notifications are
+ * only sent to cell topics someone is listening to. Subscriptions to destinations
+ * that are not cells at the publishing precision are not tracked; nothing is ever
+ * published to them.
+ *
+ * Subscriptions are keyed by session and subscription id, since STOMP UNSUBSCRIBE
+ * frames only carry the subscription id.
+ */
+@Component
+@Slf4j
+public class GeoSubscriptionRegistry {
+
+    static final String GEO_TOPIC_PREFIX = "/topic/geo/";
+
+    private final Map<String, Map<String, String>> cellsBySession = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> subscriberCounts = new ConcurrentHashMap<>();
+    private final boolean clustered;
+    private final int precision;
+
+    public GeoSubscriptionRegistry(@Value("${websocket.broker.mode:simple}") String brokerMode,
+                                   @Value("${notifications.geo.precision:5}") int precision) {
+        // Other nodes' subscribers are not visible here, so clustered nodes publish every cell
+        this.clustered = !"simple".equalsIgnoreCase(brokerMode);
+        this.precision = precision;
+    }
+
+    /**
+     * Whether any session is subscribed to a topic of this cell
+     */
+    public boolean hasSubscribers(String cell) {
+        if (clustered) {
+            return true;
+        }
+        AtomicInteger count = subscriberCounts.get(cell);
+        return count != null && count.get() > 0;
+    }
+
+    /**
+     * Whether a frame for this destination would reach anyone; non-cell destinations always do
+     */
+    public boolean isDeliverable(String destination) {
+        String cell = cellOf(destination);
+        return cell == null || hasSubscribers(cell);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String cell = cellOf(accessor.getDestination());
+        if (cell == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        if (!GeoCell.isValid(cell, precision)) {
+            log.debug("Session {} subscribed to {}, which is not a precision {} cell",
+                    accessor.getSessionId(), accessor.getDestination(), precision);
+            return;
+        }
+
+        String previous = cellsBySession.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), cell);
+        if (previous != null) {
+            decrement(previous);
+        }
+        subscriberCounts.computeIfAbsent(cell, c -> new AtomicInteger()).incrementAndGet();
+        log.debug("Session {} subscribed to geo cell {}", accessor.getSessionId(), cell);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = cellsBySession.get(accessor.getSessionId());
+        if (subscriptions != null && accessor.getSubscriptionId() != null) {
+            String cell = subscriptions.remove(accessor.getSubscriptionId());
+            if (cell != null) {
+                decrement(cell);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = cellsBySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    /**
+     * Cell of a /topic/geo/{cell}/... destination
+     */
+    static String cellOf(String destination) {
+        if (destination == null || !destination.startsWith(GEO_TOPIC_PREFIX)) {
+            return null;
+        }
+        int end = destination.indexOf('/', GEO_TOPIC_PREFIX.length());
+        String cell = end < 0 ? destination.substring(GEO_TOPIC_PREFIX.length())
+                : destination.substring(GEO_TOPIC_PREFIX.length(), end);
+        return cell.isEmpty() ? null : cell;
+    }
+
+    private void decrement(String cell) {
+        subscriberCounts.computeIfPresent(cell, (c, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+}
@@ -0,0 +1,49 @@
+package com.disaster.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM stand-in for the Redis bus (websocket.broker.mode=embedded).
+ *
+ * All instances created with the same hub see each other's frames, which lets
+ * several application contexts (nodes) run side by side in tests or local dev.
+ */
+@Slf4j
+public class InMemoryClusterMessageBus implements ClusterMessageBus {
+
+    /** Hub shared by every node started in this JVM */
+    public static final Hub SHARED_HUB = new Hub();
+
+    private final Hub hub;
+
+    public InMemoryClusterMessageBus(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void publish(ClusterEnvelope envelope) {
+        for (Consumer<ClusterEnvelope> listener : hub.listeners) {
+            try {
+                listener.accept(envelope);
+            } catch (RuntimeException e) {
+                log.warn("Cluster listener failed for {}: {}", envelope.getDestination(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEnvelope> listener) {
+        hub.listeners.add(listener);
+    }
+
+    /**
+     * Set of listeners playing the role of the pub/sub channel
+     */
+    public static class Hub {
+        private final List<Consumer<ClusterEnvelope>> listeners = new CopyOnWriteArrayList<>();
+    }
+}
@@ -0,0 +1,187 @@
+package com.disaster.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local journal (notifications.journal.store=memory).
+ *
+ * One epoch per application start. The latest events are kept in an in-memory ring
+ * buffer; when a spill directory is configured, events pushed out of the ring are
+ * appended to a size-bounded spill file so clients can resume from further back.
+ * Only valid on a single node: other nodes neither see these sequence numbers nor
+ * the events they relay.
+ */
+@Slf4j
+public class InMemoryEventJournal implements EventJournal {
+
+    private final String epoch;
+    private final Entry[] ring;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Path spillFile;
+    private final long spillMaxBytes;
+
+    private DataOutputStream spillOut;
+    private long spillBytes;
+    private long spillOldestSeq = -1;
+
+    public InMemoryEventJournal(int capacity, String spillDirectory, long spillMaxBytes) {
+        this(Long.toString(System.currentTimeMillis(), 36), capacity, spillDirectory, spillMaxBytes);
+    }
+
+    InMemoryEventJournal(String epoch, int capacity, String spillDirectory, long spillMaxBytes) {
+        this.epoch = epoch;
+        this.ring = new Entry[capacity];
+        this.spillMaxBytes = spillMaxBytes;
+        this.spillFile = StringUtils.hasText(spillDirectory)
+                ? Path.of(spillDirectory, "notification-events.journal")
+                : null;
+
+        if (spillFile != null) {
+            try {
+                Files.createDirectories(spillFile.getParent());
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                log.warn("Cannot prepare notification journal spill file {}: {}", spillFile, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String getEpoch() {
+        return epoch;
+    }
+
+    @Override
+    public long getLastSequence() {
+        return sequence.get();
+    }
+
+    @Override
+    public synchronized long append(List<String> destinations, byte[] payload) {
+        long seq = sequence.incrementAndGet();
+        int slot = (int) (seq % ring.length);
+
+        Entry evicted = ring[slot];
+        if (evicted != null && spillFile != null) {
+            spill(evicted);
+        }
+        ring[slot] = new Entry(seq, System.currentTimeMillis(), List.copyOf(destinations), payload);
+        return seq;
+    }
+
+    @Override
+    public synchronized Optional<List<Entry>> readAfter(long afterSeq, String destination, int limit) {
+        long last = sequence.get();
+        if (afterSeq >= last) {
+            return Optional.of(List.of());
+        }
+
+        long oldestInRing = Math.max(1, last - ring.length + 1);
+        long oldestAvailable = spillOldestSeq > 0 ? Math.min(spillOldestSeq, oldestInRing) : oldestInRing;
+        if (afterSeq + 1 < oldestAvailable) {
+            return Optional.empty();
+        }
+
+        List<Entry> events = new ArrayList<>();
+        if (afterSeq + 1 < oldestInRing) {
+            readSpill(afterSeq, oldestInRing, destination, limit, events);
+        }
+        for (long seq = Math.max(afterSeq + 1, oldestInRing); seq <= last && events.size() < limit; seq++) {
+            Entry entry = ring[(int) (seq % ring.length)];
+            if (entry != null && entry.getSeq() == seq && entry.matches(destination)) {
+                events.add(entry);
+            }
+        }
+        return Optional.of(events);
+    }
+
+    /**
+     * Close the spill file
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (spillOut != null) {
+            try {
+                spillOut.close();
+            } catch (IOException e) {
+                log.debug("Error closing notification journal spill file: {}", e.getMessage());
+            }
+            spillOut = null;
+        }
+    }
+
+    private void spill(Entry entry) {
+        try {
+            if (spillOut == null || spillBytes >= spillMaxBytes) {
+                // Start over: only the most recent spill segment is retained
+                close();
+                spillOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)));
+                spillBytes = 0;
+                spillOldestSeq = entry.getSeq();
+            }
+
+            int before = spillOut.size();
+            spillOut.writeLong(entry.getSeq());
+            spillOut.writeLong(entry.getTimestamp());
+            spillOut.writeInt(entry.getDestinations().size());
+            for (String destination : entry.getDestinations()) {
+                spillOut.writeUTF(destination);
+            }
+            spillOut.writeInt(entry.getPayload().length);
+            spillOut.write(entry.getPayload());
+            spillOut.flush();
+            spillBytes += spillOut.size() - before;
+        } catch (IOException e) {
+            log.warn("Notification journal spill failed, disabling resume beyond memory: {}", e.getMessage());
+            close();
+            spillOldestSeq = -1;
+        }
+    }
+
+    private void readSpill(long afterSeq, long untilSeq, String destination, int limit, List<Entry> events) {
+        try (InputStream file = Files.newInputStream(spillFile);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            while (events.size() < limit) {
+                long seq = in.readLong();
+                long timestamp = in.readLong();
+                int destinationCount = in.readInt();
+                List<String> destinations = new ArrayList<>(destinationCount);
+                for (int i = 0; i < destinationCount; i++) {
+                    destinations.add(in.readUTF());
+                }
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+
+                if (seq >= untilSeq) {
+                    break;
+                }
+                Entry entry = new Entry(seq, timestamp, destinations, payload);
+                if (seq > afterSeq && entry.matches(destination)) {
+                    events.add(entry);
+                }
+            }
+        } catch (EOFException e) {
+            // end of spill segment
+        } catch (IOException e) {
+            log.warn("Cannot read notification journal spill file: {}", e.getMessage());
+        }
+    }
+}
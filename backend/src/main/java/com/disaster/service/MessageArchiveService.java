@@ -0,0 +1,143 @@
+package com.disaster.service;
+
+import com.disaster.repository.ArchivedMessageRepository;
+import com.disaster.repository.DirectMessageRepository;
+import com.disaster.repository.EmergencyRequestRepository;
+import com.disaster.repository.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Background maintenance for message storage:
+ * - moves chat and direct messages of closed requests into the compressed archive tables
+ * - keeps monthly partitions of messages/direct_messages created ahead of time
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MessageArchiveService {
+
+    private static final List<String> PARTITIONED_TABLES = List.of("messages", "direct_messages");
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final EmergencyRequestRepository requestRepository;
+    private final ArchivedMessageRepository archivedMessageRepository;
+    private final MessageRepository messageRepository;
+    private final DirectMessageRepository directMessageRepository;
+    private final MessageSearchService searchService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${messages.archive.enabled:true}")
+    private boolean archiveEnabled;
+
+    @Value("${messages.archive.min-age-days:30}")
+    private int minAgeDays;
+
+    @Value("${messages.archive.batch-size:100}")
+    private int batchSize;
+
+    @Value("${messages.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    /**
+     * Archive messages of requests resolved/cancelled more than min-age-days ago.
+     * Each batch of requests is copied and deleted in its own transaction.
+     *
+     * @return number of chat messages archived
+     */
+    @Scheduled(fixedDelayString = "${messages.archive.interval-ms:3600000}",
+            initialDelayString = "${messages.archive.initial-delay-ms:300000}")
+    public int archiveClosedRequests() {
+        if (!archiveEnabled) {
+            return 0;
+        }
+
+        Instant cutoff = Instant.now().minus(minAgeDays, ChronoUnit.DAYS);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int archivedMessages = 0;
+        int archivedRequests = 0;
+
+        List<Long> requestIds;
+        do {
+            requestIds = requestRepository.findArchivableRequestIds(cutoff, batchSize);
+            if (requestIds.isEmpty()) {
+                break;
+            }
+
+            List<Long> batch = requestIds;
+            Integer moved = transaction.execute(status -> {
+                searchService.removeArchivedMessages(messageRepository.findIdsByRequestIds(batch),
+                        directMessageRepository.findIdsByRelatedRequestIds(batch));
+                int chat = archivedMessageRepository.archiveMessages(batch);
+                archivedMessageRepository.archiveDirectMessages(batch);
+                messageRepository.deleteByRequestIds(batch);
+                directMessageRepository.deleteByRelatedRequestIds(batch);
+                return chat;
+            });
+
+            archivedMessages += moved != null ? moved : 0;
+            archivedRequests += batch.size();
+        } while (requestIds.size() == batchSize);
+
+        if (archivedRequests > 0) {
+            log.info("Archived {} chat messages from {} closed requests", archivedMessages, archivedRequests);
+        }
+        return archivedMessages;
+    }
+
+    /**
+     * Split monthly partitions out of pmax for the current month and the configured months ahead
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${messages.partitions.cron:0 0 3 * * *}")
+    public void ensureMonthlyPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                List<String> existing = jdbcTemplate.queryForList(
+                        "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                        String.class, table);
+                if (!existing.contains("pmax")) {
+                    log.debug("Table {} is not range partitioned, skipping partition maintenance", table);
+                    continue;
+                }
+
+                for (int i = 0; i <= monthsAhead; i++) {
+                    YearMonth month = current.plusMonths(i);
+                    String name = month.format(PARTITION_NAME);
+                    if (existing.contains(name)) {
+                        continue;
+                    }
+
+                    LocalDate upperBound = month.plusMonths(1).atDay(1);
+                    jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION pmax INTO (" +
+                            "PARTITION " + name + " VALUES LESS THAN (UNIX_TIMESTAMP('" + upperBound + "')), " +
+                            "PARTITION pmax VALUES LESS THAN MAXVALUE)");
+                    existing.add(name);
+                    log.info("Created partition {} on {}", name, table);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Partition maintenance failed for {}: {}", table, e.getMessage());
+            }
+        }
+    }
+}
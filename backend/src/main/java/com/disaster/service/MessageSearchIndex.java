@@ -0,0 +1,265 @@
+package com.disaster.service;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-process inverted index over chat and direct message content.
+ *
+ * Documents are tokenized into lowercase alphanumeric terms and ranked with BM25,
+ * so queries never fall back to LIKE '%x%' table scans. Documents matching every
+ * query term are ranked ahead of partial matches.
+ *
+ * The index is local to this node; {@link MessageSearchService} keeps it in line with
+ * messages written through other nodes. It holds at most max-documents messages: once
+ * full, the least recently indexed message is dropped for each new one, so the oldest
+ * messages stop being searchable first.
+ */
+@Component
+public class MessageSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Map<DocumentKey, Integer>> postings = new HashMap<>();
+    // Insertion ordered, so the eldest entry is the least recently indexed message
+    private final Map<DocumentKey, IndexedMessage> documents = new LinkedHashMap<>();
+    private final Map<DocumentKey, Integer> documentLengths = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maxDocuments;
+    private long totalLength;
+
+    // Fully qualified: lombok.Value is imported for the document types
+    public MessageSearchIndex(
+            @org.springframework.beans.factory.annotation.Value("${messages.search.max-documents:500000}") int maxDocuments) {
+        this.maxDocuments = maxDocuments;
+    }
+
+    public enum Kind {
+        CHAT,
+        DIRECT
+    }
+
+    /**
+     * Index (or re-index) a message, dropping the least recently indexed one when full
+     */
+    public void index(IndexedMessage message) {
+        DocumentKey key = new DocumentKey(message.getKind(), message.getId());
+        Map<String, Integer> termFrequencies = termFrequencies(message.getContent());
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+            if (documents.size() >= maxDocuments) {
+                removeInternal(documents.keySet().iterator().next());
+            }
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, frequency));
+            int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+            documents.put(key, message);
+            documentLengths.put(key, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a message from the index
+     */
+    public void remove(Kind kind, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(new DocumentKey(kind, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop every indexed document
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            documentLengths.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search; the filter is applied before scoring so hidden documents never
+     * compete for the result limit
+     */
+    public List<SearchHit> search(String query, Predicate<IndexedMessage> filter, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+
+            double averageLength = Math.max(1.0, (double) totalLength / documents.size());
+            Map<DocumentKey, double[]> scores = new HashMap<>();
+
+            for (String term : terms) {
+                Map<DocumentKey, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+
+                double idf = Math.log(1 + (documents.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                for (Map.Entry<DocumentKey, Integer> posting : termPostings.entrySet()) {
+                    double[] score = scores.get(posting.getKey());
+                    if (score == null) {
+                        if (!filter.test(documents.get(posting.getKey()))) {
+                            continue;
+                        }
+                        score = new double[2];
+                        scores.put(posting.getKey(), score);
+                    }
+                    int frequency = posting.getValue();
+                    double normalization = K1 * (1 - B + B * documentLengths.get(posting.getKey()) / averageLength);
+                    score[0] += idf * frequency * (K1 + 1) / (frequency + normalization);
+                    score[1]++;
+                }
+            }
+
+            Comparator<SearchHit> ranking = Comparator.comparingDouble(SearchHit::getScore)
+                    .thenComparing(hit -> hit.getMessage().getCreatedAt(), Comparator.nullsFirst(Comparator.naturalOrder()));
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, ranking);
+
+            for (Map.Entry<DocumentKey, double[]> entry : scores.entrySet()) {
+                double coverage = entry.getValue()[1] / terms.size();
+                top.offer(new SearchHit(documents.get(entry.getKey()), entry.getValue()[0] * coverage * coverage));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(top);
+            hits.sort(ranking.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Split text into lowercase letter/digit terms
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+
+    private static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private void removeInternal(DocumentKey key) {
+        IndexedMessage existing = documents.remove(key);
+        if (existing == null) {
+            return;
+        }
+
+        totalLength -= documentLengths.remove(key);
+        for (String term : termFrequencies(existing.getContent()).keySet()) {
+            Map<DocumentKey, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(key);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private record DocumentKey(Kind kind, Long id) {
+    }
+
+    /**
+     * Indexed message with the metadata needed for access filtering and result rendering
+     */
+    @Value
+    @Builder
+    public static class IndexedMessage {
+        Kind kind;
+        Long id;
+        Long requestId;
+        Long senderId;
+        Long recipientId;
+        String senderName;
+        String senderType;
+        String content;
+        Instant createdAt;
+    }
+
+    /**
+     * Ranked search result
+     */
+    @Value
+    public static class SearchHit {
+        IndexedMessage message;
+        double score;
+    }
+}
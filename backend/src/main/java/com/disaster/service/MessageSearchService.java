@@ -0,0 +1,327 @@
+package com.disaster.service;
+
+import com.disaster.dto.MessageSearchResultDto;
+import com.disaster.entity.DirectMessage;
+import com.disaster.entity.EmergencyRequest;
+import com.disaster.entity.Message;
+import com.disaster.entity.RescueTeam;
+import com.disaster.entity.User;
+import com.disaster.exception.ResourceNotFoundException;
+import com.disaster.repository.DirectMessageRepository;
+import com.disaster.repository.EmergencyRequestRepository;
+import com.disaster.repository.MessageRepository;
+import com.disaster.repository.RescueTeamRepository;
+import com.disaster.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Service for full-text search over chat and direct messages with role-based filtering.
+ *
+ * Messages written through this node are indexed right after commit. The index is
+ * built at startup from the live (non-archived) tables and periodically picks up
+ * messages sent through other nodes; hits for messages deleted or archived through
+ * another node are dropped when a search returns them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MessageSearchService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int MAX_RESULTS = 100;
+
+    private final MessageSearchIndex searchIndex;
+    private final MessageRepository messageRepository;
+    private final DirectMessageRepository directMessageRepository;
+    private final UserRepository userRepository;
+    private final RescueTeamRepository teamRepository;
+    private final EmergencyRequestRepository requestRepository;
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    /**
+     * Load all persisted messages into the index once the application is up.
+     * Each batch runs in its own repository transaction so memory stays flat.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long started = System.currentTimeMillis();
+        Instant syncFrom = Instant.now();
+        searchIndex.clear();
+
+        long lastId = 0L;
+        Slice<Message> chatBatch;
+        do {
+            chatBatch = messageRepository.findNextBatch(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Message message : chatBatch) {
+                searchIndex.index(toIndexedMessage(message));
+                lastId = message.getId();
+            }
+        } while (chatBatch.hasNext());
+
+        lastId = 0L;
+        Slice<DirectMessage> directBatch;
+        do {
+            directBatch = directMessageRepository.findNextBatchWithSender(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (DirectMessage message : directBatch) {
+                searchIndex.index(toIndexedMessage(message));
+                lastId = message.getId();
+            }
+        } while (directBatch.hasNext());
+
+        lastSync = syncFrom;
+        log.info("Message search index built with {} documents in {} ms",
+                searchIndex.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Index messages created since the last sync, including those sent through other nodes
+     */
+    @Scheduled(fixedDelayString = "${messages.search.sync-interval-ms:15000}",
+            initialDelayString = "${messages.search.sync-interval-ms:15000}")
+    @Transactional(readOnly = true)
+    public void syncIndex() {
+        if (lastSync.equals(Instant.EPOCH)) {
+            // Not built yet; the rebuild covers everything up to its start
+            return;
+        }
+        // Overlap the previous window a little so rows committed late are not missed
+        Instant since = lastSync.minusSeconds(60);
+        Instant started = Instant.now();
+
+        int synced = 0;
+        long lastId = 0L;
+        Slice<Message> chatBatch;
+        do {
+            chatBatch = messageRepository.findNextBatchCreatedSince(lastId, since, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Message message : chatBatch) {
+                searchIndex.index(toIndexedMessage(message));
+                lastId = message.getId();
+                synced++;
+            }
+        } while (chatBatch.hasNext());
+
+        lastId = 0L;
+        Slice<DirectMessage> directBatch;
+        do {
+            directBatch = directMessageRepository.findNextBatchWithSenderCreatedSince(lastId, since,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (DirectMessage message : directBatch) {
+                searchIndex.index(toIndexedMessage(message));
+                lastId = message.getId();
+                synced++;
+            }
+        } while (directBatch.hasNext());
+        lastSync = started;
+
+        if (synced > 0) {
+            log.debug("Synced {} new messages into the search index", synced);
+        }
+    }
+
+    /**
+     * Index a chat message once the surrounding transaction commits
+     */
+    public void indexChatMessage(Message message) {
+        MessageSearchIndex.IndexedMessage document = toIndexedMessage(message);
+        afterCommit(() -> searchIndex.index(document));
+    }
+
+    /**
+     * Index a direct message once the surrounding transaction commits
+     */
+    public void indexDirectMessage(DirectMessage message) {
+        MessageSearchIndex.IndexedMessage document = toIndexedMessage(message);
+        afterCommit(() -> searchIndex.index(document));
+    }
+
+    /**
+     * Remove a deleted direct message from the index
+     */
+    public void removeDirectMessage(Long messageId) {
+        afterCommit(() -> searchIndex.remove(MessageSearchIndex.Kind.DIRECT, messageId));
+    }
+
+    /**
+     * Remove chat and direct messages moved to the archive tables once the move commits;
+     * the rebuild at startup only reads the live tables, so keeping them would diverge
+     */
+    public void removeArchivedMessages(List<Long> chatMessageIds, List<Long> directMessageIds) {
+        afterCommit(() -> {
+            chatMessageIds.forEach(id -> searchIndex.remove(MessageSearchIndex.Kind.CHAT, id));
+            directMessageIds.forEach(id -> searchIndex.remove(MessageSearchIndex.Kind.DIRECT, id));
+        });
+    }
+
+    /**
+     * Search messages visible to the current user
+     *
+     * @param scope ALL, CHAT or DIRECT
+     */
+    @Transactional(readOnly = true)
+    public List<MessageSearchResultDto> search(String query, Long requestId, String scope, int limit) {
+        MessageSearchScope searchScope = MessageSearchScope.valueOf(scope.toUpperCase());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User currentUser = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
+
+        Predicate<MessageSearchIndex.IndexedMessage> filter = visibilityFilter(currentUser, searchScope);
+        if (requestId != null) {
+            filter = filter.and(m -> requestId.equals(m.getRequestId()));
+        }
+
+        List<MessageSearchIndex.SearchHit> hits = searchIndex.search(query, filter, Math.min(Math.max(limit, 1), MAX_RESULTS));
+        return withoutRemovedMessages(hits).stream()
+                .map(this::toResultDto)
+                .toList();
+    }
+
+    /**
+     * Drop hits whose message no longer exists (deleted or archived through another node)
+     * and remove them from the index
+     */
+    private List<MessageSearchIndex.SearchHit> withoutRemovedMessages(List<MessageSearchIndex.SearchHit> hits) {
+        Set<Long> chatIds = new HashSet<>();
+        Set<Long> directIds = new HashSet<>();
+        for (MessageSearchIndex.SearchHit hit : hits) {
+            MessageSearchIndex.IndexedMessage message = hit.getMessage();
+            (message.getKind() == MessageSearchIndex.Kind.CHAT ? chatIds : directIds).add(message.getId());
+        }
+        Set<Long> existingChat = chatIds.isEmpty() ? Set.of() : new HashSet<>(messageRepository.findExistingIds(chatIds));
+        Set<Long> existingDirect = directIds.isEmpty()
+                ? Set.of() : new HashSet<>(directMessageRepository.findExistingIds(directIds));
+
+        List<MessageSearchIndex.SearchHit> live = new ArrayList<>(hits.size());
+        for (MessageSearchIndex.SearchHit hit : hits) {
+            MessageSearchIndex.IndexedMessage message = hit.getMessage();
+            Set<Long> existing = message.getKind() == MessageSearchIndex.Kind.CHAT ? existingChat : existingDirect;
+            if (existing.contains(message.getId())) {
+                live.add(hit);
+            } else {
+                searchIndex.remove(message.getKind(), message.getId());
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Build the access filter for the user's role:
+     * - direct messages are visible to their sender and recipient only
+     * - admins, department heads and dispatchers see every incident chat
+     * - rescue team members see chats of requests assigned to their team
+     * - victims see chats of requests they created
+     */
+    private Predicate<MessageSearchIndex.IndexedMessage> visibilityFilter(User user, MessageSearchScope scope) {
+        Long userId = user.getId();
+        Predicate<MessageSearchIndex.IndexedMessage> direct = m -> m.getKind() == MessageSearchIndex.Kind.DIRECT
+                && (userId.equals(m.getSenderId()) || userId.equals(m.getRecipientId()));
+
+        Predicate<MessageSearchIndex.IndexedMessage> chat;
+        switch (user.getRole()) {
+            case ROLE_ADMIN, ROLE_DEPARTMENT_HEAD, ROLE_DISPATCHER ->
+                    chat = m -> m.getKind() == MessageSearchIndex.Kind.CHAT;
+            case ROLE_RESCUE_TEAM_MEMBER -> {
+                RescueTeam team = teamRepository.findByUserId(userId);
+                Set<Long> requestIds = team == null ? Set.of() : requestRepository.findByAssignedTeam(team).stream()
+                        .map(EmergencyRequest::getId)
+                        .collect(Collectors.toSet());
+                chat = m -> m.getKind() == MessageSearchIndex.Kind.CHAT && requestIds.contains(m.getRequestId());
+            }
+            case ROLE_VICTIM -> {
+                Set<Long> requestIds = requestRepository.findByCreatedByOrderByCreatedAtDesc(user.getUsername()).stream()
+                        .map(EmergencyRequest::getId)
+                        .collect(Collectors.toSet());
+                chat = m -> m.getKind() == MessageSearchIndex.Kind.CHAT && requestIds.contains(m.getRequestId());
+            }
+            default -> chat = m -> false;
+        }
+
+        return switch (scope) {
+            case CHAT -> chat;
+            case DIRECT -> direct;
+            case ALL -> chat.or(direct);
+        };
+    }
+
+    private MessageSearchIndex.IndexedMessage toIndexedMessage(Message message) {
+        return MessageSearchIndex.IndexedMessage.builder()
+                .kind(MessageSearchIndex.Kind.CHAT)
+                .id(message.getId())
+                .requestId(message.getRequest() != null ? message.getRequest().getId() : null)
+                .senderName(message.getSenderName())
+                .senderType(message.getSenderType() != null ? message.getSenderType().name() : null)
+                .content(message.getContent())
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+
+    private MessageSearchIndex.IndexedMessage toIndexedMessage(DirectMessage message) {
+        return MessageSearchIndex.IndexedMessage.builder()
+                .kind(MessageSearchIndex.Kind.DIRECT)
+                .id(message.getId())
+                .requestId(message.getRelatedRequest() != null ? message.getRelatedRequest().getId() : null)
+                .senderId(message.getSender().getId())
+                .recipientId(message.getRecipient().getId())
+                .senderName(message.getSender().getFullName())
+                .senderType(message.getSender().getRole() != null ? message.getSender().getRole().name() : null)
+                .content(message.getContent())
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+
+    private MessageSearchResultDto toResultDto(MessageSearchIndex.SearchHit hit) {
+        MessageSearchIndex.IndexedMessage message = hit.getMessage();
+        return MessageSearchResultDto.builder()
+                .type(message.getKind().name())
+                .id(message.getId())
+                .requestId(message.getRequestId())
+                .senderId(message.getSenderId())
+                .recipientId(message.getRecipientId())
+                .senderName(message.getSenderName())
+                .senderType(message.getSenderType())
+                .content(message.getContent())
+                .createdAt(message.getCreatedAt())
+                .score(hit.getScore())
+                .build();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private enum MessageSearchScope {
+        ALL,
+        CHAT,
+        DIRECT
+    }
+}
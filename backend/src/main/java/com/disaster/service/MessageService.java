@@ -1,17 +1,22 @@
 package com.disaster.service;
 
+import com.disaster.entity.ArchivedMessage;
 import com.disaster.entity.EmergencyRequest;
 import com.disaster.entity.Message;
 import com.disaster.exception.ResourceNotFoundException;
+import com.disaster.repository.ArchivedMessageRepository;
 import com.disaster.repository.EmergencyRequestRepository;
 import com.disaster.repository.MessageRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -24,6 +29,9 @@ public class MessageService {
 
     private final MessageRepository messageRepository;
     private final EmergencyRequestRepository requestRepository;
+    private final ArchivedMessageRepository archivedMessageRepository;
+    private final MessageSearchService searchService;
+    private final ChatMessagePayloads chatMessagePayloads;
 
     /**
      * Send new message
@@ -44,23 +52,54 @@ public class MessageService {
                 .isRead(false)
                 .build();
 
-        return messageRepository.save(message);
+        Message savedMessage = messageRepository.save(message);
+        searchService.indexChatMessage(savedMessage);
+        return savedMessage;
     }
 
     /**
-     * Get messages by request ID (paginated)
+     * Get messages by request ID (paginated, oldest first), including archived ones.
+     * An archived thread belongs to a single closed request, so it is merged in memory.
      */
     @Transactional(readOnly = true)
     public Page<Message> getMessagesByRequestId(Long requestId, Pageable pageable) {
-        return messageRepository.findByRequestId(requestId, pageable);
+        if (archivedMessageRepository.countByRequestId(requestId) == 0) {
+            return messageRepository.findByRequestId(requestId, pageable);
+        }
+
+        List<Message> messages = new ArrayList<>(getAllMessagesByRequestId(requestId));
+        messages.sort(Comparator.comparing(Message::getCreatedAt));
+        int from = (int) Math.min(pageable.getOffset(), messages.size());
+        int to = Math.min(from + pageable.getPageSize(), messages.size());
+        return new PageImpl<>(messages.subList(from, to), pageable, messages.size());
     }
 
     /**
-     * Get all messages for a request (ordered by time)
+     * Get all messages for a request (ordered by time), including archived ones
      */
     @Transactional(readOnly = true)
     public List<Message> getAllMessagesByRequestId(Long requestId) {
-        return messageRepository.findByRequestIdOrderByCreatedAtDesc(requestId);
+        List<Message> messages = messageRepository.findByRequestIdOrderByCreatedAtDesc(requestId);
+
+        // Threads of closed requests may have been moved to the archive
+        List<ArchivedMessage> archived = archivedMessageRepository.findByRequestIdOrderByCreatedAtDesc(requestId);
+        if (archived.isEmpty()) {
+            return messages;
+        }
+
+        EmergencyRequest request = requestRepository.getReferenceById(requestId);
+        List<Message> merged = new ArrayList<>(messages);
+        archived.forEach(m -> merged.add(Message.builder()
+                .id(m.getId())
+                .request(request)
+                .content(m.getContent())
+                .senderName(m.getSenderName())
+                .senderType(m.getSenderType())
+                .isRead(m.getIsRead())
+                .createdAt(m.getCreatedAt())
+                .build()));
+        merged.sort(Comparator.comparing(Message::getCreatedAt).reversed());
+        return merged;
     }
 
     /**
@@ -72,7 +111,9 @@ public class MessageService {
                 .orElseThrow(() -> new ResourceNotFoundException("Message not found: " + messageId));
         
         message.setIsRead(true);
-        return messageRepository.save(message);
+        Message savedMessage = messageRepository.save(message);
+        chatMessagePayloads.evict(messageId);
+        return savedMessage;
     }
 
     /**
@@ -83,6 +124,7 @@ public class MessageService {
         List<Message> messages = messageRepository.findByRequestIdOrderByCreatedAtDesc(requestId);
         messages.forEach(msg -> msg.setIsRead(true));
         messageRepository.saveAll(messages);
+        chatMessagePayloads.evictAll(messages.stream().map(Message::getId).toList());
         log.info("Marked {} messages as read for request {}", messages.size(), requestId);
     }
 
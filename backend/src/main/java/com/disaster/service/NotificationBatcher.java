@@ -0,0 +1,154 @@
+package com.disaster.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces notification payloads per destination.
+ *
+ * The first payload for a destination opens a short window; everything queued
+ * for that destination before the window closes goes out as one frame. A single
+ * payload is sent unchanged, several are sent as a JSON array. The future returned
+ * for a payload completes once the frame carrying it has been handed to the broker.
+ */
+@Component
+@Slf4j
+public class NotificationBatcher {
+
+    private final PayloadBroadcaster broadcaster;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final Map<String, Batch> pending = new HashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public NotificationBatcher(PayloadBroadcaster broadcaster,
+                               @Value("${notifications.batch.window-ms:50}") long windowMs,
+                               @Value("${notifications.batch.max-size:100}") int maxBatchSize) {
+        this.broadcaster = broadcaster;
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue a serialized JSON payload for a destination
+     */
+    public CompletableFuture<Void> enqueue(String destination, byte[] json) {
+        return enqueue(destination, json, Map.of());
+    }
+
+    /**
+     * Queue a serialized JSON payload with STOMP headers; a batched frame carries
+     * the headers of its latest payload
+     */
+    public CompletableFuture<Void> enqueue(String destination, byte[] json, Map<String, String> headers) {
+        CompletableFuture<Void> sent = new CompletableFuture<>();
+        if (windowMs <= 0) {
+            Batch single = new Batch();
+            single.payloads.add(json);
+            single.sent.add(sent);
+            single.headers = headers;
+            send(destination, single);
+            return sent;
+        }
+
+        Batch full = null;
+        synchronized (pending) {
+            Batch batch = pending.get(destination);
+            if (batch == null) {
+                batch = new Batch();
+                pending.put(destination, batch);
+                scheduler.schedule(() -> flush(destination), windowMs, TimeUnit.MILLISECONDS);
+            }
+            batch.payloads.add(json);
+            batch.sent.add(sent);
+            batch.headers = headers;
+            if (batch.payloads.size() >= maxBatchSize) {
+                full = pending.remove(destination);
+            }
+        }
+
+        if (full != null) {
+            send(destination, full);
+        }
+        return sent;
+    }
+
+    /**
+     * Send everything still queued (used on shutdown)
+     */
+    @PreDestroy
+    public void flushAll() {
+        Map<String, Batch> batches;
+        synchronized (pending) {
+            batches = new HashMap<>(pending);
+            pending.clear();
+        }
+        batches.forEach(this::send);
+        scheduler.shutdown();
+    }
+
+    private void flush(String destination) {
+        Batch batch;
+        synchronized (pending) {
+            batch = pending.remove(destination);
+        }
+        if (batch != null) {
+            send(destination, batch);
+        }
+    }
+
+    private void send(String destination, Batch batch) {
+        List<byte[]> payloads = batch.payloads;
+        try {
+            broadcaster.send(destination, payloads.size() == 1 ? payloads.get(0) : toJsonArray(payloads), batch.headers);
+            if (payloads.size() > 1) {
+                log.debug("Sent {} batched notifications to {}", payloads.size(), destination);
+            }
+            batch.sent.forEach(future -> future.complete(null));
+        } catch (RuntimeException e) {
+            log.error("Failed to send notifications to {}: {}", destination, e.getMessage());
+            batch.sent.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    static byte[] toJsonArray(List<byte[]> payloads) {
+        int size = 2 + payloads.size();
+        for (byte[] payload : payloads) {
+            size += payload.length;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.write('[');
+        for (int i = 0; i < payloads.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(payloads.get(i));
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private static final class Batch {
+        private final List<byte[]> payloads = new ArrayList<>();
+        private final List<CompletableFuture<Void>> sent = new ArrayList<>();
+        private Map<String, String> headers = Map.of();
+    }
+}
@@ -0,0 +1,240 @@
+package com.disaster.service;
+
+import com.disaster.entity.NotificationOutboxEvent;
+import com.disaster.repository.NotificationOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transactional outbox for lifecycle notifications.
+ *
+ * Events are stored in notification_outbox inside the caller's transaction and
+ * relayed to the broker by a background thread once that transaction commits,
+ * so broker latency never extends the write transaction and rolled back changes
+ * are never announced. A periodic poll picks up anything left behind by a crash
+ * (delivery is at-least-once). Rows are claimed with SKIP LOCKED so several
+ * nodes can relay concurrently; only the oldest pending event of a request is
+ * claimed at a time, which keeps each request's events in order across nodes.
+ * An event is marked published only after every destination confirmed the send;
+ * otherwise it stays pending, with its attempt counted, and is retried with the
+ * journal sequence number it got on its first attempt. After max-attempts it is
+ * dead-lettered (failed_at) so later events of the request can flow again.
+ */
+@Service
+@Slf4j
+public class NotificationOutboxRelay {
+
+    public static final String SEQUENCE_HEADER = "x-seq";
+    public static final String EPOCH_HEADER = "x-epoch";
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final EventJournal journal;
+    private final NotificationBatcher batcher;
+    private final GeoSubscriptionRegistry geoSubscriptions;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int retentionHours;
+    private final long confirmTimeoutMs;
+    private final int maxAttempts;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    public NotificationOutboxRelay(NotificationOutboxRepository outboxRepository,
+                                   EventJournal journal,
+                                   NotificationBatcher batcher,
+                                   GeoSubscriptionRegistry geoSubscriptions,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${notifications.outbox.batch-size:100}") int batchSize,
+                                   @Value("${notifications.outbox.retention-hours:24}") int retentionHours,
+                                   @Value("${notifications.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+                                   @Value("${notifications.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.journal = journal;
+        this.batcher = batcher;
+        this.geoSubscriptions = geoSubscriptions;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retentionHours = retentionHours;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Store an event in the outbox as part of the current transaction and relay it after commit
+     */
+    public void record(NotificationOutboxEvent.EventType eventType, Long requestId,
+                       List<String> destinations, byte[] payload) {
+        outboxRepository.save(NotificationOutboxEvent.builder()
+                .eventType(eventType)
+                .requestId(requestId)
+                .destinations(NotificationOutboxEvent.joinDestinations(destinations))
+                .payload(payload)
+                .createdAt(Instant.now())
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestDrain();
+                }
+            });
+        } else {
+            requestDrain();
+        }
+    }
+
+    /**
+     * Fallback for events whose after-commit trigger was lost (crash, other node)
+     */
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        requestDrain();
+    }
+
+    /**
+     * Relay unpublished events in batches, one transaction per batch
+     *
+     * @return number of events relayed
+     */
+    public int drain() {
+        int relayed = 0;
+        Integer count;
+        do {
+            count = transaction.execute(status -> {
+                List<NotificationOutboxEvent> events = outboxRepository.lockNextUnpublished(batchSize);
+                List<CompletableFuture<Void>> sends = new ArrayList<>(events.size());
+                for (NotificationOutboxEvent event : events) {
+                    sends.add(publish(event));
+                }
+
+                long deadline = System.currentTimeMillis() + confirmTimeoutMs;
+                Instant now = Instant.now();
+                int published = 0;
+                for (int i = 0; i < events.size(); i++) {
+                    NotificationOutboxEvent event = events.get(i);
+                    event.setAttempts(event.getAttempts() + 1);
+                    if (awaitSent(event, sends.get(i), deadline)) {
+                        event.setPublishedAt(now);
+                        published++;
+                    } else if (event.getAttempts() >= maxAttempts) {
+                        event.setFailedAt(now);
+                        log.error("Notification outbox event {} of request {} dead-lettered after {} attempts",
+                                event.getId(), event.getRequestId(), event.getAttempts());
+                    }
+                }
+                outboxRepository.saveAll(events);
+                return published;
+            });
+            relayed += count != null ? count : 0;
+        } while (count != null && count == batchSize);
+        return relayed;
+    }
+
+    /**
+     * Delete published events past the retention period
+     */
+    @Scheduled(cron = "${notifications.outbox.purge-cron:0 15 * * * *}")
+    public void purgePublished() {
+        Instant cutoff = Instant.now().minus(retentionHours, ChronoUnit.HOURS);
+        Integer deleted = transaction.execute(status -> outboxRepository.deletePublishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published notification outbox events", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queue a drain on the relay thread; requests arriving while one is queued are coalesced
+     */
+    private void requestDrain() {
+        if (!drainQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                drainQueued.set(false);
+                try {
+                    drain();
+                } catch (RuntimeException e) {
+                    log.error("Notification outbox relay failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            drainQueued.set(false);
+        }
+    }
+
+    /**
+     * Record the event in the journal and send it to every destination tagged with
+     * its sequence number, so clients can resume from the last one they saw.
+     * The journal keeps all destinations, so a client that resubscribes to a cell
+     * after a reconnect still replays events sent while nobody listened to it.
+     * Retries reuse the stored position unless the journal started a new epoch.
+     */
+    private CompletableFuture<Void> publish(NotificationOutboxEvent event) {
+        List<String> destinations = event.getDestinationList();
+        String epoch = journal.getEpoch();
+        if (event.getJournalSeq() == null || !epoch.equals(event.getJournalEpoch())) {
+            event.setJournalSeq(journal.append(destinations, event.getPayload()));
+            event.setJournalEpoch(epoch);
+        }
+        Map<String, String> headers = Map.of(
+                SEQUENCE_HEADER, Long.toString(event.getJournalSeq()),
+                EPOCH_HEADER, epoch);
+        List<CompletableFuture<Void>> sends = new ArrayList<>(destinations.size());
+        for (String destination : destinations) {
+            if (!geoSubscriptions.isDeliverable(destination)) {
+                continue;
+            }
+            sends.add(batcher.enqueue(destination, event.getPayload(), headers));
+        }
+        return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Wait until the event's frames were handed to the broker
+     */
+    private boolean awaitSent(NotificationOutboxEvent event, CompletableFuture<Void> sent, long deadline) {
+        try {
+            sent.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Notification outbox event {} not confirmed (attempt {}): {}",
+                    event.getId(), event.getAttempts(), e.getCause() != null ? e.getCause().getMessage() : e.toString());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -2,27 +2,60 @@ package com.disaster.service;
 
 import com.disaster.dto.EmergencyRequestDto;
 import com.disaster.entity.EmergencyRequest;
-import lombok.RequiredArgsConstructor;
+import com.disaster.entity.NotificationOutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Service for sending real-time notifications via WebSocket
+ * Service for sending real-time notifications via WebSocket.
+ *
+ * Each request snapshot is serialized once; the same bytes are sent to every
+ * destination. Lifecycle events go through the {@link NotificationOutboxRelay},
+ * so they are only broadcast once the surrounding transaction has committed.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
     
     private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationOutboxRelay outbox;
+    private final int geoPrecision;
+    private final ObjectWriter dtoWriter;
+    private final Cache<EmergencyRequestDto, byte[]> payloads = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    public NotificationService(SimpMessagingTemplate messagingTemplate,
+                               NotificationOutboxRelay outbox,
+                               ObjectMapper objectMapper,
+                               @Value("${notifications.geo.precision:5}") int geoPrecision) {
+        this.messagingTemplate = messagingTemplate;
+        this.outbox = outbox;
+        this.geoPrecision = geoPrecision;
+        this.dtoWriter = objectMapper.writerFor(EmergencyRequestDto.class);
+    }
     
     /**
      * Broadcast new emergency request to all admins and dispatchers
      */
     public void notifyNewEmergencyRequest(EmergencyRequest request) {
         log.info("Broadcasting new emergency request: {}", request.getId());
-        messagingTemplate.convertAndSend("/topic/emergency/new", toDto(request));
+        List<String> destinations = new ArrayList<>();
+        addAreaDestination(request, "new", destinations);
+        outbox.record(NotificationOutboxEvent.EventType.REQUEST_CREATED, request.getId(), destinations, payload(request));
     }
     
     /**
@@ -30,10 +63,12 @@ public class NotificationService {
      */
     public void notifyStatusUpdate(EmergencyRequest request) {
         log.info("Broadcasting status update for request {}: {}", request.getId(), request.getStatus());
-        messagingTemplate.convertAndSend("/topic/emergency/status/" + request.getId(), toDto(request));
+        List<String> destinations = new ArrayList<>();
+        destinations.add("/topic/emergency/status/" + request.getId());
         
-        // Also broadcast to general status updates channel
-        messagingTemplate.convertAndSend("/topic/emergency/updates", toDto(request));
+        // Also broadcast to the area's status updates channel
+        addAreaDestination(request, "updates", destinations);
+        outbox.record(NotificationOutboxEvent.EventType.STATUS_UPDATED, request.getId(), destinations, payload(request));
     }
     
     /**
@@ -41,14 +76,16 @@ public class NotificationService {
      */
     public void notifyTeamAssignment(EmergencyRequest request) {
         log.info("Broadcasting team assignment for request {}", request.getId());
+        List<String> destinations = new ArrayList<>();
         
         // Notify the assigned team
         if (request.getAssignedTeam() != null) {
-            messagingTemplate.convertAndSend("/topic/team/" + request.getAssignedTeam().getId() + "/assignments", toDto(request));
+            destinations.add("/topic/team/" + request.getAssignedTeam().getId() + "/assignments");
         }
         
-        // Notify general updates
-        messagingTemplate.convertAndSend("/topic/emergency/updates", toDto(request));
+        // Notify the area's updates channel
+        addAreaDestination(request, "updates", destinations);
+        outbox.record(NotificationOutboxEvent.EventType.TEAM_ASSIGNED, request.getId(), destinations, payload(request));
     }
     
     /**
@@ -58,6 +95,38 @@ public class NotificationService {
         log.info("Sending notification to user {}: {}", username, message);
         messagingTemplate.convertAndSendToUser(username, "/queue/notifications", message);
     }
+
+    /**
+     * Add the citywide /topic/emergency/{kind} feed, which carries every request for
+     * dispatchers without an operating area, plus /topic/geo/{cell}/{kind} for the
+     * request's geohash cell when it has usable coordinates
+     * (the victim form still submits 0/0 when no position is known)
+     */
+    private void addAreaDestination(EmergencyRequest request, String kind, List<String> destinations) {
+        destinations.add("/topic/emergency/" + kind);
+
+        Double latitude = request.getLatitude();
+        Double longitude = request.getLongitude();
+        if (latitude == null || longitude == null || (latitude == 0 && longitude == 0)) {
+            return;
+        }
+
+        String cell = GeoCell.encode(latitude, longitude, geoPrecision);
+        destinations.add(GeoSubscriptionRegistry.GEO_TOPIC_PREFIX + cell + "/" + kind);
+    }
+
+    /**
+     * Serialized DTO for the current state of the request, shared by all destinations
+     */
+    private byte[] payload(EmergencyRequest request) {
+        return payloads.get(toDto(request), dto -> {
+            try {
+                return dtoWriter.writeValueAsBytes(dto);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
     
     /**
      * Convert entity to DTO for WebSocket transmission
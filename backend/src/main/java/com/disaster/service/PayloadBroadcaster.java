@@ -0,0 +1,40 @@
+package com.disaster.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Map;
+
+/**
+ * Sends pre-serialized JSON payloads to STOMP destinations, bypassing the
+ * per-send message conversion of SimpMessagingTemplate.convertAndSend
+ */
+@Component
+@RequiredArgsConstructor
+public class PayloadBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /**
+     * Broadcast JSON bytes to a destination
+     */
+    public void send(String destination, byte[] json) {
+        send(destination, json, Map.of());
+    }
+
+    /**
+     * Broadcast JSON bytes to a destination with additional STOMP headers
+     */
+    public void send(String destination, byte[] json, Map<String, String> nativeHeaders) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        nativeHeaders.forEach(accessor::setNativeHeader);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+    }
+}
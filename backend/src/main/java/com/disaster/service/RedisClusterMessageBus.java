@@ -0,0 +1,53 @@
+package com.disaster.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Cluster message bus backed by Redis pub/sub (websocket.broker.mode=redis)
+ */
+@Slf4j
+public class RedisClusterMessageBus implements ClusterMessageBus {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final ChannelTopic topic;
+
+    public RedisClusterMessageBus(StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  ObjectMapper objectMapper,
+                                  String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.topic = new ChannelTopic(channel);
+    }
+
+    @Override
+    public void publish(ClusterEnvelope envelope) {
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            // Local subscribers were already served; remote nodes miss this frame
+            log.error("Failed to publish {} to cluster: {}", envelope.getDestination(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEnvelope> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                listener.accept(objectMapper.readValue(message.getBody(), ClusterEnvelope.class));
+            } catch (IOException e) {
+                log.warn("Dropping malformed cluster frame: {}", e.getMessage());
+            }
+        }, topic);
+    }
+}
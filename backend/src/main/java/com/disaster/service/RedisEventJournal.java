@@ -0,0 +1,128 @@
+package com.disaster.service;
+
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Journal shared by all nodes (notifications.journal.store=redis).
+ *
+ * Events live in a capped Redis stream whose entry ids are the sequence numbers
+ * ("{seq}-0"), so every node relays under one sequence and a client can resume
+ * on whichever node it reconnects to. Sequence and append run as one script so
+ * entries are always added in sequence order. The epoch changes only when the
+ * journal keys are lost.
+ */
+public class RedisEventJournal implements EventJournal {
+
+    private static final String STREAM_KEY = "disaster:notifications:journal";
+    private static final String SEQUENCE_KEY = "disaster:notifications:seq";
+    private static final String EPOCH_KEY = "disaster:notifications:epoch";
+    private static final String DESTINATION_SEPARATOR = "\n";
+
+    private static final RedisScript<Long> APPEND = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[3], ARGV[1], 'NX')
+            local seq = redis.call('INCR', KEYS[1])
+            redis.call('XADD', KEYS[2], 'MAXLEN', '~', ARGV[2], seq .. '-0',
+                'ts', ARGV[3], 'dest', ARGV[4], 'payload', ARGV[5])
+            return seq
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final int capacity;
+
+    public RedisEventJournal(StringRedisTemplate redisTemplate, int capacity) {
+        this.redisTemplate = redisTemplate;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public String getEpoch() {
+        String epoch = redisTemplate.opsForValue().get(EPOCH_KEY);
+        if (epoch != null) {
+            return epoch;
+        }
+        redisTemplate.opsForValue().setIfAbsent(EPOCH_KEY, newEpoch());
+        return redisTemplate.opsForValue().get(EPOCH_KEY);
+    }
+
+    @Override
+    public long getLastSequence() {
+        String seq = redisTemplate.opsForValue().get(SEQUENCE_KEY);
+        return seq != null ? Long.parseLong(seq) : 0;
+    }
+
+    @Override
+    public long append(List<String> destinations, byte[] payload) {
+        Long seq = redisTemplate.execute(APPEND, List.of(SEQUENCE_KEY, STREAM_KEY, EPOCH_KEY),
+                newEpoch(), String.valueOf(capacity), String.valueOf(System.currentTimeMillis()),
+                String.join(DESTINATION_SEPARATOR, destinations), new String(payload, StandardCharsets.UTF_8));
+        if (seq == null) {
+            throw new IllegalStateException("Notification journal append returned no sequence");
+        }
+        return seq;
+    }
+
+    @Override
+    public Optional<List<Entry>> readAfter(long afterSeq, String destination, int limit) {
+        long last = getLastSequence();
+        if (afterSeq >= last) {
+            return Optional.of(List.of());
+        }
+
+        List<MapRecord<String, Object, Object>> oldest = redisTemplate.opsForStream()
+                .range(STREAM_KEY, Range.unbounded(), Limit.limit().count(1));
+        long oldestAvailable = oldest == null || oldest.isEmpty() ? last + 1 : seqOf(oldest.get(0));
+        if (afterSeq + 1 < oldestAvailable) {
+            return Optional.empty();
+        }
+
+        // Filtering by destination happens here, so keep paging until the limit is filled
+        List<Entry> events = new ArrayList<>();
+        long from = afterSeq + 1;
+        while (events.size() < limit) {
+            List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().range(STREAM_KEY,
+                    Range.rightUnbounded(Range.Bound.inclusive(from + "-0")), Limit.limit().count(limit));
+            if (records == null || records.isEmpty()) {
+                break;
+            }
+            for (MapRecord<String, Object, Object> record : records) {
+                Entry entry = toEntry(record);
+                if (entry.matches(destination) && events.size() < limit) {
+                    events.add(entry);
+                }
+                from = entry.getSeq() + 1;
+            }
+            if (records.size() < limit) {
+                break;
+            }
+        }
+        return Optional.of(events);
+    }
+
+    private static Entry toEntry(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        return new Entry(seqOf(record),
+                Long.parseLong((String) fields.get("ts")),
+                Arrays.asList(((String) fields.get("dest")).split(DESTINATION_SEPARATOR)),
+                ((String) fields.get("payload")).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long seqOf(MapRecord<String, Object, Object> record) {
+        return record.getId().getTimestamp();
+    }
+
+    private static String newEpoch() {
+        return Long.toString(System.currentTimeMillis(), 36);
+    }
+}
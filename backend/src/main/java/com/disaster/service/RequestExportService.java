@@ -0,0 +1,206 @@
+package com.disaster.service;
+
+import com.disaster.dto.EmergencyRequestExportRow;
+import com.disaster.repository.ArchivedEmergencyRequestRepository;
+import com.disaster.repository.EmergencyRequestRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Streams emergency requests (live and archived history) as NDJSON or CSV.
+ *
+ * Rows come from forward-only driver streams of read-only projections and are written
+ * straight to the output, so memory use does not grow with the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RequestExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern PHONE_OR_NUMBER = Pattern.compile("[+-][0-9 ().-]*");
+
+    private static final List<Column> CSV_COLUMNS = List.of(
+            new Column("id", EmergencyRequestExportRow::getId),
+            new Column("victim_name", EmergencyRequestExportRow::getVictimName),
+            new Column("victim_phone", EmergencyRequestExportRow::getVictimPhone),
+            new Column("location", EmergencyRequestExportRow::getLocation),
+            new Column("latitude", EmergencyRequestExportRow::getLatitude),
+            new Column("longitude", EmergencyRequestExportRow::getLongitude),
+            new Column("emergency_type", EmergencyRequestExportRow::getEmergencyType),
+            new Column("priority", EmergencyRequestExportRow::getPriority),
+            new Column("status", EmergencyRequestExportRow::getStatus),
+            new Column("description", EmergencyRequestExportRow::getDescription),
+            new Column("assigned_team_id", EmergencyRequestExportRow::getAssignedTeamId),
+            new Column("assigned_team_name", EmergencyRequestExportRow::getAssignedTeamName),
+            new Column("created_by", EmergencyRequestExportRow::getCreatedBy),
+            new Column("created_at", EmergencyRequestExportRow::getCreatedAt),
+            new Column("updated_at", EmergencyRequestExportRow::getUpdatedAt),
+            new Column("assigned_at", EmergencyRequestExportRow::getAssignedAt),
+            new Column("responded_at", EmergencyRequestExportRow::getRespondedAt),
+            new Column("completed_at", EmergencyRequestExportRow::getCompletedAt),
+            new Column("resolution_notes", EmergencyRequestExportRow::getResolutionNotes),
+            new Column("archived", EmergencyRequestExportRow::getArchived)
+    );
+
+    private final EmergencyRequestRepository requestRepository;
+    private final ArchivedEmergencyRequestRepository archivedRequestRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    /**
+     * Write requests created in [from, to) to the output; live requests first, then history.
+     * The output is flushed but not closed.
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, Instant from, Instant to, boolean includeHistory, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+
+        long rows;
+        try {
+            rows = write(requestRepository.streamExportRows(from, to), writer);
+            if (includeHistory) {
+                // Sequential: a connection can only serve one streaming result set at a time
+                rows += write(archivedRequestRepository.streamExportRows(from, to), writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+
+        log.info("Exported {} requests as {} in {} ms", rows, format, System.currentTimeMillis() - started);
+        return rows;
+    }
+
+    private static long write(Stream<EmergencyRequestExportRow> rows, RowWriter writer) {
+        long count = 0;
+        try (rows) {
+            for (EmergencyRequestExportRow row : (Iterable<EmergencyRequestExportRow>) rows::iterator) {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * CSV field per RFC 4180; text that a spreadsheet would evaluate as a formula is prefixed with '
+     */
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value.toString();
+        if (value instanceof String && isFormula(text)) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    /**
+     * Text starting with = @ tab or CR is always a formula; a leading + or - is only one when
+     * more than a number follows, so phone numbers like +1 (555) 010-0199 stay unchanged
+     */
+    static boolean isFormula(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        if ("=@\t\r".indexOf(first) >= 0) {
+            return true;
+        }
+        return (first == '+' || first == '-') && !PHONE_OR_NUMBER.matcher(text).matches();
+    }
+
+    private interface RowWriter {
+        void write(EmergencyRequestExportRow row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final ObjectWriter rowWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(EmergencyRequestExportRow row) throws IOException {
+            rowWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write(String.join(",", CSV_COLUMNS.stream().map(Column::name).toList()));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(EmergencyRequestExportRow row) throws IOException {
+            for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(CSV_COLUMNS.get(i).value().apply(row)));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private record Column(String name, Function<EmergencyRequestExportRow, Object> value) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.disaster.service;
+
+import com.disaster.repository.ArchivedEmergencyRequestRepository;
+import com.disaster.repository.ArchivedMessageRepository;
+import com.disaster.repository.DirectMessageRepository;
+import com.disaster.repository.EmergencyRequestRepository;
+import com.disaster.repository.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Lifecycle archiver that keeps emergency_requests limited to the working set:
+ * resolved/cancelled requests older than min-age-days are moved, together with
+ * any chat and direct messages still attached, into the history tables.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RequestHistoryService {
+
+    private final EmergencyRequestRepository requestRepository;
+    private final ArchivedEmergencyRequestRepository archivedRequestRepository;
+    private final ArchivedMessageRepository archivedMessageRepository;
+    private final MessageRepository messageRepository;
+    private final DirectMessageRepository directMessageRepository;
+    private final MessageSearchService searchService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${requests.history.enabled:true}")
+    private boolean historyEnabled;
+
+    @Value("${requests.history.min-age-days:90}")
+    private int minAgeDays;
+
+    @Value("${requests.history.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Move expired closed requests into the history table.
+     * Each batch is copied and deleted in its own transaction.
+     *
+     * @return number of requests moved
+     */
+    @Scheduled(fixedDelayString = "${requests.history.interval-ms:3600000}",
+            initialDelayString = "${requests.history.initial-delay-ms:600000}")
+    public int archiveExpiredRequests() {
+        if (!historyEnabled) {
+            return 0;
+        }
+
+        Instant cutoff = Instant.now().minus(minAgeDays, ChronoUnit.DAYS);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int archivedRequests = 0;
+
+        List<Long> requestIds;
+        do {
+            requestIds = requestRepository.findExpiredClosedRequestIds(cutoff, batchSize);
+            if (requestIds.isEmpty()) {
+                break;
+            }
+
+            List<Long> batch = requestIds;
+            ArchivedBatch moved = transaction.execute(status -> {
+                List<Long> chatMessageIds = messageRepository.findIdsByRequestIds(batch);
+                List<Long> directMessageIds = directMessageRepository.findIdsByRelatedRequestIds(batch);
+                archivedMessageRepository.archiveMessages(batch);
+                archivedMessageRepository.archiveDirectMessages(batch);
+                messageRepository.deleteByRequestIds(batch);
+                directMessageRepository.deleteByRelatedRequestIds(batch);
+                archivedRequestRepository.archiveRequests(batch);
+                return new ArchivedBatch(requestRepository.deleteByIds(batch), chatMessageIds, directMessageIds);
+            });
+            if (moved == null) {
+                continue;
+            }
+
+            // Only once the move has committed, so a rolled back batch stays searchable
+            searchService.removeArchivedMessages(moved.chatMessageIds(), moved.directMessageIds());
+            archivedRequests += moved.requests();
+        } while (requestIds.size() == batchSize);
+
+        if (archivedRequests > 0) {
+            log.info("Moved {} closed requests older than {} days into history", archivedRequests, minAgeDays);
+        }
+        return archivedRequests;
+    }
+
+    private record ArchivedBatch(int requests, List<Long> chatMessageIds, List<Long> directMessageIds) {
+    }
+}
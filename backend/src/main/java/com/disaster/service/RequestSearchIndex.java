@@ -0,0 +1,279 @@
+package com.disaster.service;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process trigram index over the location and description of active emergency requests.
+ *
+ * Text is normalized to lowercase alphanumeric words and split into character trigrams.
+ * A query matches a field when the field contains it as a substring (score 1) or when
+ * enough of the query's trigrams appear in the field, which tolerates typos and partial
+ * street names. Location matches outrank description matches.
+ *
+ * The index is local to this node; {@link RequestSearchService} keeps it in line with
+ * requests written through other nodes by a periodic sync.
+ */
+@Component
+public class RequestSearchIndex {
+
+    static final double MIN_SIMILARITY = 0.45;
+    private static final double DESCRIPTION_WEIGHT = 0.8;
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Index (or re-index) a request
+     */
+    public void index(IndexedRequest request) {
+        Document document = new Document(request);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(request.getId());
+            documents.put(request.getId(), document);
+            for (String trigram : document.allTrigrams()) {
+                postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(request.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a request from the index
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop every indexed request
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed requests
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches first; equal scores are ordered newest first
+     */
+    public List<SearchHit> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<String> queryTrigrams = trigrams(normalized);
+            Iterable<Long> candidates = normalized.length() < 3
+                    ? documents.keySet()
+                    : candidates(queryTrigrams);
+
+            Comparator<SearchHit> ranking = Comparator.comparingDouble(SearchHit::getScore)
+                    .thenComparing(hit -> hit.getRequest().getCreatedAt(), Comparator.nullsFirst(Comparator.naturalOrder()));
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, ranking);
+
+            for (Long id : candidates) {
+                Document document = documents.get(id);
+                double score = Math.max(
+                        similarity(normalized, queryTrigrams, document.location, document.locationTrigrams),
+                        DESCRIPTION_WEIGHT * similarity(normalized, queryTrigrams, document.description, document.descriptionTrigrams));
+                if (score < MIN_SIMILARITY) {
+                    continue;
+                }
+                top.offer(new SearchHit(document.request, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(top);
+            hits.sort(ranking.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lowercase letter/digit words separated by single spaces
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Character trigrams of normalized text, padded so word starts and ends carry weight
+     */
+    static Set<String> trigrams(String normalized) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return trigrams;
+        }
+
+        String padded = "  " + normalized + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Requests sharing enough trigrams with the query to possibly reach the similarity threshold
+     */
+    private List<Long> candidates(Set<String> queryTrigrams) {
+        Map<Long, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<Long> ids = postings.get(trigram);
+            if (ids != null) {
+                ids.forEach(id -> shared.merge(id, 1, Integer::sum));
+            }
+        }
+
+        // Substring matches share every inner trigram, so they always pass this bound
+        double required = Math.min(MIN_SIMILARITY, (double) (queryTrigrams.size() - 3) / queryTrigrams.size())
+                * queryTrigrams.size();
+        List<Long> candidates = new ArrayList<>();
+        shared.forEach((id, count) -> {
+            if (count >= required) {
+                candidates.add(id);
+            }
+        });
+        return candidates;
+    }
+
+    private static double similarity(String query, Set<String> queryTrigrams, String field, Set<String> fieldTrigrams) {
+        if (field.contains(query)) {
+            return 1.0;
+        }
+        if (query.length() < 3) {
+            return 0.0;
+        }
+
+        int shared = 0;
+        for (String trigram : queryTrigrams) {
+            if (fieldTrigrams.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (double) shared / queryTrigrams.size();
+    }
+
+    private void removeInternal(Long id) {
+        Document existing = documents.remove(id);
+        if (existing == null) {
+            return;
+        }
+
+        for (String trigram : existing.allTrigrams()) {
+            Set<Long> ids = postings.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static final class Document {
+        private final IndexedRequest request;
+        private final String location;
+        private final String description;
+        private final Set<String> locationTrigrams;
+        private final Set<String> descriptionTrigrams;
+
+        private Document(IndexedRequest request) {
+            this.request = request;
+            this.location = normalize(request.getLocation());
+            this.description = normalize(request.getDescription());
+            this.locationTrigrams = trigrams(location);
+            this.descriptionTrigrams = trigrams(description);
+        }
+
+        private Set<String> allTrigrams() {
+            Set<String> all = new HashSet<>(locationTrigrams);
+            all.addAll(descriptionTrigrams);
+            return all;
+        }
+    }
+
+    /**
+     * Indexed request fields
+     */
+    @Value
+    @Builder
+    public static class IndexedRequest {
+        Long id;
+        String location;
+        String description;
+        Instant createdAt;
+    }
+
+    /**
+     * Ranked search result
+     */
+    @Value
+    public static class SearchHit {
+        IndexedRequest request;
+        double score;
+    }
+}
@@ -0,0 +1,169 @@
+package com.disaster.service;
+
+import com.disaster.dto.EmergencyRequestSummaryDto;
+import com.disaster.entity.EmergencyRequest;
+import com.disaster.repository.EmergencyRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for location/description search over active emergency requests.
+ *
+ * Matching runs against the in-memory trigram index; the database is only hit
+ * to load the summaries of the returned ids.
+ *
+ * Requests written through this node are applied immediately after commit; the
+ * index is built at startup and periodically picks up requests created, updated
+ * or closed through other nodes from emergency_requests.updated_at.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RequestSearchService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int MAX_RESULTS = 100;
+
+    private final RequestSearchIndex searchIndex;
+    private final EmergencyRequestRepository requestRepository;
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    /**
+     * Load all active requests into the index once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long started = System.currentTimeMillis();
+        Instant syncFrom = Instant.now();
+        searchIndex.clear();
+
+        long lastId = 0L;
+        Slice<EmergencyRequest> batch;
+        do {
+            batch = requestRepository.findNextBatchByStatusIn(lastId, EmergencyRequestService.ACTIVE_STATUSES,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (EmergencyRequest request : batch) {
+                searchIndex.index(toIndexedRequest(request));
+                lastId = request.getId();
+            }
+        } while (batch.hasNext());
+
+        lastSync = syncFrom;
+        log.info("Request search index built with {} documents in {} ms",
+                searchIndex.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Apply requests changed since the last sync, including those written through other nodes
+     */
+    @Scheduled(fixedDelayString = "${requests.search.sync-interval-ms:15000}",
+            initialDelayString = "${requests.search.sync-interval-ms:15000}")
+    @Transactional(readOnly = true)
+    public void syncIndex() {
+        if (lastSync.equals(Instant.EPOCH)) {
+            // Not built yet; the rebuild covers everything up to its start
+            return;
+        }
+        // Overlap the previous window a little so rows committed late are not missed
+        Instant since = lastSync.minusSeconds(60);
+        Instant started = Instant.now();
+
+        int synced = 0;
+        long lastId = 0L;
+        Slice<EmergencyRequest> batch;
+        do {
+            batch = requestRepository.findNextBatchUpdatedSince(lastId, since, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (EmergencyRequest request : batch) {
+                if (EmergencyRequestService.ACTIVE_STATUSES.contains(request.getStatus())) {
+                    searchIndex.index(toIndexedRequest(request));
+                } else {
+                    searchIndex.remove(request.getId());
+                }
+                lastId = request.getId();
+                synced++;
+            }
+        } while (batch.hasNext());
+        lastSync = started;
+
+        if (synced > 0) {
+            log.debug("Synced {} changed requests into the search index", synced);
+        }
+    }
+
+    /**
+     * Index an active request, or drop a closed one, once the surrounding transaction commits
+     */
+    public void onRequestSaved(EmergencyRequest request) {
+        Long id = request.getId();
+        if (EmergencyRequestService.ACTIVE_STATUSES.contains(request.getStatus())) {
+            RequestSearchIndex.IndexedRequest document = toIndexedRequest(request);
+            afterCommit(() -> searchIndex.index(document));
+        } else {
+            afterCommit(() -> searchIndex.remove(id));
+        }
+    }
+
+    /**
+     * Remove a deleted request from the index
+     */
+    public void onRequestRemoved(Long requestId) {
+        afterCommit(() -> searchIndex.remove(requestId));
+    }
+
+    /**
+     * Active requests whose location or description matches the query, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<EmergencyRequestSummaryDto> search(String query, int limit) {
+        List<RequestSearchIndex.SearchHit> hits = searchIndex.search(query, Math.min(Math.max(limit, 1), MAX_RESULTS));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < hits.size(); i++) {
+            rank.put(hits.get(i).getRequest().getId(), i);
+        }
+        List<EmergencyRequestSummaryDto> requests = requestRepository.findSummariesByIdIn(rank.keySet());
+        requests.sort(Comparator.comparing(request -> rank.get(request.getId())));
+        return requests;
+    }
+
+    private RequestSearchIndex.IndexedRequest toIndexedRequest(EmergencyRequest request) {
+        return RequestSearchIndex.IndexedRequest.builder()
+                .id(request.getId())
+                .location(request.getLocation())
+                .description(request.getDescription())
+                .createdAt(request.getCreatedAt())
+                .build();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
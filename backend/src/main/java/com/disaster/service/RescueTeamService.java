@@ -6,8 +6,7 @@ import com.disaster.repository.DepartmentRepository;
 import com.disaster.repository.RescueTeamRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,7 +14,12 @@ import java.util.List;
 import java.util.Set;
 
 /**
- * Service for managing rescue teams
+ * Service for managing rescue teams.
+ *
+ * Teams, their capabilities and status lookups are served from the Hibernate
+ * second-level cache, which Hibernate invalidates on every team write.
+ * Returned teams have their user account loaded: controllers serialize them
+ * after the transaction has ended (open-session-in-view is disabled).
  */
 @Service
 @RequiredArgsConstructor
@@ -29,10 +33,9 @@ public class RescueTeamService {
      * Get team by ID
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "teamDetails", key = "#id")
     public RescueTeam getById(Long id) {
-        return teamRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Team not found: " + id));
+        return withUser(teamRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Team not found: " + id)));
     }
 
     /**
@@ -40,26 +43,24 @@ public class RescueTeamService {
      */
     @Transactional(readOnly = true)
     public List<RescueTeam> getAllTeams() {
-        return teamRepository.findAll();
+        return withUsers(teamRepository.findAll());
     }
 
     /**
      * Get teams by status
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "teamsByStatus", key = "#status")
     public List<RescueTeam> getByStatus(String status) {
         RescueTeam.TeamStatus teamStatus = RescueTeam.TeamStatus.valueOf(status);
-        return teamRepository.findByStatus(teamStatus);
+        return withUsers(teamRepository.findByStatus(teamStatus));
     }
 
     /**
      * Get available teams
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "availableTeams")
     public List<RescueTeam> getAvailableTeams() {
-        return teamRepository.findByStatus(RescueTeam.TeamStatus.AVAILABLE);
+        return withUsers(teamRepository.findByStatus(RescueTeam.TeamStatus.AVAILABLE));
     }
 
     /**
@@ -68,7 +69,7 @@ public class RescueTeamService {
     @Transactional(readOnly = true)
     public List<RescueTeam> getAvailableByCapability(String capability) {
         RescueTeam.EmergencyType emergencyType = RescueTeam.EmergencyType.valueOf(capability);
-        return teamRepository.findAvailableByCapability(emergencyType);
+        return withUsers(teamRepository.findAvailableByCapability(emergencyType));
     }
 
     /**
@@ -76,14 +77,13 @@ public class RescueTeamService {
      */
     @Transactional(readOnly = true)
     public List<RescueTeam> getByDepartmentId(Long departmentId) {
-        return teamRepository.findByDepartmentId(departmentId);
+        return withUsers(teamRepository.findByDepartmentId(departmentId));
     }
 
     /**
      * Create new rescue team
      */
     @Transactional
-    @CacheEvict(value = {"availableTeams", "teamsByStatus"}, allEntries = true)
     public RescueTeam createTeam(RescueTeam team) {
         log.info("Creating rescue team: {}", team.getName());
 
@@ -94,14 +94,13 @@ public class RescueTeamService {
                             "Department not found: " + team.getDepartment().getId()));
         }
 
-        return teamRepository.save(team);
+        return withUser(teamRepository.save(team));
     }
 
     /**
      * Update team status
      */
     @Transactional
-    @CacheEvict(value = {"availableTeams", "teamsByStatus", "teamDetails"}, allEntries = true)
     public RescueTeam updateStatus(Long teamId, String newStatus) {
         log.info("Updating team {} status to {}", teamId, newStatus);
 
@@ -116,7 +115,6 @@ public class RescueTeamService {
      * Update team location
      */
     @Transactional
-    @CacheEvict(value = "teamDetails", key = "#teamId")
     public RescueTeam updateLocation(Long teamId, String location) {
         RescueTeam team = getById(teamId);
         team.setCurrentLocation(location);
@@ -127,7 +125,6 @@ public class RescueTeamService {
      * Update team capabilities
      */
     @Transactional
-    @CacheEvict(value = {"availableTeams", "teamDetails"}, allEntries = true)
     public RescueTeam updateCapabilities(Long teamId, Set<RescueTeam.EmergencyType> capabilities) {
         RescueTeam team = getById(teamId);
         team.setCapabilities(capabilities);
@@ -147,7 +144,6 @@ public class RescueTeamService {
      * Delete team
      */
     @Transactional
-    @CacheEvict(value = {"availableTeams", "teamsByStatus", "teamDetails"}, allEntries = true)
     public void deleteTeam(Long teamId) {
         RescueTeam team = getById(teamId);
         
@@ -158,4 +154,14 @@ public class RescueTeamService {
         teamRepository.delete(team);
         log.info("Deleted team: {}", teamId);
     }
+
+    private static RescueTeam withUser(RescueTeam team) {
+        Hibernate.initialize(team.getUser());
+        return team;
+    }
+
+    private static List<RescueTeam> withUsers(List<RescueTeam> teams) {
+        teams.forEach(RescueTeamService::withUser);
+        return teams;
+    }
 }
@@ -0,0 +1,5 @@
+-- Disaster Management System V2 - Per-request ordering of the notification outbox
+-- The relay only claims the oldest unpublished event of each request; this index
+-- answers that lookup without scanning every pending row.
+
+CREATE INDEX idx_outbox_request_pending ON notification_outbox (request_id, published_at, id);
@@ -0,0 +1,12 @@
+-- Disaster Management System V2 - Sessions ended by logout
+-- Access tokens carry their session id; a row here makes every node reject the
+-- session's tokens until they expire, without revoking the user's other devices.
+
+CREATE TABLE revoked_sessions (
+    session_id VARCHAR(36) PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    revoked_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    expires_at TIMESTAMP(3) NOT NULL,
+    INDEX idx_revoked_sessions_revoked (revoked_at),
+    INDEX idx_revoked_sessions_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
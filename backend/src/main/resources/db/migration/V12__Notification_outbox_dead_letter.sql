@@ -0,0 +1,13 @@
+-- Disaster Management System V2 - Dead-lettering and stable journal positions for the outbox
+-- journal_epoch/journal_seq keep the sequence number assigned on the first relay attempt,
+-- so retries resend the same position instead of journaling the event again.
+-- failed_at marks events given up after notifications.outbox.max-attempts; they no longer
+-- block later events of the same request.
+
+ALTER TABLE notification_outbox
+    ADD COLUMN journal_epoch VARCHAR(64) NULL,
+    ADD COLUMN journal_seq BIGINT NULL,
+    ADD COLUMN failed_at TIMESTAMP(3) NULL;
+
+DROP INDEX idx_outbox_request_pending ON notification_outbox;
+CREATE INDEX idx_outbox_request_pending ON notification_outbox (request_id, published_at, failed_at, id);
@@ -0,0 +1,6 @@
+-- Disaster Management System V2 - Request search index sync
+-- Every node periodically re-reads requests changed since its last sync
+-- (RequestSearchService.syncIndex), so requests created or closed through
+-- another node become searchable, or stop being searchable, on this one too.
+
+CREATE INDEX idx_updated_at ON emergency_requests (updated_at);
@@ -0,0 +1,93 @@
+-- Disaster Management System V2 - Message partitioning & archive tables
+-- Partitions messages and direct_messages by month on created_at and adds
+-- compressed archive tables for threads of resolved/cancelled requests.
+-- New monthly partitions are added ahead of time by MessageArchiveService.
+
+-- direct_messages was previously created outside Flyway (create_direct_messages_table.sql)
+CREATE TABLE IF NOT EXISTS direct_messages (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    sender_id BIGINT NOT NULL,
+    recipient_id BIGINT NOT NULL,
+    content VARCHAR(2000) NOT NULL,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    read_at TIMESTAMP NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    related_request_id BIGINT NULL,
+    INDEX idx_sender (sender_id),
+    INDEX idx_recipient (recipient_id),
+    INDEX idx_created_at (created_at),
+    INDEX idx_is_read (is_read)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Partitioned InnoDB tables cannot have foreign keys; drop whatever MySQL generated.
+-- Request/user deletes are cascaded through JPA (EmergencyRequest.messages) instead.
+SET @fk := (SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY ', CONSTRAINT_NAME) SEPARATOR ', ')
+            FROM information_schema.TABLE_CONSTRAINTS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'messages'
+              AND CONSTRAINT_TYPE = 'FOREIGN KEY');
+SET @sql := IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE messages ', @fk));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @fk := (SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY ', CONSTRAINT_NAME) SEPARATOR ', ')
+            FROM information_schema.TABLE_CONSTRAINTS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'direct_messages'
+              AND CONSTRAINT_TYPE = 'FOREIGN KEY');
+SET @sql := IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE direct_messages ', @fk));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- The partitioning column must be part of every unique key
+ALTER TABLE messages DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+ALTER TABLE direct_messages DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+
+-- Everything before the current month lands in p_history; monthly partitions
+-- from the current month onwards are split out of pmax by the application.
+SET @boundary := UNIX_TIMESTAMP(DATE_FORMAT(CURRENT_DATE, '%Y-%m-01'));
+
+SET @sql := CONCAT('ALTER TABLE messages PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (',
+                   'PARTITION p_history VALUES LESS THAN (', @boundary, '), ',
+                   'PARTITION pmax VALUES LESS THAN MAXVALUE)');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @sql := CONCAT('ALTER TABLE direct_messages PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (',
+                   'PARTITION p_history VALUES LESS THAN (', @boundary, '), ',
+                   'PARTITION pmax VALUES LESS THAN MAXVALUE)');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Archive tables (compressed, not partitioned)
+CREATE TABLE messages_archive (
+    id BIGINT PRIMARY KEY,
+    request_id BIGINT NOT NULL,
+    content VARCHAR(2000) NOT NULL,
+    sender_name VARCHAR(100) NOT NULL,
+    sender_type VARCHAR(20) NOT NULL,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_archive_request (request_id, created_at)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE direct_messages_archive (
+    id BIGINT PRIMARY KEY,
+    sender_id BIGINT NOT NULL,
+    recipient_id BIGINT NOT NULL,
+    content VARCHAR(2000) NOT NULL,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    read_at TIMESTAMP NULL,
+    created_at TIMESTAMP NOT NULL,
+    related_request_id BIGINT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_archive_sender (sender_id),
+    INDEX idx_archive_recipient (recipient_id),
+    INDEX idx_archive_request (related_request_id)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Lets the archiver find finished requests without scanning the whole table
+CREATE INDEX idx_status_completed ON emergency_requests (status, completed_at);
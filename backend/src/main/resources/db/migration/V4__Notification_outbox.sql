@@ -0,0 +1,15 @@
+-- Disaster Management System V2 - Transactional outbox for lifecycle notifications
+-- Rows are written in the same transaction as the request change and relayed to
+-- the WebSocket broker after commit by NotificationOutboxRelay.
+
+CREATE TABLE notification_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(30) NOT NULL,
+    request_id BIGINT NOT NULL,
+    destinations VARCHAR(1000) NOT NULL,
+    payload MEDIUMBLOB NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    published_at TIMESTAMP(3) NULL,
+    INDEX idx_outbox_pending (published_at, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,7 @@
+-- Disaster Management System V2 - Account version for stateless JWT authorization
+-- Tokens carry the version they were issued for; bumping it revokes every older token.
+
+ALTER TABLE users ADD COLUMN token_version INT NOT NULL DEFAULT 0;
+
+-- Lets nodes pick up revocations made elsewhere without scanning the table
+CREATE INDEX idx_users_token_version ON users (token_version, updated_at);
@@ -0,0 +1,30 @@
+-- Disaster Management System V2 - Table-backed pooled ID generation
+-- IDENTITY ids make Hibernate insert row by row and ignore jdbc.batch_size.
+-- Entities now take ids from this table in blocks of 50 (allocationSize) and
+-- hand them out from memory, so inserts can be batched.
+--
+-- next_val is the upper bound of the last allocated block; it is seeded past the
+-- highest existing id (including archived messages, which keep their ids).
+-- AUTO_INCREMENT stays on the columns for manual inserts, but application writes
+-- must go through JPA so they never collide with blocks reserved by a node.
+
+CREATE TABLE id_generators (
+    entity_name VARCHAR(64) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_generators (entity_name, next_val)
+SELECT 'users', COALESCE(MAX(id), 0) + 50 FROM users;
+
+INSERT INTO id_generators (entity_name, next_val)
+SELECT 'emergency_requests', COALESCE(MAX(id), 0) + 50 FROM emergency_requests;
+
+INSERT INTO id_generators (entity_name, next_val)
+SELECT 'messages', GREATEST(
+        COALESCE((SELECT MAX(id) FROM messages), 0),
+        COALESCE((SELECT MAX(id) FROM messages_archive), 0)) + 50;
+
+INSERT INTO id_generators (entity_name, next_val)
+SELECT 'direct_messages', GREATEST(
+        COALESCE((SELECT MAX(id) FROM direct_messages), 0),
+        COALESCE((SELECT MAX(id) FROM direct_messages_archive), 0)) + 50;
@@ -0,0 +1,23 @@
+-- Disaster Management System V2 - Capability bitmask on rescue teams
+-- Denormalizes team_capabilities into one integer (bit per EmergencyType, see
+-- RescueTeam.EmergencyType) so available teams can be matched without a join.
+-- The application keeps it in sync on every team insert/update.
+
+ALTER TABLE rescue_teams ADD COLUMN capability_mask INT NOT NULL DEFAULT 0;
+
+UPDATE rescue_teams t
+SET t.capability_mask = (
+    SELECT COALESCE(SUM(DISTINCT CASE c.capability
+        WHEN 'FIRE' THEN 1
+        WHEN 'MEDICAL' THEN 2
+        WHEN 'CRIME' THEN 4
+        WHEN 'NATURAL_DISASTER' THEN 8
+        WHEN 'ACCIDENT' THEN 16
+        WHEN 'RESCUE' THEN 32
+        WHEN 'HAZMAT' THEN 64
+        ELSE 0 END), 0)
+    FROM team_capabilities c
+    WHERE c.team_id = t.id);
+
+-- Equality on status, ordered by member_count, mask tested from the index
+CREATE INDEX idx_available_capability ON rescue_teams (status, member_count, capability_mask);
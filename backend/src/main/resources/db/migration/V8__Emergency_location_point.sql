@@ -0,0 +1,14 @@
+-- Disaster Management System V2 - Spatial index on emergency request locations
+-- location_point is derived from latitude/longitude by MySQL on every insert/update.
+-- POINT(x, y) takes longitude first; ST_SRID only tags it as WGS 84 (SRID 4326).
+-- A SPATIAL INDEX needs a NOT NULL column, so requests without (valid) coordinates
+-- get POINT(0 0) and are excluded by the queries through latitude IS NOT NULL.
+
+ALTER TABLE emergency_requests
+    ADD COLUMN location_point POINT SRID 4326 GENERATED ALWAYS AS (
+        IF(latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180,
+           ST_SRID(POINT(longitude, latitude), 4326),
+           ST_SRID(POINT(0, 0), 4326))
+    ) STORED NOT NULL;
+
+CREATE SPATIAL INDEX idx_location_point ON emergency_requests (location_point);
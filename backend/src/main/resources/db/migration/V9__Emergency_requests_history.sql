@@ -0,0 +1,41 @@
+-- Disaster Management System V2 - Hot/cold split for emergency requests
+-- Resolved/cancelled requests past the retention window are moved by
+-- RequestHistoryService into a compressed history table, so the working set
+-- of dispatch queries on emergency_requests stays small.
+
+-- EmergencyRequest.createdBy was mapped but never created by a migration
+SET @missing := (SELECT COUNT(*) = 0 FROM information_schema.COLUMNS
+                 WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'emergency_requests'
+                   AND COLUMN_NAME = 'created_by');
+SET @sql := IF(@missing, 'ALTER TABLE emergency_requests ADD COLUMN created_by VARCHAR(100) NULL', 'DO 0');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Same columns as emergency_requests (no spatial column: history is never searched by area),
+-- no foreign keys so team deletes never touch history
+CREATE TABLE emergency_requests_history (
+    id BIGINT PRIMARY KEY,
+    victim_name VARCHAR(100) NOT NULL,
+    victim_phone VARCHAR(100),
+    location VARCHAR(300) NOT NULL,
+    latitude DECIMAL(10, 7),
+    longitude DECIMAL(10, 7),
+    emergency_type VARCHAR(30) NOT NULL,
+    priority VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    description VARCHAR(1000),
+    assigned_team_id BIGINT,
+    assigned_at TIMESTAMP NULL,
+    responded_at TIMESTAMP NULL,
+    completed_at TIMESTAMP NULL,
+    resolution_notes VARCHAR(1000),
+    created_by VARCHAR(100),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_history_created_at (created_at),
+    INDEX idx_history_status (status, created_at),
+    INDEX idx_history_team (assigned_team_id),
+    INDEX idx_history_created_by (created_by)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
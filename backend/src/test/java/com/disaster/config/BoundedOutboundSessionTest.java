@@ -0,0 +1,152 @@
+package com.disaster.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BoundedOutboundSession overflow policies
+ */
+@ExtendWith(MockitoExtension.class)
+class BoundedOutboundSessionTest {
+
+    @Mock
+    private WebSocketSession delegate;
+
+    private final List<Runnable> drainTasks = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundSessionRegistry registry;
+    private BoundedOutboundSession session;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new OutboundSessionRegistry(meterRegistry, 3, 5, 10_000, 1);
+        session = new BoundedOutboundSession(delegate, registry, drainTasks::add, 3, 5, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void queuedFrames_AreSentInOrderByDrainTask() throws Exception {
+        session.sendMessage(frame("/topic/emergency/new", "1"));
+        session.sendMessage(frame("/topic/emergency/new", "2"));
+        assertEquals(1, drainTasks.size());
+
+        drainTasks.get(0).run();
+
+        ArgumentCaptor<WebSocketMessage<?>> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(delegate, times(2)).sendMessage(captor.capture());
+        assertTrue(captor.getAllValues().get(0).getPayload().toString().endsWith("1"));
+        assertEquals(2, session.stats().getSent());
+    }
+
+    @Test
+    void typingFrames_AreDroppedFirstWhenFull() throws Exception {
+        session.sendMessage(frame("/topic/chat/1/typing", "t1"));
+        session.sendMessage(frame("/topic/emergency/new", "1"));
+        session.sendMessage(frame("/topic/emergency/new", "2"));
+
+        session.sendMessage(frame("/topic/chat/1/typing", "t2"));
+        session.sendMessage(frame("/topic/emergency/new", "3"));
+
+        assertEquals(3, session.stats().getQueued());
+        assertEquals(2, session.stats().getDroppedTyping());
+        assertEquals(2.0, meterRegistry.counter("websocket.outbound.dropped", "reason", "typing").count());
+    }
+
+    @Test
+    void statusFrames_AreConflatedPerRequest() throws Exception {
+        session.sendMessage(frame("/topic/emergency/status/7", "ASSIGNED"));
+        session.sendMessage(frame("/topic/emergency/status/7", "EN_ROUTE"));
+        session.sendMessage(frame("/topic/emergency/status/8", "ASSIGNED"));
+
+        assertEquals(2, session.stats().getQueued());
+        assertEquals(1, session.stats().getConflated());
+
+        drainTasks.get(0).run();
+        ArgumentCaptor<WebSocketMessage<?>> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(delegate, times(2)).sendMessage(captor.capture());
+        assertTrue(captor.getAllValues().get(0).getPayload().toString().endsWith("EN_ROUTE"));
+    }
+
+    @Test
+    void statusFrames_AreConflatedPerSubscription() throws Exception {
+        session.sendMessage(frame("/topic/emergency/status/7", "sub-0", "ASSIGNED"));
+        session.sendMessage(frame("/topic/emergency/status/7", "sub-1", "ASSIGNED"));
+        session.sendMessage(frame("/topic/emergency/status/7", "sub-1", "EN_ROUTE"));
+
+        assertEquals(2, session.stats().getQueued());
+        assertEquals(1, session.stats().getConflated());
+    }
+
+    @Test
+    void stuckSend_IsClosedWithoutFurtherFrames() throws Exception {
+        BoundedOutboundSession shortLimit = new BoundedOutboundSession(delegate, registry, Runnable::run, 3, 5, 50);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(delegate).sendMessage(any());
+
+        Thread writer = new Thread(() -> {
+            try {
+                shortLimit.sendMessage(frame("/topic/emergency/new", "1"));
+            } catch (Exception ignored) {
+                // not expected
+            }
+        });
+        writer.start();
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        assertTrue(shortLimit.checkSendTimeLimit());
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+        release.countDown();
+        writer.join(5000);
+    }
+
+    @Test
+    void session_IsClosedAtDisconnectThreshold() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            session.sendMessage(frame("/topic/emergency/new", String.valueOf(i)));
+        }
+
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1.0, meterRegistry.counter("websocket.outbound.disconnects").count());
+
+        session.sendMessage(frame("/topic/emergency/new", "late"));
+        verify(delegate, never()).sendMessage(any());
+    }
+
+    private TextMessage frame(String destination, String body) {
+        return frame(destination, "sub-0", body);
+    }
+
+    private TextMessage frame(String destination, String subscription, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\ncontent-type:application/json\n"
+                + "subscription:" + subscription + "\nmessage-id:1\n\n" + body);
+    }
+}
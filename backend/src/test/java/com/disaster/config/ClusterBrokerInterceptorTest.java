@@ -0,0 +1,108 @@
+package com.disaster.config;
+
+import com.disaster.service.InMemoryClusterMessageBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ClusterBrokerInterceptor using two nodes on the in-memory bus
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterBrokerInterceptorTest {
+
+    @Mock
+    private SimpMessagingTemplate templateA;
+
+    @Mock
+    private SimpMessagingTemplate templateB;
+
+    @Mock
+    private ObjectProvider<SimpMessagingTemplate> providerA;
+
+    @Mock
+    private ObjectProvider<SimpMessagingTemplate> providerB;
+
+    @Mock
+    private MessageChannel brokerChannel;
+
+    private ClusterBrokerInterceptor nodeA;
+    private ClusterBrokerInterceptor nodeB;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryClusterMessageBus.Hub hub = new InMemoryClusterMessageBus.Hub();
+        nodeA = new ClusterBrokerInterceptor(new InMemoryClusterMessageBus(hub), providerA, "node-a");
+        nodeB = new ClusterBrokerInterceptor(new InMemoryClusterMessageBus(hub), providerB, "node-b");
+    }
+
+    @Test
+    void topicBroadcast_IsDeliveredToOtherNodeOnly() {
+        when(providerB.getObject()).thenReturn(templateB);
+        byte[] payload = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        nodeA.preSend(brokerMessage("/topic/emergency/new", payload, null), brokerChannel);
+
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(templateB).send(eq("/topic/emergency/new"), captor.capture());
+        verifyNoInteractions(templateA);
+
+        Message<?> delivered = captor.getValue();
+        assertArrayEquals(payload, (byte[]) delivered.getPayload());
+        assertEquals("node-a", delivered.getHeaders().get(ClusterBrokerInterceptor.ORIGIN_HEADER));
+        assertEquals(MimeTypeUtils.APPLICATION_JSON,
+                SimpMessageHeaderAccessor.wrap(delivered).getContentType());
+    }
+
+    @Test
+    void userDestination_IsMirrored() {
+        when(providerB.getObject()).thenReturn(templateB);
+
+        nodeA.preSend(brokerMessage("/user/alice/queue/notifications", new byte[]{1}, null), brokerChannel);
+
+        verify(templateB).send(eq("/user/alice/queue/notifications"), any(Message.class));
+    }
+
+    @Test
+    void remoteFrame_IsNotPublishedAgain() {
+        nodeB.preSend(brokerMessage("/topic/emergency/updates", new byte[]{1}, "node-a"), brokerChannel);
+
+        verifyNoInteractions(templateA, templateB);
+    }
+
+    @Test
+    void resolvedSessionQueue_StaysLocal() {
+        nodeA.preSend(brokerMessage("/queue/notifications-user123", new byte[]{1}, null), brokerChannel);
+
+        verify(templateB, never()).send(anyString(), any(Message.class));
+    }
+
+    private Message<byte[]> brokerMessage(String destination, byte[] payload, String origin) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (origin != null) {
+            accessor.setHeader(ClusterBrokerInterceptor.ORIGIN_HEADER, origin);
+        }
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,30 @@
+package com.disaster.config;
+
+import com.disaster.service.EventJournal;
+import com.disaster.service.InMemoryEventJournal;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EventJournalConfig
+ */
+class EventJournalConfigTest {
+
+    private final EventJournalConfig config = new EventJournalConfig();
+
+    @Test
+    void inMemoryJournal_SingleNode() {
+        EventJournal journal = config.inMemoryEventJournal("simple", 10, "", 0);
+
+        assertInstanceOf(InMemoryEventJournal.class, journal);
+    }
+
+    @Test
+    void inMemoryJournal_IsRefusedWithClusteredBroker() {
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> config.inMemoryEventJournal("redis", 10, "", 0));
+
+        assertTrue(error.getMessage().contains("notifications.journal.store=redis"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.disaster.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that every second-level cache region used by the entities and repositories
+ * is configured in application.conf (unlisted regions would be unbounded and never expire)
+ */
+class HibernateCacheRegionsTest {
+
+    private final Config config = ConfigFactory.load();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"departments", "rescue-teams", "rescue-team-capabilities",
+            "active-departments-query", "teams-by-status-query", "default-query-results-region"})
+    void region_IsBoundedAndExpires(String region) {
+        Optional<CaffeineConfiguration<Object, Object>> configuration = TypesafeConfigurator.from(config, region);
+
+        assertTrue(configuration.isPresent(), region + " is not configured");
+        assertTrue(configuration.get().getMaximumSize().isPresent());
+        assertTrue(configuration.get().getExpireAfterWrite().isPresent());
+    }
+
+    @Test
+    void timestampsRegion_NeverExpires() {
+        CaffeineConfiguration<Object, Object> configuration =
+                TypesafeConfigurator.from(config, "default-update-timestamps-region").orElseThrow();
+
+        assertTrue(configuration.getMaximumSize().isEmpty());
+        assertTrue(configuration.getExpireAfterWrite().isEmpty());
+    }
+}
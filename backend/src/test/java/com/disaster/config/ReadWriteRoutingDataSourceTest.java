@@ -0,0 +1,149 @@
+package com.disaster.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for ReadWriteRoutingDataSource using two TestContainers MySQL servers.
+ * Each server holds a marker row naming itself, so a query shows where it was routed.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadWriteRoutingDataSourceTest {
+
+    @Container
+    static MySQLContainer<?> primaryDb = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static MySQLContainer<?> replicaDb = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaLagGuard guard;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = dataSource(primaryDb);
+        replica = dataSource(replicaDb);
+        mark(primary, "primary");
+        mark(replica, "replica");
+
+        guard = new ReplicaLagGuard(replica, 5, 60_000, 1000, new SimpleMeterRegistry());
+        LazyConnectionDataSourceProxy routing =
+                new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, guard));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() {
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+    }
+
+    @Test
+    void readAfterWrite_StaysOnPrimaryWithinWindow() {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET touched = touched + 1"));
+
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void readAfterWrite_OtherAnonymousClient_UsesReplica() {
+        asClient("10.0.0.1");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET touched = touched + 1"));
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        asClient("10.0.0.2");
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void standaloneServer_CountsAsUsableReplica() {
+        guard.checkLag();
+
+        assertTrue(guard.isReplicaUsable());
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void unreachableReplica_FallsBackToPrimary() {
+        replica.close();
+
+        assertEquals("primary", readOnly.execute(status -> node()));
+        assertFalse(guard.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void replicaFailure_RecoversOnNextLagCheck() {
+        guard.replicaFailed(new SQLException("connection refused"));
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        guard.checkLag();
+
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    private static void asClient(String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(ip);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static HikariDataSource dataSource(MySQLContainer<?> container) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(container.getJdbcUrl());
+        dataSource.setUsername(container.getUsername());
+        dataSource.setPassword(container.getPassword());
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+
+    private static void mark(HikariDataSource dataSource, String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS node");
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20) NOT NULL, touched INT NOT NULL DEFAULT 0)");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+    }
+}
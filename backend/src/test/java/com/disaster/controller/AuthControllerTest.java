@@ -133,7 +133,7 @@ class AuthControllerTest {
     @WithMockUser(username = "testuser")
     void getCurrentUser_Success() throws Exception {
         // Arrange
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserProfile()).thenReturn(testUser);
 
         // Act & Assert
         mockMvc.perform(get("/api/auth/me"))
@@ -0,0 +1,31 @@
+package com.disaster.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EmergencyRequestController export content negotiation
+ */
+class EmergencyRequestControllerTest {
+
+    @Test
+    void acceptsGzip_HonoursQualityValues() {
+        assertTrue(EmergencyRequestController.acceptsGzip("gzip, deflate, br"));
+        assertTrue(EmergencyRequestController.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(EmergencyRequestController.acceptsGzip("*"));
+
+        assertFalse(EmergencyRequestController.acceptsGzip(null));
+        assertFalse(EmergencyRequestController.acceptsGzip("identity"));
+        assertFalse(EmergencyRequestController.acceptsGzip("gzip;q=0"));
+        assertFalse(EmergencyRequestController.acceptsGzip("gzip; q=0.000, deflate"));
+        assertFalse(EmergencyRequestController.acceptsGzip("*;q=0"));
+        assertFalse(EmergencyRequestController.acceptsGzip("gzip;q=0, *"));
+        assertFalse(EmergencyRequestController.acceptsGzip("gzip;q=abc"));
+    }
+
+    @Test
+    void acceptsGzip_ExplicitEntryOverridesWildcard() {
+        assertTrue(EmergencyRequestController.acceptsGzip("*;q=0, gzip"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.disaster.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RescueTeam capability masks
+ */
+class RescueTeamTest {
+
+    @Test
+    void toMask_CombinesBitsOfEachType() {
+        assertEquals(0, RescueTeam.EmergencyType.toMask(null));
+        assertEquals(0, RescueTeam.EmergencyType.toMask(Set.of()));
+        assertEquals(0b101, RescueTeam.EmergencyType.toMask(
+                List.of(RescueTeam.EmergencyType.FIRE, RescueTeam.EmergencyType.CRIME, RescueTeam.EmergencyType.FIRE)));
+        assertEquals(0b1111111, RescueTeam.EmergencyType.toMask(EnumSet.allOf(RescueTeam.EmergencyType.class)));
+    }
+
+    @Test
+    void bits_AreDistinctAndStable() {
+        int seen = 0;
+        for (RescueTeam.EmergencyType type : RescueTeam.EmergencyType.values()) {
+            assertEquals(1, Integer.bitCount(type.bit()), type.name());
+            assertEquals(0, seen & type.bit(), type.name() + " reuses a bit");
+            seen |= type.bit();
+        }
+        // Stored in rescue_teams.capability_mask: positions must never change
+        assertEquals(1, RescueTeam.EmergencyType.FIRE.bit());
+        assertEquals(1 << 6, RescueTeam.EmergencyType.HAZMAT.bit());
+    }
+
+    @Test
+    void builder_DefaultsToEmptyMask() {
+        RescueTeam team = RescueTeam.builder().name("Fire Team Alpha").build();
+
+        assertEquals(0, team.getCapabilityMask());
+    }
+
+    @Test
+    void setCapabilities_UpdatesMask() {
+        RescueTeam team = RescueTeam.builder().name("Fire Team Alpha").build();
+
+        team.setCapabilities(EnumSet.of(RescueTeam.EmergencyType.MEDICAL, RescueTeam.EmergencyType.RESCUE));
+
+        assertEquals(RescueTeam.EmergencyType.MEDICAL.bit() | RescueTeam.EmergencyType.RESCUE.bit(),
+                team.getCapabilityMask());
+    }
+
+    @Test
+    void syncCapabilityMask_PicksUpInPlaceChanges() {
+        RescueTeam team = RescueTeam.builder()
+                .capabilities(new HashSet<>(Set.of(RescueTeam.EmergencyType.FIRE)))
+                .build();
+        team.syncCapabilityMask();
+        assertEquals(RescueTeam.EmergencyType.FIRE.bit(), team.getCapabilityMask());
+
+        team.getCapabilities().remove(RescueTeam.EmergencyType.FIRE);
+        team.getCapabilities().add(RescueTeam.EmergencyType.HAZMAT);
+        team.syncCapabilityMask();
+
+        assertEquals(RescueTeam.EmergencyType.HAZMAT.bit(), team.getCapabilityMask());
+    }
+}
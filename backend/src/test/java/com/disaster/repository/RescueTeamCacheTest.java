@@ -0,0 +1,128 @@
+package com.disaster.repository;
+
+import com.disaster.entity.Department;
+import com.disaster.entity.RescueTeam;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the RescueTeam second-level cache using TestContainers.
+ * Every repository call runs in its own transaction, so repeated reads can only be
+ * served from the second-level cache, never from the persistence context.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RescueTeamCacheTest {
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+    }
+
+    @Autowired
+    private RescueTeamRepository teamRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SessionFactory sessionFactory;
+    private SimpleMeterRegistry meterRegistry;
+    private Department department;
+    private RescueTeam team;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        meterRegistry = new SimpleMeterRegistry();
+        new HibernateMetrics(sessionFactory, "entityManagerFactory", Tags.empty()).bindTo(meterRegistry);
+
+        department = departmentRepository.save(Department.builder()
+                .name("Fire Department")
+                .active(true)
+                .build());
+        team = teamRepository.save(RescueTeam.builder()
+                .name("Fire Team Alpha")
+                .department(department)
+                .status(RescueTeam.TeamStatus.AVAILABLE)
+                .capabilities(Set.of(RescueTeam.EmergencyType.FIRE))
+                .build());
+
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getStatistics().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        teamRepository.deleteById(team.getId());
+        departmentRepository.deleteById(department.getId());
+    }
+
+    @Test
+    void findById_RepeatedRead_IsCacheHitRecordedInMetrics() {
+        teamRepository.findById(team.getId()).orElseThrow();
+        teamRepository.findById(team.getId()).orElseThrow();
+
+        assertEquals(1, sessionFactory.getStatistics().getDomainDataRegionStatistics("rescue-teams").getHitCount());
+        assertEquals(1.0, meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "rescue-teams", "result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void statusUpdate_InvalidatesCachedTeamAndStatusQuery() {
+        assertEquals(RescueTeam.TeamStatus.AVAILABLE, teamRepository.findById(team.getId()).orElseThrow().getStatus());
+        assertTrue(teamIds(RescueTeam.TeamStatus.AVAILABLE).contains(team.getId()));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            RescueTeam managed = teamRepository.findById(team.getId()).orElseThrow();
+            managed.setStatus(RescueTeam.TeamStatus.ASSIGNED);
+        });
+
+        assertEquals(RescueTeam.TeamStatus.ASSIGNED, teamRepository.findById(team.getId()).orElseThrow().getStatus());
+        assertFalse(teamIds(RescueTeam.TeamStatus.AVAILABLE).contains(team.getId()));
+        assertTrue(teamIds(RescueTeam.TeamStatus.ASSIGNED).contains(team.getId()));
+    }
+
+    private List<Long> teamIds(RescueTeam.TeamStatus status) {
+        return teamRepository.findByStatus(status).stream().map(RescueTeam::getId).toList();
+    }
+}
@@ -0,0 +1,91 @@
+package com.disaster.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryRefreshTokenStore
+ */
+class InMemoryRefreshTokenStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant EXPIRES = NOW.plusSeconds(3600);
+
+    private InMemoryRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRefreshTokenStore(Clock.fixed(NOW, ZoneOffset.UTC));
+        store.create("fam-1", "t1", "dispatcher1", EXPIRES);
+    }
+
+    @Test
+    void rotate_AcceptsCurrentTokenOnce() {
+        assertEquals(RefreshTokenStore.Rotation.ROTATED, store.rotate("dispatcher1", "fam-1", "t1", "t2", EXPIRES));
+        assertEquals(RefreshTokenStore.Rotation.ROTATED, store.rotate("dispatcher1", "fam-1", "t2", "t3", EXPIRES));
+    }
+
+    @Test
+    void rotate_ReusedTokenRevokesFamily() {
+        store.rotate("dispatcher1", "fam-1", "t1", "t2", EXPIRES);
+
+        assertEquals(RefreshTokenStore.Rotation.REUSED, store.rotate("dispatcher1", "fam-1", "t1", "t3", EXPIRES));
+        assertEquals(RefreshTokenStore.Rotation.INVALID, store.rotate("dispatcher1", "fam-1", "t2", "t4", EXPIRES));
+    }
+
+    @Test
+    void revokeUser_InvalidatesAllFamiliesOfUserOnly() {
+        store.create("fam-2", "u1", "dispatcher1", EXPIRES);
+        store.create("fam-3", "v1", "responder1", EXPIRES);
+
+        store.revokeUser("dispatcher1");
+
+        assertEquals(RefreshTokenStore.Rotation.INVALID, store.rotate("dispatcher1", "fam-1", "t1", "t2", EXPIRES));
+        assertEquals(RefreshTokenStore.Rotation.INVALID, store.rotate("dispatcher1", "fam-2", "u1", "u2", EXPIRES));
+        assertEquals(RefreshTokenStore.Rotation.ROTATED, store.rotate("responder1", "fam-3", "v1", "v2", EXPIRES));
+
+        // Sessions started after the revocation work again
+        store.create("fam-4", "w1", "dispatcher1", EXPIRES);
+        assertEquals(RefreshTokenStore.Rotation.ROTATED, store.rotate("dispatcher1", "fam-4", "w1", "w2", EXPIRES));
+    }
+
+    @Test
+    void purge_DropsExpiredAndRevokedFamilies() {
+        store.create("fam-2", "u1", "responder1", NOW.minusSeconds(1));
+        store.create("fam-3", "v1", "victim1", EXPIRES);
+        store.revokeUser("victim1");
+
+        assertEquals(2, store.purge());
+        assertEquals(RefreshTokenStore.Rotation.ROTATED, store.rotate("dispatcher1", "fam-1", "t1", "t2", EXPIRES));
+    }
+
+    @Test
+    void purge_ForgetsGenerationsOfUsersWithoutFamilies() {
+        store.create("fam-2", "u1", "victim1", EXPIRES);
+        store.revokeUser("victim1");
+        store.revokeUser("dispatcher1");
+        store.create("fam-3", "v1", "dispatcher1", EXPIRES);
+
+        assertEquals(2, store.purge());
+
+        // dispatcher1 still has a family created under its current generation
+        assertEquals(1, store.trackedUsers());
+        assertEquals(RefreshTokenStore.Rotation.ROTATED, store.rotate("dispatcher1", "fam-3", "v1", "v2", EXPIRES));
+        store.create("fam-4", "w1", "victim1", EXPIRES);
+        assertEquals(RefreshTokenStore.Rotation.ROTATED, store.rotate("victim1", "fam-4", "w1", "w2", EXPIRES));
+    }
+
+    @Test
+    void rotate_FamilyOfAnotherUser_IsInvalid() {
+        assertEquals(RefreshTokenStore.Rotation.INVALID, store.rotate("responder1", "fam-1", "t1", "t2", EXPIRES));
+
+        store.revokeFamily("responder1", "fam-1");
+        assertEquals(RefreshTokenStore.Rotation.ROTATED, store.rotate("dispatcher1", "fam-1", "t1", "t2", EXPIRES));
+    }
+}
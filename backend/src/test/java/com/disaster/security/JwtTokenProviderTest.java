@@ -0,0 +1,118 @@
+package com.disaster.security;
+
+import com.disaster.entity.Department;
+import com.disaster.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtTokenProvider
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "TestSecretKeyForHS512AlgorithmThatIsAtLeastSixtyFourBytesLongForJjwt0123";
+
+    @Test
+    void parseVerifiedClaims_ValidToken_ReturnsSubject() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, 120_000L, 100, 300);
+        String token = provider.generateToken(dispatcher());
+
+        Claims claims = provider.parseVerifiedClaims(token);
+
+        assertNotNull(claims);
+        assertEquals("dispatcher1", claims.getSubject());
+        assertEquals("dispatcher1", provider.getUsernameFromToken(token));
+        assertTrue(provider.validateToken(token));
+    }
+
+    @Test
+    void parseVerifiedClaims_SameToken_IsServedFromCache() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, 120_000L, 100, 300);
+        String token = provider.generateToken(dispatcher());
+
+        assertSame(provider.parseVerifiedClaims(token), provider.parseVerifiedClaims(token));
+    }
+
+    @Test
+    void parseVerifiedClaims_TamperedToken_ReturnsNull() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, 120_000L, 100, 300);
+        String token = provider.generateToken(dispatcher());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(provider.parseVerifiedClaims(tampered));
+        assertNull(provider.parseVerifiedClaims(""));
+    }
+
+    @Test
+    void parseVerifiedClaims_ExpiredToken_ReturnsNull() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, -1_000L, 120_000L, 100, 300);
+
+        assertNull(provider.parseVerifiedClaims(provider.generateToken(dispatcher())));
+    }
+
+    @Test
+    void generateToken_ForUser_EmbedsRoleAndVersionClaims() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, 120_000L, 100, 300);
+        User user = User.builder()
+                .username("dispatcher1")
+                .role(User.UserRole.ROLE_DISPATCHER)
+                .tokenVersion(3)
+                .build();
+
+        Claims claims = provider.parseVerifiedClaims(provider.generateToken(user));
+
+        assertEquals("ROLE_DISPATCHER", claims.get(JwtTokenProvider.ROLE_CLAIM, String.class));
+        assertEquals(3, claims.get(JwtTokenProvider.VERSION_CLAIM, Integer.class));
+        assertNull(claims.get(JwtTokenProvider.DEPARTMENT_CLAIM));
+    }
+
+    @Test
+    void generateToken_ForSession_EmbedsUserIdAndSessionClaims() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, 120_000L, 100, 300);
+        User user = User.builder()
+                .id(42L)
+                .username("dispatcher1")
+                .role(User.UserRole.ROLE_DISPATCHER)
+                .department(Department.builder().id(7L).build())
+                .build();
+
+        Claims claims = provider.parseVerifiedClaims(provider.generateToken(user, "session-1"));
+
+        assertEquals(42L, claims.get(JwtTokenProvider.USER_ID_CLAIM, Long.class));
+        assertEquals(7L, claims.get(JwtTokenProvider.DEPARTMENT_CLAIM, Long.class));
+        assertEquals("session-1", claims.get(JwtTokenProvider.SESSION_CLAIM, String.class));
+        assertFalse(JwtTokenProvider.isRefreshToken(claims));
+        assertTrue(JwtTokenProvider.isAccessToken(claims));
+    }
+
+    @Test
+    void tokenType_RefreshAndUntypedTokensAreNotAccessTokens() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, 120_000L, 100, 300);
+
+        Claims refresh = provider.parseVerifiedClaims(provider.generateRefreshToken("dispatcher1", "fam-1", "t1"));
+        Claims untyped = provider.parseVerifiedClaims(Jwts.builder()
+                .subject("dispatcher1")
+                .expiration(new Date(System.currentTimeMillis() + 60_000L))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact());
+
+        assertTrue(JwtTokenProvider.isRefreshToken(refresh));
+        assertFalse(JwtTokenProvider.isAccessToken(refresh));
+        assertFalse(JwtTokenProvider.isAccessToken(untyped));
+    }
+
+    private static User dispatcher() {
+        return User.builder()
+                .id(42L)
+                .username("dispatcher1")
+                .role(User.UserRole.ROLE_DISPATCHER)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.disaster.security;
+
+import com.disaster.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordHashingExecutor
+ */
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_ReturnsResultAndRecordsLatency() {
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 4, 2, 1000, 5);
+
+        assertEquals("hash", executor.execute("10.0.0.1", () -> "hash"));
+        assertEquals(1, meterRegistry.get("auth.password.hashing").timer().count());
+    }
+
+    @Test
+    void execute_ClientOverLimit_IsShed() throws Exception {
+        executor = new PasswordHashingExecutor(meterRegistry, 2, 4, 1, 5000, 7);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.execute("10.0.0.1", () -> {
+            started.countDown();
+            return await();
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> executor.execute("10.0.0.1", () -> "hash"));
+        assertEquals(7, ex.getRetryAfterSeconds());
+        assertEquals("hash", executor.execute("10.0.0.2", () -> "hash"));
+    }
+
+    @Test
+    void execute_QueueFull_IsShed() throws Exception {
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, 10, 5000, 5);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.execute("10.0.0.1", () -> {
+            started.countDown();
+            return await();
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> executor.execute("10.0.0.2", this::await));
+        waitForQueueDepth(1);
+
+        assertThrows(ServiceOverloadedException.class, () -> executor.execute("10.0.0.3", () -> "hash"));
+        assertEquals(1, meterRegistry.get("auth.password.rejected").tag("reason", "queue_full").counter().count());
+    }
+
+    @Test
+    void execute_WaitTimeout_IsShed() {
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 4, 2, 50, 5);
+
+        assertThrows(ServiceOverloadedException.class, () -> executor.execute("10.0.0.1", this::await));
+    }
+
+    private String await() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "hash";
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        for (int i = 0; i < 100 && executor.getQueueDepth() < depth; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(depth, executor.getQueueDepth());
+    }
+}
@@ -0,0 +1,121 @@
+package com.disaster.security;
+
+import com.disaster.config.DelegatingPasswordEncoder;
+import com.disaster.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PasswordUpgradeService
+ */
+@ExtendWith(MockitoExtension.class)
+class PasswordUpgradeServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ObjectProvider<PrincipalCache> principalCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PasswordUpgradeService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PasswordUpgradeService(userRepository, principalCache, transactionManager, 5, 4, 250, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void needsUpgrade_DependsOnRoleTargetCost() {
+        String cost5 = new BCryptPasswordEncoder(5).encode("secret");
+        String cost4 = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertFalse(service.needsUpgrade(user("dispatcher1", cost5, "ROLE_DISPATCHER")));
+        assertTrue(service.needsUpgrade(user("dispatcher1", cost4, "ROLE_DISPATCHER")));
+        assertFalse(service.needsUpgrade(user("victim1", cost4, "ROLE_VICTIM")));
+        assertTrue(service.needsUpgrade(user("victim1", "plaintext", "ROLE_VICTIM")));
+    }
+
+    @Test
+    void upgradeIfNeeded_PlainTextPassword_IsRehashedInBackground() {
+        when(userRepository.replacePassword(eq("victim1"), eq("secret"), anyString())).thenReturn(1);
+
+        service.upgradeIfNeeded(user("victim1", "secret", "ROLE_VICTIM"), "secret");
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository, timeout(2000)).replacePassword(eq("victim1"), eq("secret"), hash.capture());
+        assertEquals(4, DelegatingPasswordEncoder.bcryptCost(hash.getValue()));
+        assertTrue(new BCryptPasswordEncoder().matches("secret", hash.getValue()));
+        verify(principalCache, timeout(2000)).ifAvailable(any());
+    }
+
+    @Test
+    void upgradeIfNeeded_CurrentHash_DoesNothing() {
+        String current = new BCryptPasswordEncoder(5).encode("secret");
+
+        service.upgradeIfNeeded(user("dispatcher1", current, "ROLE_DISPATCHER"), "secret");
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void authenticate_ThroughProviderManager_RehashesAfterCredentialsAreErased() {
+        when(userRepository.replacePassword(eq("victim1"), eq("secret"), anyString())).thenReturn(1);
+        RehashingAuthenticationProvider provider = new RehashingAuthenticationProvider(service);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(user("victim1", "secret", "ROLE_VICTIM")));
+        provider.setPasswordEncoder(new DelegatingPasswordEncoder(5));
+        ProviderManager providerManager = new ProviderManager(provider);
+
+        Authentication result = providerManager.authenticate(
+                new UsernamePasswordAuthenticationToken("victim1", "secret"));
+
+        assertNull(result.getCredentials());
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository, timeout(2000)).replacePassword(eq("victim1"), eq("secret"), hash.capture());
+        assertEquals(4, DelegatingPasswordEncoder.bcryptCost(hash.getValue()));
+        assertTrue(new BCryptPasswordEncoder().matches("secret", hash.getValue()));
+    }
+
+    @Test
+    void encode_UsesTargetCostOfRole() {
+        assertEquals(4, DelegatingPasswordEncoder.bcryptCost(
+                service.encode("secret", com.disaster.entity.User.UserRole.ROLE_VICTIM)));
+        assertEquals(5, DelegatingPasswordEncoder.bcryptCost(
+                service.encode("secret", com.disaster.entity.User.UserRole.ROLE_DISPATCHER)));
+    }
+
+    @Test
+    void bcryptCost_ReadsWorkFactor() {
+        assertEquals(12, DelegatingPasswordEncoder.bcryptCost("$2a$12$LQv3c1yqBWVHxkd0LHAkCOYz6TtxMQJqhN8/LewY5GyYKFxNvXrGu"));
+        assertEquals(-1, DelegatingPasswordEncoder.bcryptCost("plain"));
+    }
+
+    private UserDetails user(String username, String password, String role) {
+        return User.withUsername(username).password(password).authorities(role).build();
+    }
+}
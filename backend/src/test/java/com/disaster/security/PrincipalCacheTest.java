@@ -0,0 +1,104 @@
+package com.disaster.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PrincipalCache
+ */
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(userDetailsService, 100, 300);
+        when(userDetailsService.loadUserByUsername("dispatcher1")).thenReturn(new User(
+                "dispatcher1", "$2a$12$hash", List.of(new SimpleGrantedAuthority("ROLE_DISPATCHER"))));
+    }
+
+    @Test
+    void get_LoadsOnceAndStripsPassword() {
+        UserDetails first = principalCache.get("dispatcher1");
+        UserDetails second = principalCache.get("dispatcher1");
+
+        assertSame(first, second);
+        assertEquals("", first.getPassword());
+        assertEquals("ROLE_DISPATCHER", first.getAuthorities().iterator().next().getAuthority());
+        verify(userDetailsService, times(1)).loadUserByUsername("dispatcher1");
+    }
+
+    @Test
+    void userChange_EvictsCachedPrincipal() {
+        principalCache.get("dispatcher1");
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("principalCache", principalCache));
+        new UserChangeListener(beanFactory.getBeanProvider(PrincipalCache.class),
+                beanFactory.getBeanProvider(TokenDenyList.class),
+                beanFactory.getBeanProvider(RefreshTokenStore.class))
+                .onUserChanged(com.disaster.entity.User.builder().username("dispatcher1").build());
+        principalCache.get("dispatcher1");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("dispatcher1");
+    }
+
+    @Test
+    void userChange_EvictsOnlyAfterCommit() {
+        principalCache.get("dispatcher1");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            listener().onUserChanged(com.disaster.entity.User.builder().username("dispatcher1").build());
+            principalCache.get("dispatcher1");
+            verify(userDetailsService, times(1)).loadUserByUsername("dispatcher1");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        principalCache.get("dispatcher1");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("dispatcher1");
+    }
+
+    @Test
+    void userRename_EvictsPreviousUsername() {
+        principalCache.get("dispatcher1");
+        com.disaster.entity.User user = com.disaster.entity.User.builder().username("dispatcher1").build();
+        UserChangeListener listener = listener();
+        listener.onUserLoaded(user);
+
+        user.setUsername("dispatcher-north");
+        listener.onUserChanged(user);
+        principalCache.get("dispatcher1");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("dispatcher1");
+    }
+
+    private UserChangeListener listener() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("principalCache", principalCache));
+        return new UserChangeListener(beanFactory.getBeanProvider(PrincipalCache.class),
+                beanFactory.getBeanProvider(TokenDenyList.class),
+                beanFactory.getBeanProvider(RefreshTokenStore.class));
+    }
+}
@@ -0,0 +1,135 @@
+package com.disaster.security;
+
+import com.disaster.config.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RateLimitFilter and LocalTokenBucketRateLimiter
+ */
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName("emergency-intake");
+        rule.setMethod("POST");
+        rule.setPaths(List.of("/api/requests/emergency"));
+        rule.setCapacity(2);
+        rule.setRefillPerMinute(60);
+        rule.setKey(RateLimitProperties.KeyType.DEVICE);
+        rule.setIpCapacity(4);
+        rule.setIpRefillPerMinute(60);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(rule));
+        properties.setPartnerKeys(List.of("partner-secret"));
+
+        filter = new RateLimitFilter(properties, new LocalTokenBucketRateLimiter(1000, clock::get),
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void burstAboveCapacity_IsRejectedWithRetryAfter() throws Exception {
+        assertEquals(200, send("POST", "10.0.0.1", "device-a", null).getStatus());
+        assertEquals(200, send("POST", "10.0.0.1", "device-a", null).getStatus());
+
+        MockHttpServletResponse rejected = send("POST", "10.0.0.1", "device-a", null);
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Too Many Requests"));
+    }
+
+    @Test
+    void tokensRefillOverTime() throws Exception {
+        send("POST", "10.0.0.1", "device-a", null);
+        send("POST", "10.0.0.1", "device-a", null);
+        assertEquals(429, send("POST", "10.0.0.1", "device-a", null).getStatus());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(200, send("POST", "10.0.0.1", "device-a", null).getStatus());
+    }
+
+    @Test
+    void bucketsAreKeyedByDeviceThenIp() throws Exception {
+        send("POST", "10.0.0.1", "device-a", null);
+        send("POST", "10.0.0.1", "device-a", null);
+
+        assertEquals(429, send("POST", "10.0.0.1", "device-a", null).getStatus());
+        assertEquals(200, send("POST", "10.0.0.1", "device-b", null).getStatus());
+    }
+
+    @Test
+    void requestsWithoutDeviceHeader_UseThePerIpBucket() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(200, send("POST", "10.0.0.1", null, null).getStatus());
+        }
+
+        assertEquals(429, send("POST", "10.0.0.1", null, null).getStatus());
+        assertEquals(429, send("POST", "10.0.0.1", "device-a", null).getStatus());
+        assertEquals(200, send("POST", "10.0.0.2", null, null).getStatus());
+    }
+
+    @Test
+    void rotatingDeviceIds_AreLimitedPerIp() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(200, send("POST", "10.0.0.1", "device-" + i, null).getStatus());
+        }
+
+        assertEquals(429, send("POST", "10.0.0.1", "device-4", null).getStatus());
+        assertEquals(200, send("POST", "10.0.0.2", "device-5", null).getStatus());
+    }
+
+    @Test
+    void forwardedHeaderFromClient_DoesNotChangeKey() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            send("POST", "10.0.0.1", "device-" + i, null, "203.0.113." + i);
+        }
+
+        assertEquals(429, send("POST", "10.0.0.1", "device-4", null, "203.0.113.9").getStatus());
+    }
+
+    @Test
+    void partnerKeyAndUnmatchedRequests_BypassLimiter() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, send("POST", "10.0.0.1", null, "partner-secret").getStatus());
+            assertEquals(200, send("GET", "10.0.0.1", null, null).getStatus());
+        }
+    }
+
+    private MockHttpServletResponse send(String method, String ip, String deviceId, String partnerKey) throws Exception {
+        return send(method, ip, deviceId, partnerKey, null);
+    }
+
+    private MockHttpServletResponse send(String method, String ip, String deviceId, String partnerKey,
+                                         String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/requests/emergency");
+        request.setRemoteAddr(ip);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        if (deviceId != null) {
+            request.addHeader("X-Device-Id", deviceId);
+        }
+        if (partnerKey != null) {
+            request.addHeader("X-Partner-Key", partnerKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,73 @@
+package com.disaster.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenDenyList
+ */
+class TokenDenyListTest {
+
+    @Test
+    void isRevoked_UnknownUser_IsNotRevoked() {
+        TokenDenyList denyList = new TokenDenyList(1000);
+
+        assertFalse(denyList.isRevoked("dispatcher1", 0));
+        assertEquals(0, denyList.size());
+    }
+
+    @Test
+    void revokeBelow_RejectsOlderVersionsOnly() {
+        TokenDenyList denyList = new TokenDenyList(1000);
+        denyList.revokeBelow("dispatcher1", 2);
+
+        assertTrue(denyList.isRevoked("dispatcher1", 0));
+        assertTrue(denyList.isRevoked("dispatcher1", 1));
+        assertFalse(denyList.isRevoked("dispatcher1", 2));
+        assertFalse(denyList.isRevoked("rescue_team1", 0));
+    }
+
+    @Test
+    void revokeBelow_NeverLowersMinimumVersion() {
+        TokenDenyList denyList = new TokenDenyList(1000);
+        denyList.revokeBelow("dispatcher1", 3);
+        denyList.revokeBelow("dispatcher1", 1);
+
+        assertTrue(denyList.isRevoked("dispatcher1", 2));
+    }
+
+    @Test
+    void revokeAll_RejectsEveryVersion() {
+        TokenDenyList denyList = new TokenDenyList(1000);
+        denyList.revokeAll("dispatcher1");
+
+        assertTrue(denyList.isRevoked("dispatcher1", 1_000_000));
+    }
+
+    @Test
+    void revokeSession_RejectsThatSessionUntilItExpires() {
+        TokenDenyList denyList = new TokenDenyList(1000);
+        denyList.revokeSession("session-1", Instant.now().plusSeconds(60));
+        denyList.revokeSession("session-2", Instant.now().minusSeconds(1));
+
+        assertTrue(denyList.isSessionRevoked("session-1"));
+        assertFalse(denyList.isSessionRevoked("session-2"));
+        assertFalse(denyList.isSessionRevoked("session-3"));
+        assertFalse(denyList.isRevoked("dispatcher1", 0));
+    }
+
+    @Test
+    void pruneSessions_ForgetsExpiredSessions() {
+        TokenDenyList denyList = new TokenDenyList(1000);
+        Instant now = Instant.now();
+        denyList.revokeSession("session-1", now.plusSeconds(60));
+        denyList.revokeSession("session-2", now.minusSeconds(1));
+
+        denyList.pruneSessions(now.plusSeconds(120));
+
+        assertFalse(denyList.isSessionRevoked("session-1"));
+    }
+}
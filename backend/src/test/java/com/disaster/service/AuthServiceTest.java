@@ -6,12 +6,20 @@ import com.disaster.dto.SignupRequest;
 import com.disaster.entity.Department;
 import com.disaster.entity.User;
 import com.disaster.exception.UserAlreadyExistsException;
+import com.disaster.entity.RevokedSession;
 import com.disaster.repository.DepartmentRepository;
+import com.disaster.repository.RevokedSessionRepository;
 import com.disaster.repository.UserRepository;
 import com.disaster.security.JwtTokenProvider;
+import com.disaster.security.RefreshTokenStore;
+import com.disaster.security.TokenDenyList;
+import com.disaster.security.TokenPrincipal;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -27,6 +35,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -50,6 +60,15 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+
+    @Mock
+    private RevokedSessionRepository revokedSessionRepository;
+
+    @Mock
+    private TokenDenyList denyList;
+
     @InjectMocks
     private AuthService authService;
 
@@ -81,6 +100,11 @@ class AuthServiceTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void signup_Success() {
         // Arrange
@@ -88,8 +112,8 @@ class AuthServiceTest {
         when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
         when(passwordEncoder.encode("Password123!")).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
-        when(jwtTokenProvider.generateToken("testuser")).thenReturn("accessToken");
-        when(jwtTokenProvider.generateRefreshToken("testuser")).thenReturn("refreshToken");
+        when(jwtTokenProvider.generateToken(eq(testUser), anyString())).thenReturn("accessToken");
+        when(jwtTokenProvider.generateRefreshToken(eq("testuser"), anyString(), anyString())).thenReturn("refreshToken");
 
         // Act
         AuthResponse response = authService.signup(signupRequest);
@@ -105,6 +129,7 @@ class AuthServiceTest {
         verify(userRepository).existsByEmail("test@example.com");
         verify(passwordEncoder).encode("Password123!");
         verify(userRepository).save(any(User.class));
+        verifySessionStarted();
     }
 
     @Test
@@ -137,8 +162,8 @@ class AuthServiceTest {
         when(departmentRepository.findById(1L)).thenReturn(Optional.of(testDepartment));
         when(passwordEncoder.encode("Password123!")).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
-        when(jwtTokenProvider.generateToken("testuser")).thenReturn("accessToken");
-        when(jwtTokenProvider.generateRefreshToken("testuser")).thenReturn("refreshToken");
+        when(jwtTokenProvider.generateToken(eq(testUser), anyString())).thenReturn("accessToken");
+        when(jwtTokenProvider.generateRefreshToken(eq("testuser"), anyString(), anyString())).thenReturn("refreshToken");
 
         // Act
         AuthResponse response = authService.signup(signupRequest);
@@ -159,8 +184,8 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(jwtTokenProvider.generateToken("testuser")).thenReturn("accessToken");
-        when(jwtTokenProvider.generateRefreshToken("testuser")).thenReturn("refreshToken");
+        when(jwtTokenProvider.generateToken(eq(testUser), anyString())).thenReturn("accessToken");
+        when(jwtTokenProvider.generateRefreshToken(eq("testuser"), anyString(), anyString())).thenReturn("refreshToken");
 
         // Act
         AuthResponse response = authService.login(loginRequest);
@@ -174,6 +199,7 @@ class AuthServiceTest {
         assertEquals("ROLE_VICTIM", response.getRole());
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verifySessionStarted();
     }
 
     @Test
@@ -213,9 +239,12 @@ class AuthServiceTest {
     void refreshToken_Success() {
         // Arrange
         String refreshToken = "validRefreshToken";
-        when(jwtTokenProvider.validateToken(refreshToken)).thenReturn(true);
-        when(jwtTokenProvider.getUsernameFromToken(refreshToken)).thenReturn("testuser");
-        when(jwtTokenProvider.generateToken("testuser")).thenReturn("newAccessToken");
+        stubRefreshClaims(refreshToken, "fam-1", "t1");
+        when(refreshTokenStore.rotate(eq("testuser"), eq("fam-1"), eq("t1"), anyString(), any()))
+                .thenReturn(RefreshTokenStore.Rotation.ROTATED);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(jwtTokenProvider.generateToken(testUser, "fam-1")).thenReturn("newAccessToken");
+        when(jwtTokenProvider.generateRefreshToken(eq("testuser"), eq("fam-1"), anyString())).thenReturn("newRefreshToken");
 
         // Act
         AuthResponse response = authService.refreshToken(refreshToken);
@@ -223,8 +252,9 @@ class AuthServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals("newAccessToken", response.getAccessToken());
-        assertEquals(refreshToken, response.getRefreshToken());
+        assertEquals("newRefreshToken", response.getRefreshToken());
         verify(jwtTokenProvider).validateToken(refreshToken);
+        verify(refreshTokenStore, never()).create(any(), any(), any(), any());
     }
 
     @Test
@@ -236,4 +266,100 @@ class AuthServiceTest {
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> authService.refreshToken(invalidToken));
     }
+
+    @Test
+    void refreshToken_RotatesFamilyAndIssuesNextToken() {
+        stubRefreshClaims("refresh-1", "fam-1", "t1");
+        when(refreshTokenStore.rotate(eq("testuser"), eq("fam-1"), eq("t1"), any(), any()))
+                .thenReturn(RefreshTokenStore.Rotation.ROTATED);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(jwtTokenProvider.generateToken(testUser, "fam-1")).thenReturn("newAccessToken");
+        when(jwtTokenProvider.generateRefreshToken(eq("testuser"), eq("fam-1"), any())).thenReturn("refresh-2");
+
+        AuthResponse response = authService.refreshToken("refresh-1");
+
+        assertEquals("newAccessToken", response.getAccessToken());
+        assertEquals("refresh-2", response.getRefreshToken());
+        ArgumentCaptor<String> rotatedTo = ArgumentCaptor.forClass(String.class);
+        verify(refreshTokenStore).rotate(eq("testuser"), eq("fam-1"), eq("t1"), rotatedTo.capture(), any());
+        verify(jwtTokenProvider).generateRefreshToken("testuser", "fam-1", rotatedTo.getValue());
+        assertNotEquals("t1", rotatedTo.getValue());
+    }
+
+    @Test
+    void refreshToken_ReusedToken_IsRejectedWithoutIssuingTokens() {
+        stubRefreshClaims("refresh-1", "fam-1", "t1");
+        when(refreshTokenStore.rotate(eq("testuser"), eq("fam-1"), eq("t1"), any(), any()))
+                .thenReturn(RefreshTokenStore.Rotation.REUSED);
+
+        assertThrows(IllegalArgumentException.class, () -> authService.refreshToken("refresh-1"));
+        verify(jwtTokenProvider, never()).generateToken(any(User.class), any());
+        verify(jwtTokenProvider, never()).generateRefreshToken(any(), any(), any());
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void refreshToken_AccessToken_IsRejected() {
+        when(jwtTokenProvider.validateToken("access-1")).thenReturn(true);
+        when(jwtTokenProvider.parseVerifiedClaims("access-1")).thenReturn(Jwts.claims()
+                .subject("testuser")
+                .add(JwtTokenProvider.TOKEN_TYPE_CLAIM, JwtTokenProvider.ACCESS_TOKEN)
+                .build());
+
+        assertThrows(IllegalArgumentException.class, () -> authService.refreshToken("access-1"));
+        verifyNoInteractions(refreshTokenStore);
+    }
+
+    @Test
+    void getCurrentUser_TokenPrincipal_ReturnsReferenceWithoutQuery() {
+        authenticateWithToken("session-1");
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+
+        assertSame(testUser, authService.getCurrentUser());
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void logout_RevokesOnlyCurrentSession() {
+        authenticateWithToken("session-1");
+        when(jwtTokenProvider.getJwtExpirationMs()).thenReturn(60_000L);
+
+        authService.logout();
+
+        verify(refreshTokenStore).revokeFamily("testuser", "session-1");
+        verify(refreshTokenStore, never()).revokeUser(any());
+        ArgumentCaptor<RevokedSession> revoked = ArgumentCaptor.forClass(RevokedSession.class);
+        verify(revokedSessionRepository).save(revoked.capture());
+        assertEquals("session-1", revoked.getValue().getSessionId());
+        assertEquals("testuser", revoked.getValue().getUsername());
+        verify(denyList).revokeSession(eq("session-1"), any());
+        verify(userRepository, never()).save(any());
+    }
+
+    /**
+     * The access token's session id must name the refresh token family that was stored
+     */
+    private void verifySessionStarted() {
+        ArgumentCaptor<String> sessionId = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> tokenId = ArgumentCaptor.forClass(String.class);
+        verify(jwtTokenProvider).generateToken(eq(testUser), sessionId.capture());
+        verify(refreshTokenStore).create(eq(sessionId.getValue()), tokenId.capture(), eq("testuser"), any());
+        verify(jwtTokenProvider).generateRefreshToken("testuser", sessionId.getValue(), tokenId.getValue());
+    }
+
+    private void stubRefreshClaims(String token, String familyId, String tokenId) {
+        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
+        when(jwtTokenProvider.parseVerifiedClaims(token)).thenReturn(Jwts.claims()
+                .subject("testuser")
+                .id(tokenId)
+                .add(JwtTokenProvider.TOKEN_TYPE_CLAIM, JwtTokenProvider.REFRESH_TOKEN)
+                .add(JwtTokenProvider.FAMILY_CLAIM, familyId)
+                .build());
+    }
+
+    private void authenticateWithToken(String sessionId) {
+        TokenPrincipal principal = new TokenPrincipal(1L, "testuser", "ROLE_VICTIM", null, sessionId, true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
 }
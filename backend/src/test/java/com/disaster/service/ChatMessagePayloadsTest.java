@@ -0,0 +1,101 @@
+package com.disaster.service;
+
+import com.disaster.entity.EmergencyRequest;
+import com.disaster.entity.Message;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChatMessagePayloads
+ */
+class ChatMessagePayloadsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ChatMessagePayloads payloads;
+    private Message message;
+
+    @BeforeEach
+    void setUp() {
+        payloads = new ChatMessagePayloads(objectMapper, 100, 60_000);
+        message = Message.builder()
+                .id(7L)
+                .request(EmergencyRequest.builder().id(3L).build())
+                .content("Team is on the way")
+                .senderName("Dispatcher")
+                .senderType(Message.SenderType.DISPATCHER)
+                .isRead(false)
+                .createdAt(Instant.parse("2025-01-01T10:00:00Z"))
+                .build();
+    }
+
+    @Test
+    void payload_SerializesLeanEventOnce() throws Exception {
+        byte[] first = payloads.payload(message);
+
+        assertSame(first, payloads.payload(message));
+        JsonNode json = objectMapper.readTree(first);
+        assertEquals(3L, json.get("requestId").asLong());
+        assertEquals("DISPATCHER", json.get("senderType").asText());
+        assertFalse(json.get("isRead").asBoolean());
+        assertFalse(json.has("request"));
+    }
+
+    @Test
+    void evict_ReserializesChangedMessage() throws Exception {
+        payloads.payload(message);
+        message.setIsRead(true);
+        payloads.evict(7L);
+
+        assertTrue(objectMapper.readTree(payloads.payload(message)).get("isRead").asBoolean());
+    }
+
+    @Test
+    void evict_InTransaction_WaitsForCommit() throws Exception {
+        byte[] cached = payloads.payload(message);
+        message.setIsRead(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            payloads.evict(7L);
+            assertSame(cached, payloads.payload(message));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(objectMapper.readTree(payloads.payload(message)).get("isRead").asBoolean());
+    }
+
+    @Test
+    void arrayPayload_ProducesJsonArray() throws Exception {
+        Message other = Message.builder()
+                .id(8L)
+                .request(message.getRequest())
+                .content("Thanks")
+                .senderName("Victim")
+                .senderType(Message.SenderType.VICTIM)
+                .createdAt(Instant.parse("2025-01-01T10:01:00Z"))
+                .build();
+
+        JsonNode json = objectMapper.readTree(payloads.arrayPayload(List.of(message, other)));
+
+        assertEquals(2, json.size());
+        assertEquals(8L, json.get(1).get("id").asLong());
+        assertEquals("[]", new String(payloads.arrayPayload(List.of())));
+    }
+}
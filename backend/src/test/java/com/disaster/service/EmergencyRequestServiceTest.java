@@ -1,9 +1,11 @@
 package com.disaster.service;
 
 import com.disaster.dto.EmergencyRequestDto;
+import com.disaster.dto.EmergencyRequestSummaryDto;
 import com.disaster.entity.EmergencyRequest;
 import com.disaster.entity.RescueTeam;
 import com.disaster.exception.ResourceNotFoundException;
+import com.disaster.repository.ArchivedEmergencyRequestRepository;
 import com.disaster.repository.EmergencyRequestRepository;
 import com.disaster.repository.RescueTeamRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,13 +18,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,6 +41,9 @@ class EmergencyRequestServiceTest {
     @Mock
     private EmergencyRequestRepository requestRepository;
 
+    @Mock
+    private ArchivedEmergencyRequestRepository archivedRequestRepository;
+
     @Mock
     private RescueTeamRepository teamRepository;
 
@@ -234,6 +244,118 @@ class EmergencyRequestServiceTest {
         assertEquals(1, result.getTotalElements());
     }
 
+    @Test
+    void getActiveRequestSummaries_QueriesUnresolvedStatuses() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        EmergencyRequestSummaryDto summary = new EmergencyRequestSummaryDto(1L, "John Doe", "123-456-7890",
+                "123 Main St", 40.7128, -74.0060, RescueTeam.EmergencyType.FIRE,
+                EmergencyRequest.RequestPriority.HIGH, EmergencyRequest.RequestStatus.ASSIGNED, "House fire",
+                1L, "Fire Team Alpha", null, null, null, null);
+        when(requestRepository.findSummariesByStatusIn(List.of(
+                EmergencyRequest.RequestStatus.PENDING,
+                EmergencyRequest.RequestStatus.ASSIGNED,
+                EmergencyRequest.RequestStatus.EN_ROUTE,
+                EmergencyRequest.RequestStatus.ON_SCENE), pageable))
+                .thenReturn(new PageImpl<>(List.of(summary)));
+
+        // Act
+        Page<EmergencyRequestSummaryDto> result = requestService.getActiveRequestSummaries(pageable);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Fire Team Alpha", result.getContent().get(0).getAssignedTeam().getName());
+        verify(requestRepository, never()).findByStatusIn(any(), any());
+    }
+
+    @Test
+    void getAllRequestSummaries_MergesLiveAndHistoryPages() {
+        // Arrange
+        Pageable pageable = PageRequest.of(1, 2, Sort.by("createdAt").descending());
+        Pageable window = PageRequest.of(0, 4, Sort.by("createdAt").descending());
+        when(requestRepository.findAllSummaries(window)).thenReturn(new PageImpl<>(
+                List.of(summary(5L, 500), summary(3L, 300)), window, 2));
+        when(archivedRequestRepository.findAllSummaries(window)).thenReturn(new PageImpl<>(
+                List.of(summary(4L, 400), summary(2L, 200), summary(1L, 100)), window, 7));
+
+        // Act
+        Page<EmergencyRequestSummaryDto> result = requestService.getAllRequestSummaries(pageable, true);
+
+        // Assert
+        assertEquals(List.of(3L, 2L), result.getContent().stream().map(EmergencyRequestSummaryDto::getId).toList());
+        assertEquals(9, result.getTotalElements());
+    }
+
+    @Test
+    void getAllRequestSummaries_WithHistoryPastWindow_IsRejected() {
+        Pageable pageable = PageRequest.of(EmergencyRequestService.MAX_HISTORY_WINDOW / 20, 20);
+
+        assertThrows(IllegalArgumentException.class, () -> requestService.getAllRequestSummaries(pageable, true));
+        verifyNoInteractions(requestRepository, archivedRequestRepository);
+    }
+
+    @Test
+    void getAllRequestSummaries_WithoutHistory_QueriesLiveTableOnly() {
+        Pageable pageable = PageRequest.of(3, 2, Sort.by("createdAt").descending());
+        when(requestRepository.findAllSummaries(pageable)).thenReturn(new PageImpl<>(
+                List.of(summary(5L, 500)), pageable, 7));
+
+        Page<EmergencyRequestSummaryDto> result = requestService.getAllRequestSummaries(pageable, false);
+
+        assertEquals(7, result.getTotalElements());
+        verifyNoInteractions(archivedRequestRepository);
+    }
+
+    @Test
+    void getRequestSummariesByStatus_ClosedWithoutHistory_QueriesLiveTableOnly() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+        List<EmergencyRequest.RequestStatus> resolved = List.of(EmergencyRequest.RequestStatus.RESOLVED);
+        when(requestRepository.findSummariesByStatusIn(resolved, pageable)).thenReturn(Page.empty(pageable));
+
+        requestService.getRequestSummariesByStatus("RESOLVED", pageable, false);
+
+        verifyNoInteractions(archivedRequestRepository);
+    }
+
+    @Test
+    void countByStatus_ClosedStatusIncludesHistory() {
+        when(requestRepository.countByStatus(EmergencyRequest.RequestStatus.RESOLVED)).thenReturn(3L);
+        when(archivedRequestRepository.countByStatus(EmergencyRequest.RequestStatus.RESOLVED)).thenReturn(40L);
+
+        assertEquals(43L, requestService.countByStatus("RESOLVED"));
+    }
+
+    @Test
+    void findNearby_ReturnsNearestFirstWithDistance() {
+        // Arrange
+        EmergencyRequestSummaryDto far = new EmergencyRequestSummaryDto(1L, "John Doe", "123-456-7890",
+                "123 Main St", 40.7300, -74.0060, RescueTeam.EmergencyType.FIRE,
+                EmergencyRequest.RequestPriority.HIGH, EmergencyRequest.RequestStatus.PENDING, "House fire",
+                null, null, null, null, null, null);
+        EmergencyRequestSummaryDto near = new EmergencyRequestSummaryDto(2L, "Jane Doe", "123-456-7891",
+                "125 Main St", 40.7130, -74.0060, RescueTeam.EmergencyType.MEDICAL,
+                EmergencyRequest.RequestPriority.HIGH, EmergencyRequest.RequestStatus.PENDING, "Injury",
+                null, null, null, null, null, null);
+        when(requestRepository.findIdsWithinRadius(eq(40.7128), eq(-74.0060), anyString(), eq(5000.0),
+                eq(List.of("PENDING", "ASSIGNED", "EN_ROUTE", "ON_SCENE")), eq(100)))
+                .thenReturn(List.of(new Object[]{2L, 22.0}, new Object[]{1L, 1913.0}));
+        when(requestRepository.findSummariesByIdIn(any())).thenReturn(new ArrayList<>(List.of(far, near)));
+
+        // Act
+        List<EmergencyRequestSummaryDto> result = requestService.findNearby(40.7128, -74.0060, 5, false, 100);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), result.stream().map(EmergencyRequestSummaryDto::getId).toList());
+        assertEquals(22.0, result.get(0).getDistanceMeters());
+    }
+
+    @Test
+    void findNearby_RejectsOversizedRadius() {
+        assertThrows(IllegalArgumentException.class,
+                () -> requestService.findNearby(40.7128, -74.0060, 500, false, 100));
+        verifyNoInteractions(requestRepository);
+    }
+
     @Test
     void addResolutionNotes_Success() {
         // Arrange
@@ -261,4 +383,11 @@ class EmergencyRequestServiceTest {
         assertEquals(5L, count);
         verify(requestRepository).countByStatus(EmergencyRequest.RequestStatus.PENDING);
     }
+
+    private static EmergencyRequestSummaryDto summary(Long id, long createdAt) {
+        return new EmergencyRequestSummaryDto(id, "John Doe", "123-456-7890", "123 Main St", null, null,
+                RescueTeam.EmergencyType.FIRE, EmergencyRequest.RequestPriority.HIGH,
+                EmergencyRequest.RequestStatus.RESOLVED, "House fire", null, null,
+                Instant.ofEpochSecond(createdAt), Instant.ofEpochSecond(createdAt), null, null);
+    }
 }
@@ -0,0 +1,50 @@
+package com.disaster.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeoCell
+ */
+class GeoCellTest {
+
+    @Test
+    void encode_MatchesKnownGeohash() {
+        assertEquals("dr5re", GeoCell.encode(40.7128, -74.0060, 5));
+        assertEquals("u4pruydqqvj", GeoCell.encode(57.64911, 10.40744, 11));
+    }
+
+    @Test
+    void covering_IncludesCellsOfAllCorners() {
+        List<String> cells = GeoCell.covering(40.70, -74.02, 40.75, -73.95, 5, 256);
+
+        assertTrue(cells.contains(GeoCell.encode(40.70, -74.02, 5)));
+        assertTrue(cells.contains(GeoCell.encode(40.75, -73.95, 5)));
+        assertTrue(cells.contains(GeoCell.encode(40.7128, -74.0060, 5)));
+        assertEquals(cells.size(), cells.stream().distinct().count());
+    }
+
+    @Test
+    void covering_RejectsAreasNeedingTooManyCells() {
+        assertThrows(IllegalArgumentException.class,
+                () -> GeoCell.covering(30, -100, 50, -70, 5, 256));
+        assertThrows(IllegalArgumentException.class,
+                () -> GeoCell.covering(50, -70, 30, -100, 5, 256));
+    }
+
+    @Test
+    void isValid_ChecksAlphabetAndPrecision() {
+        assertTrue(GeoCell.isValid("dr5ru", 5));
+        assertFalse(GeoCell.isValid("dr5r", 5));
+        assertFalse(GeoCell.isValid("dr5ra", 5));
+    }
+
+    @Test
+    void cellOf_ExtractsCellFromGeoTopic() {
+        assertEquals("dr5ru", GeoSubscriptionRegistry.cellOf("/topic/geo/dr5ru/new"));
+        assertNull(GeoSubscriptionRegistry.cellOf("/topic/emergency/new"));
+    }
+}
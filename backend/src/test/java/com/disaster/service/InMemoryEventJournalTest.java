@@ -0,0 +1,73 @@
+package com.disaster.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryEventJournal
+ */
+class InMemoryEventJournalTest {
+
+    @Test
+    void append_AssignsIncreasingSequenceNumbers() {
+        InMemoryEventJournal journal = new InMemoryEventJournal("e1", 10, "", 0);
+
+        assertEquals(1, journal.append(List.of("/topic/emergency/new"), json("{\"id\":1}")));
+        assertEquals(2, journal.append(List.of("/topic/emergency/updates"), json("{\"id\":2}")));
+        assertEquals(2, journal.getLastSequence());
+    }
+
+    @Test
+    void readAfter_ReturnsLaterEventsForDestination() {
+        InMemoryEventJournal journal = new InMemoryEventJournal("e1", 10, "", 0);
+        journal.append(List.of("/topic/emergency/new"), json("{\"id\":1}"));
+        journal.append(List.of("/topic/emergency/updates", "/topic/emergency/status/2"), json("{\"id\":2}"));
+        journal.append(List.of("/topic/emergency/new"), json("{\"id\":3}"));
+
+        List<EventJournal.Entry> all = journal.readAfter(1, null, 100).orElseThrow();
+        assertEquals(List.of(2L, 3L), all.stream().map(EventJournal.Entry::getSeq).toList());
+
+        List<EventJournal.Entry> updates = journal.readAfter(0, "/topic/emergency/updates", 100).orElseThrow();
+        assertEquals(1, updates.size());
+        assertEquals("{\"id\":2}", new String(updates.get(0).getPayload(), StandardCharsets.UTF_8));
+
+        assertTrue(journal.readAfter(3, null, 100).orElseThrow().isEmpty());
+        assertEquals(1, journal.readAfter(0, null, 1).orElseThrow().size());
+    }
+
+    @Test
+    void readAfter_EvictedPositionWithoutSpill_RequiresResync() {
+        InMemoryEventJournal journal = new InMemoryEventJournal("e1", 2, "", 0);
+        for (int i = 1; i <= 5; i++) {
+            journal.append(List.of("/topic/emergency/new"), json("{\"id\":" + i + "}"));
+        }
+
+        assertEquals(Optional.empty(), journal.readAfter(1, null, 100));
+        assertEquals(List.of(4L, 5L), journal.readAfter(3, null, 100).orElseThrow().stream()
+                .map(EventJournal.Entry::getSeq).toList());
+    }
+
+    @Test
+    void readAfter_EvictedPositionWithSpill_ReadsFromFile(@TempDir Path spillDir) {
+        InMemoryEventJournal journal = new InMemoryEventJournal("e1", 2, spillDir.toString(), 1 << 20);
+        for (int i = 1; i <= 5; i++) {
+            journal.append(List.of("/topic/emergency/new"), json("{\"id\":" + i + "}"));
+        }
+
+        List<EventJournal.Entry> events = journal.readAfter(0, null, 100).orElseThrow();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), events.stream().map(EventJournal.Entry::getSeq).toList());
+        assertEquals("{\"id\":1}", new String(events.get(0).getPayload(), StandardCharsets.UTF_8));
+        journal.close();
+    }
+
+    private byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
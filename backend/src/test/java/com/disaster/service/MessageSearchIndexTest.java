@@ -0,0 +1,103 @@
+package com.disaster.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MessageSearchIndex
+ */
+class MessageSearchIndexTest {
+
+    private MessageSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MessageSearchIndex(1000);
+        index.index(chat(1L, 10L, "Water level rising near the bridge"));
+        index.index(chat(2L, 10L, "Bridge is closed, use the north road"));
+        index.index(chat(3L, 20L, "Medical team needs water and blankets"));
+        index.index(direct(4L, 10L, "Water supplies arriving at the bridge shelter"));
+    }
+
+    @Test
+    void search_RanksFullMatchesFirst() {
+        List<MessageSearchIndex.SearchHit> hits = index.search("bridge water", m -> true, 10);
+
+        assertEquals(4, hits.size());
+        assertTrue(hits.get(0).getMessage().getId() == 1L || hits.get(0).getMessage().getId() == 4L);
+        assertTrue(hits.get(1).getMessage().getId() == 1L || hits.get(1).getMessage().getId() == 4L);
+        assertTrue(hits.get(1).getScore() > hits.get(2).getScore());
+    }
+
+    @Test
+    void search_AppliesFilterAndLimit() {
+        List<MessageSearchIndex.SearchHit> hits = index.search("water",
+                m -> m.getKind() == MessageSearchIndex.Kind.CHAT && m.getRequestId() == 10L, 10);
+
+        assertEquals(1, hits.size());
+        assertEquals(1L, hits.get(0).getMessage().getId());
+        assertEquals(1, index.search("water", m -> true, 1).size());
+    }
+
+    @Test
+    void remove_DropsDocumentFromResults() {
+        index.remove(MessageSearchIndex.Kind.DIRECT, 4L);
+
+        assertEquals(3, index.size());
+        assertTrue(index.search("shelter", m -> true, 10).isEmpty());
+    }
+
+    @Test
+    void index_ReplacesExistingDocument() {
+        index.index(chat(2L, 10L, "Road reopened"));
+
+        assertTrue(index.search("closed", m -> true, 10).isEmpty());
+        assertEquals(2L, index.search("reopened", m -> true, 10).get(0).getMessage().getId());
+    }
+
+    @Test
+    void index_WhenFull_DropsLeastRecentlyIndexedDocument() {
+        MessageSearchIndex bounded = new MessageSearchIndex(2);
+        bounded.index(chat(1L, 10L, "Water level rising"));
+        bounded.index(chat(2L, 10L, "Bridge is closed"));
+        bounded.index(chat(1L, 10L, "Water level still rising"));
+
+        bounded.index(chat(3L, 10L, "Shelter open"));
+
+        assertEquals(2, bounded.size());
+        assertTrue(bounded.search("bridge", m -> true, 10).isEmpty());
+        assertEquals(1L, bounded.search("water", m -> true, 10).get(0).getMessage().getId());
+    }
+
+    @Test
+    void tokenize_SplitsOnPunctuationAndLowercases() {
+        assertEquals(List.of("sos", "need", "help", "42"), MessageSearchIndex.tokenize("SOS! Need-help #42"));
+    }
+
+    private MessageSearchIndex.IndexedMessage chat(Long id, Long requestId, String content) {
+        return MessageSearchIndex.IndexedMessage.builder()
+                .kind(MessageSearchIndex.Kind.CHAT)
+                .id(id)
+                .requestId(requestId)
+                .content(content)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private MessageSearchIndex.IndexedMessage direct(Long id, Long requestId, String content) {
+        return MessageSearchIndex.IndexedMessage.builder()
+                .kind(MessageSearchIndex.Kind.DIRECT)
+                .id(id)
+                .requestId(requestId)
+                .senderId(100L)
+                .recipientId(200L)
+                .content(content)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.disaster.service;
+
+import com.disaster.dto.MessageSearchResultDto;
+import com.disaster.entity.Message;
+import com.disaster.entity.User;
+import com.disaster.repository.DirectMessageRepository;
+import com.disaster.repository.EmergencyRequestRepository;
+import com.disaster.repository.MessageRepository;
+import com.disaster.repository.RescueTeamRepository;
+import com.disaster.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MessageSearchService
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageSearchServiceTest {
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private DirectMessageRepository directMessageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RescueTeamRepository teamRepository;
+
+    @Mock
+    private EmergencyRequestRepository requestRepository;
+
+    private MessageSearchIndex searchIndex;
+    private MessageSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new MessageSearchIndex(1000);
+        searchService = new MessageSearchService(searchIndex, messageRepository, directMessageRepository,
+                userRepository, teamRepository, requestRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void syncIndex_BeforeRebuild_DoesNothing() {
+        searchService.syncIndex();
+
+        verifyNoInteractions(messageRepository, directMessageRepository);
+    }
+
+    @Test
+    void syncIndex_IndexesMessagesSentThroughOtherNodes() {
+        when(messageRepository.findNextBatch(anyLong(), any())).thenReturn(new SliceImpl<>(List.of()));
+        when(directMessageRepository.findNextBatchWithSender(anyLong(), any())).thenReturn(new SliceImpl<>(List.of()));
+        searchService.rebuildIndex();
+
+        when(messageRepository.findNextBatchCreatedSince(anyLong(), any(Instant.class), any()))
+                .thenReturn(new SliceImpl<>(List.of(chat(1L, "Bridge is closed"))));
+        when(directMessageRepository.findNextBatchWithSenderCreatedSince(anyLong(), any(Instant.class), any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        searchService.syncIndex();
+
+        assertEquals(1, searchIndex.size());
+    }
+
+    @Test
+    void search_DropsHitsOfMessagesRemovedElsewhere() {
+        searchIndex.index(indexed(1L, "Bridge is closed"));
+        searchIndex.index(indexed(2L, "Bridge reopened"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("dispatcher1", null, List.of()));
+        when(userRepository.findByUsername("dispatcher1")).thenReturn(Optional.of(User.builder()
+                .id(5L)
+                .username("dispatcher1")
+                .role(User.UserRole.ROLE_DISPATCHER)
+                .build()));
+        when(messageRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(List.of(2L));
+
+        List<MessageSearchResultDto> results = searchService.search("bridge", null, "ALL", 10);
+
+        assertEquals(1, results.size());
+        assertEquals(2L, results.get(0).getId());
+        assertEquals(1, searchIndex.size());
+    }
+
+    private static Message chat(Long id, String content) {
+        return Message.builder()
+                .id(id)
+                .content(content)
+                .senderName("Dispatcher")
+                .senderType(Message.SenderType.DISPATCHER)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static MessageSearchIndex.IndexedMessage indexed(Long id, String content) {
+        return MessageSearchIndex.IndexedMessage.builder()
+                .kind(MessageSearchIndex.Kind.CHAT)
+                .id(id)
+                .requestId(10L)
+                .content(content)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.disaster.service;
+
+import com.disaster.entity.ArchivedMessage;
+import com.disaster.entity.EmergencyRequest;
+import com.disaster.entity.Message;
+import com.disaster.repository.ArchivedMessageRepository;
+import com.disaster.repository.EmergencyRequestRepository;
+import com.disaster.repository.MessageRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MessageService
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageServiceTest {
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private EmergencyRequestRepository requestRepository;
+
+    @Mock
+    private ArchivedMessageRepository archivedMessageRepository;
+
+    @Mock
+    private MessageSearchService searchService;
+
+    @Mock
+    private ChatMessagePayloads chatMessagePayloads;
+
+    @InjectMocks
+    private MessageService messageService;
+
+    @Test
+    void getMessagesByRequestId_WithoutArchiveUsesLivePage() {
+        Page<Message> live = new PageImpl<>(List.of(message(1L, "2025-01-01T10:00:00Z")));
+        when(archivedMessageRepository.countByRequestId(3L)).thenReturn(0L);
+        when(messageRepository.findByRequestId(3L, PageRequest.of(0, 20))).thenReturn(live);
+
+        assertSame(live, messageService.getMessagesByRequestId(3L, PageRequest.of(0, 20)));
+        verify(archivedMessageRepository, never()).findByRequestIdOrderByCreatedAtDesc(any());
+    }
+
+    @Test
+    void getMessagesByRequestId_PagesArchivedThenLiveMessagesOldestFirst() {
+        when(archivedMessageRepository.countByRequestId(3L)).thenReturn(2L);
+        when(archivedMessageRepository.findByRequestIdOrderByCreatedAtDesc(3L)).thenReturn(List.of(
+                archived(2L, "2025-01-01T11:00:00Z"), archived(1L, "2025-01-01T10:00:00Z")));
+        when(messageRepository.findByRequestIdOrderByCreatedAtDesc(3L))
+                .thenReturn(List.of(message(5L, "2025-03-01T10:00:00Z")));
+        when(requestRepository.getReferenceById(3L)).thenReturn(EmergencyRequest.builder().id(3L).build());
+
+        Page<Message> first = messageService.getMessagesByRequestId(3L, PageRequest.of(0, 2));
+        Page<Message> second = messageService.getMessagesByRequestId(3L, PageRequest.of(1, 2));
+
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of(1L, 2L), first.getContent().stream().map(Message::getId).toList());
+        assertEquals(List.of(5L), second.getContent().stream().map(Message::getId).toList());
+        verify(messageRepository, never()).findByRequestId(any(), any());
+    }
+
+    private static Message message(Long id, String createdAt) {
+        return Message.builder()
+                .id(id)
+                .content("Update " + id)
+                .senderName("Dispatcher")
+                .senderType(Message.SenderType.DISPATCHER)
+                .isRead(false)
+                .createdAt(Instant.parse(createdAt))
+                .build();
+    }
+
+    private static ArchivedMessage archived(Long id, String createdAt) {
+        return ArchivedMessage.builder()
+                .id(id)
+                .requestId(3L)
+                .content("Update " + id)
+                .senderName("Dispatcher")
+                .senderType(Message.SenderType.DISPATCHER)
+                .isRead(true)
+                .createdAt(Instant.parse(createdAt))
+                .archivedAt(Instant.parse("2025-04-01T00:00:00Z"))
+                .build();
+    }
+}
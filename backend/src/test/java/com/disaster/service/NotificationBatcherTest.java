@@ -0,0 +1,107 @@
+package com.disaster.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationBatcher
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationBatcherTest {
+
+    @Mock
+    private PayloadBroadcaster broadcaster;
+
+    @Test
+    void enqueue_WithoutWindow_SendsImmediately() {
+        NotificationBatcher batcher = new NotificationBatcher(broadcaster, 0, 100);
+        byte[] payload = json("{\"id\":1}");
+
+        batcher.enqueue("/topic/emergency/new", payload);
+
+        verify(broadcaster).send(eq("/topic/emergency/new"), eq(payload), anyMap());
+    }
+
+    @Test
+    void enqueue_SinglePayloadInWindow_IsSentUnchanged() {
+        NotificationBatcher batcher = new NotificationBatcher(broadcaster, 20, 100);
+        byte[] payload = json("{\"id\":1}");
+
+        batcher.enqueue("/topic/emergency/updates", payload);
+
+        verify(broadcaster, timeout(1000)).send(eq("/topic/emergency/updates"), eq(payload), anyMap());
+    }
+
+    @Test
+    void enqueue_SeveralPayloadsInWindow_AreSentAsArrayPerDestination() {
+        NotificationBatcher batcher = new NotificationBatcher(broadcaster, 10_000, 100);
+
+        batcher.enqueue("/topic/emergency/updates", json("{\"id\":1}"));
+        batcher.enqueue("/topic/emergency/updates", json("{\"id\":2}"));
+        batcher.enqueue("/topic/emergency/status/1", json("{\"id\":1}"));
+        batcher.flushAll();
+
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(broadcaster).send(eq("/topic/emergency/updates"), captor.capture(), anyMap());
+        assertEquals("[{\"id\":1},{\"id\":2}]", new String(captor.getValue(), StandardCharsets.UTF_8));
+        verify(broadcaster).send(eq("/topic/emergency/status/1"), any(byte[].class), anyMap());
+    }
+
+    @Test
+    void enqueue_FullBatch_IsFlushedEarly() {
+        NotificationBatcher batcher = new NotificationBatcher(broadcaster, 10_000, 2);
+
+        batcher.enqueue("/topic/emergency/new", json("{\"id\":1}"));
+        batcher.enqueue("/topic/emergency/new", json("{\"id\":2}"));
+
+        verify(broadcaster).send(eq("/topic/emergency/new"), any(byte[].class), anyMap());
+    }
+
+    @Test
+    void enqueue_CompletesOnceTheBatchIsSent() {
+        NotificationBatcher batcher = new NotificationBatcher(broadcaster, 10_000, 100);
+
+        CompletableFuture<Void> sent = batcher.enqueue("/topic/emergency/new", json("{\"id\":1}"));
+        assertFalse(sent.isDone());
+        batcher.flushAll();
+
+        assertTrue(sent.isDone());
+        assertFalse(sent.isCompletedExceptionally());
+    }
+
+    @Test
+    void enqueue_BroadcasterFailure_CompletesExceptionally() {
+        NotificationBatcher batcher = new NotificationBatcher(broadcaster, 0, 100);
+        doThrow(new IllegalStateException("broker down"))
+                .when(broadcaster).send(anyString(), any(byte[].class), anyMap());
+
+        CompletableFuture<Void> sent = batcher.enqueue("/topic/emergency/new", json("{\"id\":1}"));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, sent::get);
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    @Test
+    void toJsonArray_JoinsPayloads() {
+        assertEquals("[1,2,3]", new String(NotificationBatcher.toJsonArray(
+                List.of(json("1"), json("2"), json("3"))), StandardCharsets.UTF_8));
+    }
+
+    private byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
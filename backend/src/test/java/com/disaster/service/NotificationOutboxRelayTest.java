@@ -0,0 +1,163 @@
+package com.disaster.service;
+
+import com.disaster.entity.NotificationOutboxEvent;
+import com.disaster.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationOutboxRelay
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxRelayTest {
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    @Mock
+    private NotificationBatcher batcher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryEventJournal journal;
+    private NotificationOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        journal = new InMemoryEventJournal("e1", 100, "", 0);
+        relay = new NotificationOutboxRelay(outboxRepository, journal, batcher,
+                new GeoSubscriptionRegistry("simple", 5), transactionManager, 2, 24, 1000, 3);
+    }
+
+    @Test
+    void drain_PublishesEventsWithSequenceHeadersAndMarksThemPublished() {
+        NotificationOutboxEvent event = event(1L, List.of("/topic/emergency/status/7", "/topic/emergency/updates"));
+        when(outboxRepository.lockNextUnpublished(2)).thenReturn(List.of(event));
+        sendsSucceed();
+
+        assertEquals(1, relay.drain());
+
+        Map<String, String> headers = Map.of(
+                NotificationOutboxRelay.SEQUENCE_HEADER, "1",
+                NotificationOutboxRelay.EPOCH_HEADER, "e1");
+        verify(batcher).enqueue("/topic/emergency/status/7", event.getPayload(), headers);
+        verify(batcher).enqueue("/topic/emergency/updates", event.getPayload(), headers);
+        assertNotNull(event.getPublishedAt());
+        assertEquals(1, event.getAttempts());
+    }
+
+    @Test
+    void drain_ContinuesWhileBatchesAreFull() {
+        when(outboxRepository.lockNextUnpublished(2))
+                .thenReturn(List.of(event(1L, List.of("/topic/emergency/new")), event(2L, List.of("/topic/emergency/new"))))
+                .thenReturn(List.of(event(3L, List.of("/topic/emergency/new"))));
+        sendsSucceed();
+
+        assertEquals(3, relay.drain());
+        verify(outboxRepository, times(2)).lockNextUnpublished(2);
+        verify(batcher, times(3)).enqueue(eq("/topic/emergency/new"), any(byte[].class), anyMap());
+    }
+
+    @Test
+    void drain_SkipsCellsWithoutSubscribersButJournalsThem() {
+        NotificationOutboxEvent event = event(1L, List.of("/topic/emergency/status/7", "/topic/geo/dr5re/updates"));
+        when(outboxRepository.lockNextUnpublished(2)).thenReturn(List.of(event));
+        sendsSucceed();
+
+        assertEquals(1, relay.drain());
+
+        verify(batcher).enqueue(eq("/topic/emergency/status/7"), any(byte[].class), anyMap());
+        verify(batcher, never()).enqueue(eq("/topic/geo/dr5re/updates"), any(byte[].class), anyMap());
+        assertEquals(1, journal.readAfter(0, "/topic/geo/dr5re/updates", 10).orElseThrow().size());
+    }
+
+    @Test
+    void drain_FailedSend_LeavesEventPendingAndStops() {
+        NotificationOutboxEvent failed = event(1L, List.of("/topic/emergency/status/7", "/topic/emergency/updates"));
+        NotificationOutboxEvent sent = event(2L, List.of("/topic/emergency/new"));
+        when(outboxRepository.lockNextUnpublished(2)).thenReturn(List.of(failed, sent));
+        sendsSucceed();
+        when(batcher.enqueue(eq("/topic/emergency/updates"), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertEquals(1, relay.drain());
+
+        assertNull(failed.getPublishedAt());
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(sent.getPublishedAt());
+        verify(outboxRepository).saveAll(List.of(failed, sent));
+        verify(outboxRepository, times(1)).lockNextUnpublished(2);
+    }
+
+    @Test
+    void drain_RetriedEvent_ReusesJournalSequence() {
+        NotificationOutboxEvent event = event(1L, List.of("/topic/emergency/updates"));
+        when(outboxRepository.lockNextUnpublished(2)).thenReturn(List.of(event));
+        when(batcher.enqueue(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(0, relay.drain());
+        assertEquals(1, relay.drain());
+
+        Map<String, String> headers = Map.of(
+                NotificationOutboxRelay.SEQUENCE_HEADER, "1",
+                NotificationOutboxRelay.EPOCH_HEADER, "e1");
+        verify(batcher, times(2)).enqueue("/topic/emergency/updates", event.getPayload(), headers);
+        assertEquals(1, journal.getLastSequence());
+        assertEquals(2, event.getAttempts());
+    }
+
+    @Test
+    void drain_MaxAttemptsReached_DeadLettersEvent() {
+        NotificationOutboxEvent event = event(1L, List.of("/topic/emergency/updates"));
+        event.setAttempts(2);
+        when(outboxRepository.lockNextUnpublished(2)).thenReturn(List.of(event));
+        when(batcher.enqueue(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertEquals(0, relay.drain());
+
+        assertEquals(3, event.getAttempts());
+        assertNotNull(event.getFailedAt());
+        assertNull(event.getPublishedAt());
+        verify(outboxRepository).saveAll(List.of(event));
+    }
+
+    @Test
+    void drain_NothingPending_SendsNothing() {
+        when(outboxRepository.lockNextUnpublished(2)).thenReturn(List.of());
+
+        assertEquals(0, relay.drain());
+        verifyNoInteractions(batcher);
+    }
+
+    private void sendsSucceed() {
+        lenient().when(batcher.enqueue(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    private NotificationOutboxEvent event(Long id, List<String> destinations) {
+        return NotificationOutboxEvent.builder()
+                .id(id)
+                .eventType(NotificationOutboxEvent.EventType.STATUS_UPDATED)
+                .requestId(7L)
+                .destinations(NotificationOutboxEvent.joinDestinations(destinations))
+                .payload("{\"id\":7}".getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.disaster.service;
+
+import com.disaster.dto.EmergencyRequestExportRow;
+import com.disaster.entity.EmergencyRequest;
+import com.disaster.entity.RescueTeam;
+import com.disaster.repository.ArchivedEmergencyRequestRepository;
+import com.disaster.repository.EmergencyRequestRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RequestExportService
+ */
+@ExtendWith(MockitoExtension.class)
+class RequestExportServiceTest {
+
+    @Mock
+    private EmergencyRequestRepository requestRepository;
+
+    @Mock
+    private ArchivedEmergencyRequestRepository archivedRequestRepository;
+
+    private RequestExportService exportService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new RequestExportService(requestRepository, archivedRequestRepository, objectMapper);
+    }
+
+    @Test
+    void export_NdjsonWritesLiveThenHistoryAndClosesStreams() throws Exception {
+        AtomicBoolean liveClosed = new AtomicBoolean();
+        AtomicBoolean historyClosed = new AtomicBoolean();
+        when(requestRepository.streamExportRows(null, null))
+                .thenReturn(Stream.of(row(2L, "123 Main St", false)).onClose(() -> liveClosed.set(true)));
+        when(archivedRequestRepository.streamExportRows(null, null))
+                .thenReturn(Stream.of(row(1L, "45 Riverside Drive", true)).onClose(() -> historyClosed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(RequestExportService.Format.NDJSON, null, null, true, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(2L, first.get("id").asLong());
+        assertEquals("2024-03-01T10:00:00Z", first.get("createdAt").asText());
+        assertTrue(objectMapper.readTree(lines[1]).get("archived").asBoolean());
+        assertTrue(liveClosed.get());
+        assertTrue(historyClosed.get());
+    }
+
+    @Test
+    void export_CsvQuotesAndGuardsFields() throws Exception {
+        when(requestRepository.streamExportRows(null, null))
+                .thenReturn(Stream.of(row(1L, "Main St, \"North\" side", false), row(2L, "=HYPERLINK(\"x\")", false)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(RequestExportService.Format.CSV, null, null, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,victim_name,victim_phone,location,"));
+        assertTrue(lines[1].startsWith("1,John Doe,,\"Main St, \"\"North\"\" side\",-1.5,"));
+        assertTrue(lines[2].contains(",\"'=HYPERLINK(\"\"x\"\")\","));
+        verifyNoInteractions(archivedRequestRepository);
+    }
+
+    @Test
+    void csvField_GuardsFormulasButNotPhoneNumbers() {
+        assertEquals("+1 (555) 010-0199", RequestExportService.csvField("+1 (555) 010-0199"));
+        assertEquals("-42.5", RequestExportService.csvField("-42.5"));
+        assertEquals("'=1+1", RequestExportService.csvField("=1+1"));
+        assertEquals("'@SUM(A1:A2)", RequestExportService.csvField("@SUM(A1:A2)"));
+        assertEquals("'+SUM(A1:A2)", RequestExportService.csvField("+SUM(A1:A2)"));
+        assertEquals("'-2+3+cmd|' /C calc'!A0", RequestExportService.csvField("-2+3+cmd|' /C calc'!A0"));
+        assertEquals("-1.5", RequestExportService.csvField(-1.5));
+    }
+
+    private static EmergencyRequestExportRow row(Long id, String location, boolean archived) {
+        return new EmergencyRequestExportRow(id, "John Doe", null, location, -1.5, 2.5,
+                RescueTeam.EmergencyType.FIRE, EmergencyRequest.RequestPriority.HIGH,
+                EmergencyRequest.RequestStatus.RESOLVED, "House fire", null, null, "victim1",
+                Instant.parse("2024-03-01T10:00:00Z"), Instant.parse("2024-03-01T12:00:00Z"),
+                null, null, null, null, archived);
+    }
+}
@@ -0,0 +1,118 @@
+package com.disaster.service;
+
+import com.disaster.repository.ArchivedEmergencyRequestRepository;
+import com.disaster.repository.ArchivedMessageRepository;
+import com.disaster.repository.DirectMessageRepository;
+import com.disaster.repository.EmergencyRequestRepository;
+import com.disaster.repository.MessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RequestHistoryService
+ */
+@ExtendWith(MockitoExtension.class)
+class RequestHistoryServiceTest {
+
+    @Mock
+    private EmergencyRequestRepository requestRepository;
+
+    @Mock
+    private ArchivedEmergencyRequestRepository archivedRequestRepository;
+
+    @Mock
+    private ArchivedMessageRepository archivedMessageRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private DirectMessageRepository directMessageRepository;
+
+    @Mock
+    private MessageSearchService searchService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RequestHistoryService historyService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(historyService, "historyEnabled", true);
+        ReflectionTestUtils.setField(historyService, "minAgeDays", 90);
+        ReflectionTestUtils.setField(historyService, "batchSize", 2);
+    }
+
+    @Test
+    void archiveExpiredRequests_Disabled_DoesNothing() {
+        ReflectionTestUtils.setField(historyService, "historyEnabled", false);
+
+        assertEquals(0, historyService.archiveExpiredRequests());
+        verifyNoInteractions(requestRepository, transactionManager);
+    }
+
+    @Test
+    void archiveExpiredRequests_MovesBatchesUntilShortBatch() {
+        when(requestRepository.findExpiredClosedRequestIds(any(), eq(2)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(requestRepository.deleteByIds(List.of(1L, 2L))).thenReturn(2);
+        when(requestRepository.deleteByIds(List.of(3L))).thenReturn(1);
+
+        assertEquals(3, historyService.archiveExpiredRequests());
+
+        verify(requestRepository, times(2)).findExpiredClosedRequestIds(any(), anyInt());
+        verify(archivedRequestRepository).archiveRequests(List.of(1L, 2L));
+        verify(archivedRequestRepository).archiveRequests(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void archiveExpiredRequests_CopiesMessagesAndRequestBeforeDeleting() {
+        when(requestRepository.findExpiredClosedRequestIds(any(), eq(2))).thenReturn(List.of(7L));
+        when(messageRepository.findIdsByRequestIds(List.of(7L))).thenReturn(List.of(70L));
+        when(directMessageRepository.findIdsByRelatedRequestIds(List.of(7L))).thenReturn(List.of(71L));
+        when(requestRepository.deleteByIds(List.of(7L))).thenReturn(1);
+
+        historyService.archiveExpiredRequests();
+
+        InOrder order = inOrder(archivedMessageRepository, messageRepository, directMessageRepository,
+                archivedRequestRepository, requestRepository, transactionManager, searchService);
+        order.verify(archivedMessageRepository).archiveMessages(List.of(7L));
+        order.verify(archivedMessageRepository).archiveDirectMessages(List.of(7L));
+        order.verify(messageRepository).deleteByRequestIds(List.of(7L));
+        order.verify(directMessageRepository).deleteByRelatedRequestIds(List.of(7L));
+        order.verify(archivedRequestRepository).archiveRequests(List.of(7L));
+        order.verify(requestRepository).deleteByIds(List.of(7L));
+        order.verify(transactionManager).commit(any());
+        order.verify(searchService).removeArchivedMessages(List.of(70L), List.of(71L));
+    }
+
+    @Test
+    void archiveExpiredRequests_CopyFails_RollsBackWithoutDeletingRequests() {
+        when(requestRepository.findExpiredClosedRequestIds(any(), eq(2))).thenReturn(List.of(7L));
+        when(archivedRequestRepository.archiveRequests(List.of(7L))).thenThrow(new IllegalStateException("copy failed"));
+
+        assertThrows(IllegalStateException.class, () -> historyService.archiveExpiredRequests());
+
+        verify(requestRepository, never()).deleteByIds(any());
+        verify(searchService, never()).removeArchivedMessages(any(), any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+}
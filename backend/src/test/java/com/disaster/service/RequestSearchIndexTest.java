@@ -0,0 +1,84 @@
+package com.disaster.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestSearchIndex
+ */
+class RequestSearchIndexTest {
+
+    private RequestSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RequestSearchIndex();
+        index.index(request(1L, "123 Main Street, Springfield", "House fire on second floor", 100));
+        index.index(request(2L, "45 Riverside Drive", "Flooding in basement, family trapped", 200));
+        index.index(request(3L, "Old Mill Road", "Car accident near Main Street junction", 300));
+    }
+
+    @Test
+    void search_MatchesSubstringInsideWords() {
+        List<RequestSearchIndex.SearchHit> hits = index.search("ringfiel", 10);
+
+        assertEquals(1, hits.size());
+        assertEquals(1L, hits.get(0).getRequest().getId());
+    }
+
+    @Test
+    void search_ToleratesTypos() {
+        List<RequestSearchIndex.SearchHit> hits = index.search("riversdie", 10);
+
+        assertEquals(1, hits.size());
+        assertEquals(2L, hits.get(0).getRequest().getId());
+        assertEquals(2L, index.search("floodng", 10).get(0).getRequest().getId());
+    }
+
+    @Test
+    void search_RanksLocationAheadOfDescription() {
+        List<RequestSearchIndex.SearchHit> hits = index.search("main street", 10);
+
+        assertEquals(List.of(1L, 3L), hits.stream().map(hit -> hit.getRequest().getId()).toList());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    void search_ShortQueryUsesSubstringOnly() {
+        List<RequestSearchIndex.SearchHit> hits = index.search("45", 10);
+
+        assertEquals(1, hits.size());
+        assertEquals(2L, hits.get(0).getRequest().getId());
+    }
+
+    @Test
+    void remove_DropsRequestFromResults() {
+        index.remove(2L);
+
+        assertEquals(2, index.size());
+        assertTrue(index.search("riverside", 10).isEmpty());
+    }
+
+    @Test
+    void index_ReplacesExistingRequest() {
+        index.index(request(3L, "Harbor Bridge", "Vehicle in water", 300));
+
+        assertEquals(List.of(1L), index.search("main street", 10).stream()
+                .map(hit -> hit.getRequest().getId()).toList());
+        assertEquals(3L, index.search("harbour bridge", 10).get(0).getRequest().getId());
+    }
+
+    private static RequestSearchIndex.IndexedRequest request(Long id, String location, String description, long createdAt) {
+        return RequestSearchIndex.IndexedRequest.builder()
+                .id(id)
+                .location(location)
+                .description(description)
+                .createdAt(Instant.ofEpochSecond(createdAt))
+                .build();
+    }
+}
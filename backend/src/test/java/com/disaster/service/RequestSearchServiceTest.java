@@ -0,0 +1,75 @@
+package com.disaster.service;
+
+import com.disaster.entity.EmergencyRequest;
+import com.disaster.repository.EmergencyRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RequestSearchService
+ */
+@ExtendWith(MockitoExtension.class)
+class RequestSearchServiceTest {
+
+    @Mock
+    private EmergencyRequestRepository requestRepository;
+
+    private RequestSearchIndex searchIndex;
+    private RequestSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new RequestSearchIndex();
+        searchService = new RequestSearchService(searchIndex, requestRepository);
+    }
+
+    @Test
+    void syncIndex_BeforeRebuild_DoesNothing() {
+        searchService.syncIndex();
+
+        verifyNoInteractions(requestRepository);
+    }
+
+    @Test
+    void syncIndex_AppliesRequestsChangedOnOtherNodes() {
+        when(requestRepository.findNextBatchByStatusIn(anyLong(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(request(1L, "45 Riverside Drive", EmergencyRequest.RequestStatus.PENDING))));
+        searchService.rebuildIndex();
+        assertEquals(1, searchIndex.size());
+
+        when(requestRepository.findNextBatchUpdatedSince(anyLong(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(
+                        request(1L, "45 Riverside Drive", EmergencyRequest.RequestStatus.RESOLVED),
+                        request(2L, "123 Main Street", EmergencyRequest.RequestStatus.PENDING)),
+                        PageRequest.of(0, 500), false));
+
+        searchService.syncIndex();
+
+        assertTrue(searchIndex.search("riverside", 10).isEmpty());
+        assertEquals(2L, searchIndex.search("main street", 10).get(0).getRequest().getId());
+        verify(requestRepository).findNextBatchUpdatedSince(eq(0L), any(Instant.class), any());
+    }
+
+    private static EmergencyRequest request(Long id, String location, EmergencyRequest.RequestStatus status) {
+        return EmergencyRequest.builder()
+                .id(id)
+                .location(location)
+                .description("Needs help")
+                .status(status)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
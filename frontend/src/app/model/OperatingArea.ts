@@ -0,0 +1,9 @@
+/**
+ * Bounding box whose geohash cells a dispatch dashboard subscribes to
+ */
+export interface OperatingArea {
+    minLat: number;
+    minLon: number;
+    maxLat: number;
+    maxLon: number;
+}
@@ -1,8 +1,11 @@
 import { Injectable } from '@angular/core';
-import { Client, StompSubscription } from '@stomp/stompjs';
+import { HttpClient, HttpErrorResponse } from '@angular/common/http';
+import { Client, IMessage, StompSubscription } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
-import { BehaviorSubject, Observable } from 'rxjs';
+import { BehaviorSubject, Observable, Subject } from 'rxjs';
+import { LocalStorageService } from 'ngx-webstorage';
 import { environment } from '../../environments/environment';
+import { OperatingArea } from '../model/OperatingArea';
 
 export interface EmergencyNotification {
   id: number;
@@ -12,9 +15,25 @@ export interface EmergencyNotification {
   priority: string;
   status: string;
   createdAt: string;
+  latitude?: number | null;
+  longitude?: number | null;
   message?: string;
 }
 
+interface GeoCells {
+  precision: number;
+  cells: string[];
+  newTopics: string[];
+  updateTopics: string[];
+}
+
+interface NotificationEvents {
+  epoch: string;
+  lastSeq: number;
+  resyncRequired: boolean;
+  events: { seq: number; destinations: string[]; payload: EmergencyNotification }[];
+}
+
 /**
  * Service for real-time notifications via WebSocket
  */
@@ -27,10 +46,19 @@ export class NotificationService {
   private newRequests = new BehaviorSubject<EmergencyNotification | null>(null);
   private statusUpdates = new BehaviorSubject<EmergencyNotification | null>(null);
   private teamAssignments = new BehaviorSubject<EmergencyNotification | null>(null);
+  private resyncRequired = new Subject<void>();
 
   private subscriptions: Map<string, StompSubscription> = new Map();
 
-  constructor() {
+  // Operating area subscribed to (null = citywide feed) and the geohash cells covering it
+  private area: OperatingArea | null = null;
+  private areaCells: string[] | null = null;
+
+  // Position in the server's event stream, used to replay missed events after a reconnect
+  private lastSeq = 0;
+  private epoch: string | null = null;
+
+  constructor(private http: HttpClient, private localStorage: LocalStorageService) {
     this.client = new Client({
       webSocketFactory: () => new SockJS(environment.websocketUrl),
       connectHeaders: {},
@@ -46,6 +74,7 @@ export class NotificationService {
       console.log('WebSocket Connected:', frame);
       this.connected.next(true);
       this.subscribeToChannels();
+      this.resumeMissedEvents();
     };
 
     this.client.onStompError = (frame) => {
@@ -83,26 +112,87 @@ export class NotificationService {
   }
 
   /**
-   * Subscribe to all notification channels
+   * Subscribe to all notification channels. The citywide topics carry every request;
+   * with an operating area, located requests are taken from its geohash cells instead
+   * and the citywide topics only contribute requests without a known position.
    */
   private subscribeToChannels(): void {
-    // Subscribe to new emergency requests
-    const newRequestSub = this.client.subscribe('/topic/emergency/new', (message) => {
-      const notification: EmergencyNotification = JSON.parse(message.body);
-      console.log('New emergency request:', notification);
-      this.newRequests.next(notification);
+    this.subscribeToFeed('/topic/emergency/new', 'newRequests', this.newRequests, 'New emergency request:');
+    this.subscribeToFeed('/topic/emergency/updates', 'statusUpdates', this.statusUpdates, 'Status update:');
+
+    const area = this.getOperatingArea();
+    this.area = area;
+    if (!area) {
+      console.log('Subscribed to citywide notification channels (no operating area)');
+      return;
+    }
+    this.loadAreaCells(area, (cells) => {
+      cells.forEach((cell) => {
+        this.subscribeToFeed(`/topic/geo/${cell}/new`, `area-${cell}-new`, this.newRequests, 'New emergency request:');
+        this.subscribeToFeed(`/topic/geo/${cell}/updates`, `area-${cell}-updates`, this.statusUpdates, 'Status update:');
+      });
+      console.log(`Subscribed to notification channels (${cells.length} area cells)`);
+    });
+  }
+
+  /**
+   * Operating area of this user, falling back to the deployment's default; null follows the citywide feed
+   */
+  getOperatingArea(): OperatingArea | null {
+    return this.localStorage.retrieve('operatingArea') ?? environment.operatingArea;
+  }
+
+  /**
+   * Store the user's operating area (null restores the deployment default) and resubscribe
+   */
+  setOperatingArea(area: OperatingArea | null): void {
+    if (area) {
+      this.localStorage.store('operatingArea', area);
+    } else {
+      this.localStorage.clear('operatingArea');
+    }
+    this.areaCells = null;
+    this.subscriptions.forEach((sub, key) => {
+      if (key === 'newRequests' || key === 'statusUpdates' || key.startsWith('area-')) {
+        sub.unsubscribe();
+        this.subscriptions.delete(key);
+      }
     });
-    this.subscriptions.set('newRequests', newRequestSub);
+    this.subscribeToChannels();
+  }
 
-    // Subscribe to status updates
-    const statusUpdateSub = this.client.subscribe('/topic/emergency/updates', (message) => {
-      const notification: EmergencyNotification = JSON.parse(message.body);
-      console.log('Status update:', notification);
-      this.statusUpdates.next(notification);
+  private subscribeToFeed(destination: string, key: string,
+                          target: BehaviorSubject<EmergencyNotification | null>, label: string): void {
+    if (!this.client.connected) {
+      return;
+    }
+    const citywide = destination.startsWith('/topic/emergency/');
+    const sub = this.client.subscribe(destination, (message) => {
+      this.trackPosition(message);
+      this.parseNotifications(message.body)
+        .filter((notification) => !citywide || !this.area || !this.isLocated(notification))
+        .forEach((notification) => {
+          console.log(label, notification);
+          target.next(notification);
+        });
     });
-    this.subscriptions.set('statusUpdates', statusUpdateSub);
+    this.subscriptions.set(key, sub);
+  }
 
-    console.log('Subscribed to notification channels');
+  private loadAreaCells(area: OperatingArea, callback: (cells: string[]) => void): void {
+    if (this.areaCells) {
+      callback(this.areaCells);
+      return;
+    }
+
+    const params = { minLat: area.minLat, minLon: area.minLon, maxLat: area.maxLat, maxLon: area.maxLon };
+    this.http.get<GeoCells>(`${environment.apiUrl}/geo/cells`, { params }).subscribe({
+      next: (response) => {
+        this.areaCells = response.cells;
+        callback(response.cells);
+      },
+      error: (error: HttpErrorResponse) => console.error('Failed to resolve operating area cells:', error.message)
+    });
   }
 
   /**
@@ -113,8 +203,7 @@ export class NotificationService {
 
     if (this.client.connected) {
       const sub = this.client.subscribe(`/topic/emergency/status/${requestId}`, (message) => {
-        const notification: EmergencyNotification = JSON.parse(message.body);
-        subject.next(notification);
+        this.parseNotifications(message.body).forEach((notification) => subject.next(notification));
       });
       this.subscriptions.set(`request-${requestId}`, sub);
     }
@@ -128,14 +217,125 @@ export class NotificationService {
   subscribeToTeamAssignments(teamId: number): void {
     if (this.client.connected) {
       const sub = this.client.subscribe(`/topic/team/${teamId}/assignments`, (message) => {
-        const notification: EmergencyNotification = JSON.parse(message.body);
-        console.log('Team assignment:', notification);
-        this.teamAssignments.next(notification);
+        this.parseNotifications(message.body).forEach((notification) => {
+          console.log('Team assignment:', notification);
+          this.teamAssignments.next(notification);
+        });
       });
       this.subscriptions.set(`team-${teamId}`, sub);
     }
   }
 
+  /**
+   * Subscribe to geofenced notifications for the given geohash cells
+   * (cells come from GET /api/geo/cells for the area of interest)
+   */
+  subscribeToCells(cells: string[]): Observable<EmergencyNotification> {
+    const subject = new Subject<EmergencyNotification>();
+
+    if (this.client.connected) {
+      cells.forEach((cell) => {
+        ['new', 'updates'].forEach((kind) => {
+          const sub = this.client.subscribe(`/topic/geo/${cell}/${kind}`, (message) => {
+            this.parseNotifications(message.body).forEach((notification) => subject.next(notification));
+          });
+          this.subscriptions.set(`geo-${cell}-${kind}`, sub);
+        });
+      });
+    }
+
+    return subject.asObservable();
+  }
+
+  /**
+   * Unsubscribe from geofenced notifications of the given cells
+   */
+  unsubscribeFromCells(cells: string[]): void {
+    cells.forEach((cell) => {
+      ['new', 'updates'].forEach((kind) => {
+        const key = `geo-${cell}-${kind}`;
+        this.subscriptions.get(key)?.unsubscribe();
+        this.subscriptions.delete(key);
+      });
+    });
+  }
+
+  /**
+   * Remember the sequence number of the latest frame seen; numbers are shared by all
+   * topics and status frames may be conflated, so gaps are expected and not a loss
+   */
+  private trackPosition(message: IMessage): void {
+    const seq = Number(message.headers['x-seq']);
+    const epoch = message.headers['x-epoch'];
+    if (!epoch || isNaN(seq)) {
+      return;
+    }
+    if (epoch !== this.epoch) {
+      this.epoch = epoch;
+      this.lastSeq = 0;
+    }
+    this.lastSeq = Math.max(this.lastSeq, seq);
+  }
+
+  /**
+   * Replay events missed while disconnected; if the server no longer has them
+   * (restart or too far behind) signal that the caller has to reload its state
+   */
+  private resumeMissedEvents(): void {
+    if (!this.epoch) {
+      return;
+    }
+
+    const params = { after: this.lastSeq, epoch: this.epoch };
+    this.http.get<NotificationEvents>(`${environment.apiUrl}/notifications/events`, { params }).subscribe({
+      next: (response) => {
+        response.events.forEach((event) => {
+          if (event.destinations.some((destination) => this.isAreaFeed(destination, 'new', event.payload))) {
+            this.newRequests.next(event.payload);
+          }
+          if (event.destinations.some((destination) => this.isAreaFeed(destination, 'updates', event.payload))) {
+            this.statusUpdates.next(event.payload);
+          }
+          this.lastSeq = Math.max(this.lastSeq, event.seq);
+        });
+      },
+      error: (error: HttpErrorResponse) => {
+        if (error.status === 410) {
+          this.epoch = error.error?.epoch ?? null;
+          this.lastSeq = error.error?.lastSeq ?? 0;
+          this.resyncRequired.next();
+        }
+      }
+    });
+  }
+
+  /**
+   * Whether an event on the destination is delivered by the feeds subscribed in subscribeToChannels
+   */
+  private isAreaFeed(destination: string, kind: 'new' | 'updates', notification: EmergencyNotification): boolean {
+    if (destination === `/topic/emergency/${kind}`) {
+      return !this.area || !this.isLocated(notification);
+    }
+    const match = destination.match(/^\/topic\/geo\/([^/]+)\/(new|updates)$/);
+    return !!match && match[2] === kind && !!this.areaCells?.includes(match[1]);
+  }
+
+  /**
+   * Whether the request has a position, and therefore also went to its geohash cell topic
+   */
+  private isLocated(notification: EmergencyNotification): boolean {
+    return notification.latitude != null && notification.longitude != null
+      && !(notification.latitude === 0 && notification.longitude === 0);
+  }
+
+  /**
+   * Parse a notification frame; events that occur close together arrive batched as an array
+   */
+  private parseNotifications(body: string): EmergencyNotification[] {
+    const parsed = JSON.parse(body);
+    return Array.isArray(parsed) ? parsed : [parsed];
+  }
+
   /**
    * Observable streams for notifications
    */
@@ -155,6 +355,13 @@ export class NotificationService {
     return this.teamAssignments.asObservable();
   }
 
+  /**
+   * Emits when missed events could not be replayed and state must be reloaded
+   */
+  get resyncRequired$(): Observable<void> {
+    return this.resyncRequired.asObservable();
+  }
+
   /**
    * Check if currently connected
    */
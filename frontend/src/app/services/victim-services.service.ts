@@ -1,4 +1,4 @@
-import { HttpClient, HttpParams } from '@angular/common/http';
+import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
 import { Injectable } from '@angular/core';
 import { LocalStorageService } from 'ngx-webstorage';
 import { Observable } from 'rxjs';
@@ -18,10 +18,26 @@ export class VictimServicesService {
   }
 
   addRequest(requestForSending: RequestForSending):Observable<Request>{
+    const headers = new HttpHeaders().set('X-Device-Id', this.deviceId());
     var req = this.httpClient.post<Request>(`${environment.apiUrl}/requests/emergency`,
-    requestForSending);
+    requestForSending, { headers });
     this.localStorage.store('request',req);
     return req;
   }
 
+  /**
+   * Stable id of this browser, generated once; emergency submissions are rate limited per device
+   */
+  private deviceId(): string {
+    let deviceId: string = this.localStorage.retrieve('deviceId');
+    if (!deviceId) {
+      // randomUUID is only available in secure contexts (https or localhost)
+      deviceId = typeof crypto.randomUUID === 'function'
+        ? crypto.randomUUID()
+        : Array.from(crypto.getRandomValues(new Uint8Array(16)), (b) => b.toString(16).padStart(2, '0')).join('');
+      this.localStorage.store('deviceId', deviceId);
+    }
+    return deviceId;
+  }
+
 }
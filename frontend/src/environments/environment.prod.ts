@@ -1,5 +1,12 @@
+import { OperatingArea } from '../app/model/OperatingArea';
+
 export const environment = {
   production: true,
   apiUrl: 'http://localhost:8080/api',
-  websocketUrl: 'http://localhost:8080/ws'
+  websocketUrl: 'http://localhost:8080/ws',
+  // Default bounding box covered by the dispatch dashboards of this deployment, e.g.
+  // { minLat: 40.49, minLon: -74.27, maxLat: 40.92, maxLon: -73.68 }; notifications then arrive on
+  // its geohash cell topics. A user can override it (NotificationService.setOperatingArea);
+  // without an area the dashboards follow the citywide feed, which carries every request
+  operatingArea: null as OperatingArea | null
 };